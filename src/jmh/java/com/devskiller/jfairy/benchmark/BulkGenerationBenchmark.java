@@ -0,0 +1,66 @@
+package com.devskiller.jfairy.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devskiller.jfairy.Bootstrap;
+import com.devskiller.jfairy.Fairy;
+import com.devskiller.jfairy.producer.person.Person;
+
+/**
+ * Generating a batch of persons one by one versus with the bulk stream API, with records seeded in chunks or one by one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkGenerationBenchmark {
+
+	private static final int COUNT = 10_000;
+
+	@Param({"false", "true"})
+	private boolean recordSeeding;
+
+	private Fairy fairy;
+
+	@Setup
+	public void setUp() {
+		Bootstrap.Builder builder = Fairy.builder().withRandomSeed(42);
+		fairy = recordSeeding ? builder.withRecordSeeding().build() : builder.build();
+	}
+
+	@Benchmark
+	public List<Person> loop() {
+		List<Person> persons = new ArrayList<>(COUNT);
+		for (int i = 0; i < COUNT; i++) {
+			persons.add(fairy.person());
+		}
+		return persons;
+	}
+
+	@Benchmark
+	public List<Person> bulk() {
+		return fairy.persons(COUNT);
+	}
+
+	@Benchmark
+	public List<Person> parallelStream() {
+		return fairy.personStream().parallel().limit(COUNT).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,71 @@
+package com.devskiller.jfairy.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devskiller.jfairy.Fairy;
+import com.devskiller.jfairy.producer.RandomBackend;
+import com.devskiller.jfairy.producer.person.Person;
+
+/**
+ * One thread safe Fairy shared by all threads versus one Fairy per thread. Change the thread count with
+ * {@code -t}, e.g. {@code java -jar target/benchmarks.jar ConcurrentFairyBenchmark -t 1} and {@code -t max}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ConcurrentFairyBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class SharedFairy {
+
+		@Param({"JDK", "XOROSHIRO128PP"})
+		private RandomBackend backend;
+
+		private Fairy fairy;
+
+		@Setup
+		public void setUp() {
+			fairy = Fairy.builder().withThreadSafeMode().withRandomBackend(backend).withRandomSeed(42).build();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class ThreadFairy {
+
+		@Param({"JDK", "XOROSHIRO128PP"})
+		private RandomBackend backend;
+
+		private Fairy fairy;
+
+		@Setup
+		public void setUp() {
+			fairy = Fairy.builder().withRandomBackend(backend).withRandomSeed(42).build();
+		}
+	}
+
+	@Benchmark
+	public Person sharedFairy(SharedFairy state) {
+		return state.fairy.person();
+	}
+
+	@Benchmark
+	public Person fairyPerThread(ThreadFairy state) {
+		return state.fairy.person();
+	}
+}
@@ -0,0 +1,51 @@
+package com.devskiller.jfairy.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.yaml.snakeyaml.Yaml;
+
+import com.devskiller.jfairy.data.BinaryDataSet;
+import com.devskiller.jfairy.data.MapBasedDataMaster;
+
+/**
+ * Cost of loading data files: parsing YAML versus reading the precompiled binary data set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataLoadingBenchmark {
+
+	@Param({"en", "de", "sv"})
+	private String language;
+
+	@Benchmark
+	public void yaml(Blackhole blackhole) throws IOException {
+		Yaml yaml = new Yaml();
+		for (String path : new String[]{"jfairy.yml", "jfairy_" + language + ".yml"}) {
+			try (InputStream stream = getClass().getClassLoader().getResourceAsStream(path)) {
+				blackhole.consume(yaml.loadAs(stream, MapBasedDataMaster.Data.class));
+			}
+		}
+	}
+
+	@Benchmark
+	public BinaryDataSet binary() throws IOException {
+		return BinaryDataSet.load(getClass().getClassLoader(), "jfairy_" + language + ".bin");
+	}
+}
@@ -0,0 +1,121 @@
+package com.devskiller.jfairy.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devskiller.jfairy.data.BinaryDataMaster;
+import com.devskiller.jfairy.data.BinaryDataSet;
+import com.devskiller.jfairy.data.BinaryDataSetConverter;
+import com.devskiller.jfairy.data.DataKey;
+import com.devskiller.jfairy.data.MapBasedDataMaster;
+import com.devskiller.jfairy.data.Picker;
+import com.devskiller.jfairy.producer.BaseProducer;
+import com.devskiller.jfairy.producer.RandomBackend;
+import com.devskiller.jfairy.producer.RandomGenerator;
+import com.devskiller.jfairy.producer.person.PersonProvider;
+
+/**
+ * Data lookup by string name versus by pre-resolved {@link DataKey} and {@link Picker}. Run with {@code -prof gc} to see
+ * the allocation of lower casing the names. Uniform and weighted pickers pick from 100 values.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataLookupBenchmark {
+
+	private static final DataKey<List<String>> CITY = DataKey.stringList("city");
+	private static final DataKey<Map<String, List<String>>> FIRST_NAMES =
+			DataKey.typedValues(PersonProvider.FIRST_NAME, String.class);
+
+	@Param({"JDK", "XOROSHIRO128PP"})
+	private RandomBackend backend;
+
+	private MapBasedDataMaster dataMaster;
+	private Picker<String> maleFirstNames;
+	private Picker<String> uniform;
+	private Picker<String> weighted;
+
+	@Setup
+	public void setUp() throws IOException {
+		dataMaster = new MapBasedDataMaster(new BaseProducer(new RandomGenerator(42)));
+		dataMaster.readResources("jfairy.yml");
+		dataMaster.readResources("jfairy_" + Locale.ENGLISH.getLanguage() + ".yml");
+		maleFirstNames = dataMaster.picker(FIRST_NAMES, "MALE");
+
+		StringBuilder values = new StringBuilder();
+		StringBuilder weights = new StringBuilder();
+		for (int i = 1; i <= 100; i++) {
+			values.append(i == 1 ? "" : ", ").append("value").append(i);
+			weights.append(i == 1 ? "" : ", ").append(i * i);
+		}
+		Path yaml = Files.createTempFile("weighted", ".yml");
+		Files.write(yaml, ("data:\n  uniform: [" + values + "]\n  weighted: [" + values + "]\n  weightedWeights: ["
+				+ weights + "]\n").getBytes(StandardCharsets.UTF_8));
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		BinaryDataSetConverter.convert(Collections.singletonList(yaml), output);
+		Files.delete(yaml);
+		BinaryDataMaster weightedData = new BinaryDataMaster(new BaseProducer(new RandomGenerator(backend, 42)),
+				BinaryDataSet.read(ByteBuffer.wrap(output.toByteArray())));
+		uniform = weightedData.picker(DataKey.stringList("uniform"));
+		weighted = weightedData.picker(DataKey.stringList("weighted"));
+	}
+
+	@Benchmark
+	public String randomValueByName() {
+		return dataMaster.getRandomValue("city");
+	}
+
+	@Benchmark
+	public String randomValueByKey() {
+		return dataMaster.getRandomValue(CITY);
+	}
+
+	@Benchmark
+	public String valuesOfTypeByName() {
+		return dataMaster.getValuesOfType(PersonProvider.FIRST_NAME, "MALE", String.class);
+	}
+
+	@Benchmark
+	public String valuesOfTypeByKey() {
+		return dataMaster.getValuesOfType(FIRST_NAMES, "MALE");
+	}
+
+	@Benchmark
+	public String valuesOfTypeByPicker() {
+		return maleFirstNames.pick();
+	}
+
+	@Benchmark
+	public String uniformPicker() {
+		return uniform.pick();
+	}
+
+	@Benchmark
+	public String weightedPicker() {
+		return weighted.pick();
+	}
+}
@@ -0,0 +1,111 @@
+package com.devskiller.jfairy.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devskiller.jfairy.Fairy;
+import com.devskiller.jfairy.export.ExportFormat;
+import com.devskiller.jfairy.export.ExportSchema;
+import com.devskiller.jfairy.export.ExportSummary;
+import com.devskiller.jfairy.export.RecordExporter;
+import com.devskiller.jfairy.producer.person.Person;
+import com.devskiller.jfairy.producer.person.PersonGenerator;
+
+/**
+ * Exporting persons into a file, in rows per millisecond: by the exporter in every format, by the exporter generating
+ * chunks on all processors, and by a loop concatenating CSV rows into a buffered writer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+	private static final int ROWS = 20_000;
+
+	@Param({"CSV", "JSON_LINES", "SQL"})
+	private ExportFormat format;
+
+	private PersonGenerator personGenerator;
+
+	private RecordExporter<Person> exporter;
+
+	private RecordExporter<Person> parallelExporter;
+
+	private Path file;
+
+	@Setup
+	public void setUp() throws IOException {
+		Fairy fairy = Fairy.builder().withRandomSeed(42).build();
+		personGenerator = fairy.personGenerator();
+		exporter = RecordExporter.builder(ExportSchema.PERSON, personGenerator)
+				.withFormat(format)
+				.withRowCount(ROWS)
+				.build();
+		parallelExporter = RecordExporter.builder(ExportSchema.PERSON, fairy, Fairy::personGenerator)
+				.withFormat(format)
+				.withRowCount(ROWS)
+				.withChunkSize(4 * Fairy.STREAM_CHUNK_SIZE)
+				.build();
+		file = Files.createTempFile("export", ".tmp");
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete(file);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public ExportSummary export() throws IOException {
+		return exporter.export(file);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public ExportSummary exportParallel() throws IOException {
+		return parallelExporter.export(file);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public long loopCsv() throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write(String.join(",", ExportSchema.PERSON.getColumnNames()) + "\n");
+			for (int i = 0; i < ROWS; i++) {
+				Person person = personGenerator.get();
+				writer.write(person.getFirstName() + "," + person.getMiddleName() + "," + person.getLastName() + ","
+						+ person.getEmail() + "," + person.getUsername() + "," + person.getPassword() + ","
+						+ person.getSex() + "," + person.getTelephoneNumber() + "," + person.getDateOfBirth() + ","
+						+ person.getAge() + "," + person.getNationalIdentityCardNumber() + ","
+						+ person.getNationalIdentificationNumber() + "," + person.getPassportNumber() + ","
+						+ person.getCompany().getName() + "," + person.getCompany().getDomain() + ","
+						+ person.getCompanyEmail() + "," + person.getAddress().getStreet() + ","
+						+ person.getAddress().getStreetNumber() + "," + person.getAddress().getApartmentNumber() + ","
+						+ person.getAddress().getPostalCode() + "," + person.getAddress().getCity() + ","
+						+ person.getNationality().getCode() + "\n");
+			}
+		}
+		return Files.size(file);
+	}
+}
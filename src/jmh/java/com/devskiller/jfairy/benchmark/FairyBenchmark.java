@@ -0,0 +1,123 @@
+package com.devskiller.jfairy.benchmark;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devskiller.jfairy.Fairy;
+import com.devskiller.jfairy.producer.company.Company;
+import com.devskiller.jfairy.producer.payment.CreditCard;
+import com.devskiller.jfairy.producer.payment.IBAN;
+import com.devskiller.jfairy.producer.person.Person;
+import com.devskiller.jfairy.producer.person.PersonBatch;
+import com.devskiller.jfairy.producer.person.PersonGenerator;
+
+import static com.devskiller.jfairy.producer.person.PersonField.EMAIL;
+import static com.devskiller.jfairy.producer.person.PersonField.FIRST_NAME;
+import static com.devskiller.jfairy.producer.person.PersonField.LAST_NAME;
+import static com.devskiller.jfairy.producer.person.PersonProperties.fields;
+
+/**
+ * Throughput of every top-level {@link Fairy} generator, once per bundled locale module.
+ * Run with {@code -prof gc} to get the allocation rate next to the score.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FairyBenchmark {
+
+	private static final int BATCH_SIZE = 1024;
+
+	@Param({"en", "pl", "de", "sv", "zh", "ka", "es"})
+	private String language;
+
+	private Fairy fairy;
+
+	private PersonGenerator personGenerator;
+
+	private PersonGenerator lazyPersonGenerator;
+
+	private PersonGenerator personFieldsGenerator;
+
+	@Setup
+	public void setUp() {
+		fairy = Fairy.builder()
+				.withLocale(Locale.forLanguageTag(language))
+				.withRandomSeed(42)
+				.build();
+		personGenerator = fairy.personGenerator();
+		lazyPersonGenerator = fairy.lazyPersonGenerator();
+		personFieldsGenerator = fairy.personGenerator(fields(FIRST_NAME, LAST_NAME, EMAIL));
+	}
+
+	@Benchmark
+	public Person person() {
+		return fairy.person();
+	}
+
+	@Benchmark
+	public Person personGenerator() {
+		return personGenerator.get();
+	}
+
+	@Benchmark
+	public String personFullName() {
+		return personGenerator.get().getFullName();
+	}
+
+	@Benchmark
+	public String lazyPersonFullName() {
+		return lazyPersonGenerator.get().getFullName();
+	}
+
+	@Benchmark
+	public Person personFields() {
+		return personFieldsGenerator.get();
+	}
+
+	@Benchmark
+	public Person personWithFields() {
+		return fairy.person(fields(FIRST_NAME, LAST_NAME, EMAIL));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public PersonBatch personBatch() {
+		return personFieldsGenerator.batch(BATCH_SIZE, FIRST_NAME, LAST_NAME, EMAIL);
+	}
+
+	@Benchmark
+	public Company company() {
+		return fairy.company();
+	}
+
+	@Benchmark
+	public IBAN iban() {
+		return fairy.iban();
+	}
+
+	@Benchmark
+	public CreditCard creditCard() {
+		return fairy.creditCard();
+	}
+
+	@Benchmark
+	public String paragraph() {
+		return fairy.textProducer().paragraph();
+	}
+}
@@ -0,0 +1,54 @@
+package com.devskiller.jfairy.benchmark;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devskiller.jfairy.Fairy;
+import com.devskiller.jfairy.FairyPool;
+
+/**
+ * Cost of creating a new {@link Fairy}, with and without {@link FairyPool}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FairyCreationBenchmark {
+
+	@Param({"en", "de"})
+	private String language;
+
+	private Locale locale;
+
+	private FairyPool pool;
+
+	@Setup
+	public void setUp() {
+		locale = Locale.forLanguageTag(language);
+		pool = new FairyPool();
+	}
+
+	@Benchmark
+	public Fairy bootstrap() {
+		return Fairy.create(locale);
+	}
+
+	@Benchmark
+	public Fairy pool() {
+		return pool.create(locale);
+	}
+}
@@ -0,0 +1,116 @@
+package com.devskiller.jfairy.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devskiller.jfairy.Fairy;
+import com.devskiller.jfairy.export.JsonEncoder;
+import com.devskiller.jfairy.producer.person.Person;
+
+/**
+ * Encoding pregenerated persons as JSON: by the encoder into a reused buffer, and by building a String with
+ * a StringBuilder and encoding it to bytes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonBenchmark {
+
+	private static final int PERSONS = 1024;
+
+	@Param({"en", "pl", "zh"})
+	private String language;
+
+	private final Person[] persons = new Person[PERSONS];
+
+	private final JsonEncoder encoder = new JsonEncoder();
+
+	private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+	private int index;
+
+	@Setup
+	public void setUp() {
+		Fairy fairy = Fairy.builder().withLocale(Locale.forLanguageTag(language)).withRandomSeed(42).build();
+		for (int i = 0; i < PERSONS; i++) {
+			persons[i] = fairy.person();
+		}
+	}
+
+	@Benchmark
+	public int encoder() {
+		buffer.clear();
+		return encoder.encode(nextPerson(), buffer);
+	}
+
+	@Benchmark
+	public byte[] stringBuilder() {
+		Person person = nextPerson();
+		StringBuilder json = new StringBuilder("{");
+		property(json, "firstName", person.getFirstName()).append(',');
+		property(json, "middleName", person.getMiddleName()).append(',');
+		property(json, "lastName", person.getLastName()).append(',');
+		property(json, "email", person.getEmail()).append(',');
+		property(json, "username", person.getUsername()).append(',');
+		property(json, "password", person.getPassword()).append(',');
+		property(json, "sex", person.getSex().name()).append(',');
+		property(json, "telephoneNumber", person.getTelephoneNumber()).append(',');
+		property(json, "dateOfBirth", person.getDateOfBirth().toString()).append(',');
+		json.append("\"age\":").append(person.getAge()).append(',');
+		property(json, "nationalIdentityCardNumber", person.getNationalIdentityCardNumber()).append(',');
+		property(json, "nationalIdentificationNumber", person.getNationalIdentificationNumber()).append(',');
+		property(json, "passportNumber", person.getPassportNumber()).append(',');
+		json.append("\"company\":{");
+		property(json, "name", person.getCompany().getName()).append(',');
+		property(json, "domain", person.getCompany().getDomain()).append(',');
+		property(json, "email", person.getCompany().getEmail()).append(',');
+		property(json, "url", person.getCompany().getUrl()).append(',');
+		property(json, "vatIdentificationNumber", person.getCompany().getVatIdentificationNumber()).append("},");
+		property(json, "companyEmail", person.getCompanyEmail()).append(',');
+		json.append("\"address\":{");
+		property(json, "street", person.getAddress().getStreet()).append(',');
+		property(json, "streetNumber", person.getAddress().getStreetNumber()).append(',');
+		property(json, "apartmentNumber", person.getAddress().getApartmentNumber()).append(',');
+		property(json, "postalCode", person.getAddress().getPostalCode()).append(',');
+		property(json, "city", person.getAddress().getCity()).append("},");
+		property(json, "nationality", person.getNationality().name()).append('}');
+		return json.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static StringBuilder property(StringBuilder json, String name, String value) {
+		json.append('"').append(name).append("\":");
+		if (value == null) {
+			return json.append("null");
+		}
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				json.append('\\');
+			}
+			json.append(c);
+		}
+		return json.append('"');
+	}
+
+	private Person nextPerson() {
+		return persons[index++ & (PERSONS - 1)];
+	}
+}
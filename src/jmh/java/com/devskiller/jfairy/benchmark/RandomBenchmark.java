@@ -0,0 +1,51 @@
+package com.devskiller.jfairy.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devskiller.jfairy.producer.BaseProducer;
+import com.devskiller.jfairy.producer.RandomBackend;
+import com.devskiller.jfairy.producer.RandomGenerator;
+
+/**
+ * {@link BaseProducer#randomBetween(int, int)} for every {@link RandomBackend}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RandomBenchmark {
+
+	@Param({"JDK", "SPLITTABLE_RANDOM", "XOROSHIRO128PP", "PCG32", "WELL19937C"})
+	private RandomBackend backend;
+
+	private BaseProducer baseProducer;
+
+	@Setup
+	public void setUp() {
+		baseProducer = new BaseProducer(new RandomGenerator(backend, 42));
+	}
+
+	@Benchmark
+	public int randomBetween() {
+		return baseProducer.randomBetween(1, 100);
+	}
+
+	@Benchmark
+	public long randomBetweenLong() {
+		return baseProducer.randomBetween(1L, 1_000_000_000_000L);
+	}
+}
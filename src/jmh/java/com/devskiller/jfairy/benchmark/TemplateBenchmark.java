@@ -0,0 +1,63 @@
+package com.devskiller.jfairy.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devskiller.jfairy.producer.BaseProducer;
+import com.devskiller.jfairy.producer.RandomBackend;
+import com.devskiller.jfairy.producer.RandomGenerator;
+import com.devskiller.jfairy.producer.Template;
+
+/**
+ * Filling placeholders by scanning the pattern every time versus with a compiled {@link Template}. Run with
+ * {@code -prof gc} to see the allocation. Drawing from the JDK backend allocates on its own, other backends do not.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateBenchmark {
+
+	private static final String TELEPHONE_NUMBER = "###-###-####";
+	private static final String MASK = "##??#####";
+
+	@Param({"JDK", "XOROSHIRO128PP"})
+	private RandomBackend backend;
+
+	private BaseProducer baseProducer;
+	private Template compiledMask;
+
+	@Setup
+	public void setUp() {
+		baseProducer = new BaseProducer(new RandomGenerator(backend, 42));
+		compiledMask = baseProducer.compile(MASK);
+	}
+
+	@Benchmark
+	public String numerify() {
+		return baseProducer.numerify(TELEPHONE_NUMBER);
+	}
+
+	@Benchmark
+	public String bothify() {
+		return baseProducer.bothify(MASK);
+	}
+
+	@Benchmark
+	public String compiled() {
+		return compiledMask.generate();
+	}
+}
@@ -0,0 +1,98 @@
+package com.devskiller.jfairy.benchmark;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devskiller.jfairy.Bootstrap;
+import com.devskiller.jfairy.Fairy;
+import com.devskiller.jfairy.producer.RandomBackend;
+import com.devskiller.jfairy.producer.text.MarkovTextProducer;
+import com.devskiller.jfairy.producer.text.TextProducer;
+
+/**
+ * Generating sentences and words, with words sampled without shuffling or with legacy sampling, and a 1M chars
+ * document joined from paragraphs or streamed into a buffer, also from a Markov model. Random numbers are drawn by the default JDK backend
+ * or by a fast, non allocating backend.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextBenchmark {
+
+	@Param({"false", "true"})
+	private boolean legacySampling;
+
+	@Param({"JDK", "XOROSHIRO128PP"})
+	private RandomBackend backend;
+
+	private static final int DOCUMENT_SIZE = 1 << 20;
+
+	private TextProducer textProducer;
+
+	private MarkovTextProducer markovTextProducer;
+
+	private final CharBuffer document = CharBuffer.allocate(DOCUMENT_SIZE);
+
+	@Setup
+	public void setUp() {
+		Bootstrap.Builder builder = Fairy.builder().withRandomSeed(42).withRandomBackend(backend);
+		Fairy fairy = (legacySampling ? builder.withLegacySampling() : builder).build();
+		textProducer = fairy.textProducer();
+		markovTextProducer = fairy.markovTextProducer();
+	}
+
+	@Benchmark
+	public String sentence() {
+		return textProducer.sentence();
+	}
+
+	@Benchmark
+	public String words() {
+		return textProducer.word(5);
+	}
+
+	@Benchmark
+	public String joinedDocument() {
+		List<String> paragraphs = new ArrayList<>();
+		// no separator before the first paragraph
+		int length = -1;
+		while (length < DOCUMENT_SIZE) {
+			String paragraph = textProducer.paragraph();
+			paragraphs.add(paragraph);
+			length += paragraph.length() + 1;
+		}
+		return String.join("\n", paragraphs).substring(0, DOCUMENT_SIZE);
+	}
+
+	@Benchmark
+	public CharBuffer streamedDocument() {
+		document.clear();
+		textProducer.writeParagraphs(document);
+		return document;
+	}
+
+	@Benchmark
+	public CharBuffer markovDocument() throws IOException {
+		document.clear();
+		markovTextProducer.write(document, DOCUMENT_SIZE);
+		return document;
+	}
+}
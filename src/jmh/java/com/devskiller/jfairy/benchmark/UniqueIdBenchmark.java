@@ -0,0 +1,77 @@
+package com.devskiller.jfairy.benchmark;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devskiller.jfairy.Fairy;
+import com.devskiller.jfairy.producer.person.PersonField;
+import com.devskiller.jfairy.producer.person.PersonGenerator;
+import com.devskiller.jfairy.producer.person.UniqueIdSequence;
+import com.devskiller.jfairy.producer.person.locale.en.EnNationalIdentityCardNumberProvider;
+import com.devskiller.jfairy.producer.person.locale.pl.PlNationalIdentificationNumberProvider;
+
+import static com.devskiller.jfairy.producer.person.PersonProperties.fields;
+
+/**
+ * Generating unique national identification numbers, in microseconds per number: by sequences permuting
+ * the valid PESEL and SSN numbers, and by generating persons with random PESEL numbers, rejecting the repeated
+ * ones with a {@code HashSet<String>} (which grows with every number).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UniqueIdBenchmark {
+
+	private UniqueIdSequence pesels;
+
+	private UniqueIdSequence ssns;
+
+	private PersonGenerator personGenerator;
+
+	private final Set<String> generated = new HashSet<>();
+
+	@Setup
+	public void setUp() {
+		pesels = PlNationalIdentificationNumberProvider.uniqueNumbers(42, LocalDate.of(1900, 1, 1),
+				LocalDate.of(2099, 12, 31), null);
+		ssns = EnNationalIdentityCardNumberProvider.uniqueNumbers(42);
+		personGenerator = Fairy.builder().withLocale(new Locale("pl")).withRandomSeed(42).build()
+				.personGenerator(fields(PersonField.NATIONAL_IDENTIFICATION_NUMBER));
+	}
+
+	@Benchmark
+	public String peselSequence() {
+		return pesels.next();
+	}
+
+	@Benchmark
+	public String ssnSequence() {
+		return ssns.next();
+	}
+
+	@Benchmark
+	public String randomPeselWithSet() {
+		String pesel;
+		do {
+			pesel = personGenerator.get().getNationalIdentificationNumber();
+		} while (!generated.add(pesel));
+		return pesel;
+	}
+}
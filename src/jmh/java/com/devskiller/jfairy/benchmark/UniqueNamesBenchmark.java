@@ -0,0 +1,97 @@
+package com.devskiller.jfairy.benchmark;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.devskiller.jfairy.Fairy;
+import com.devskiller.jfairy.producer.person.PersonField;
+import com.devskiller.jfairy.producer.person.PersonGenerator;
+import com.devskiller.jfairy.producer.person.UniqueNames;
+
+import static com.devskiller.jfairy.producer.person.PersonProperties.fields;
+import static com.devskiller.jfairy.producer.person.PersonProperties.unique;
+
+/**
+ * Making 10M emails unique, in seconds: by unique names keeping fingerprints, and by a {@code HashSet<String>}
+ * adding the record index to repeated emails. Emails are drawn from 64k pregenerated ones, so most of them are
+ * repeated. Generating 10M persons with emails and usernames (and without other fields), with and without
+ * unique names, shows the cost in the generator.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class UniqueNamesBenchmark {
+
+	private static final int RECORDS = 10_000_000;
+	private static final int EMAILS = 1 << 16;
+
+	private final String[] emails = new String[EMAILS];
+
+	@Setup
+	public void setUp() {
+		PersonGenerator generator = Fairy.builder().withRandomSeed(42).build()
+				.personGenerator(fields(PersonField.EMAIL));
+		for (int i = 0; i < EMAILS; i++) {
+			emails[i] = generator.get().getEmail();
+		}
+	}
+
+	@Benchmark
+	public long uniqueNames() {
+		UniqueNames uniqueNames = new UniqueNames();
+		for (int i = 0; i < RECORDS; i++) {
+			uniqueNames.email(emails[i & (EMAILS - 1)]);
+		}
+		return uniqueNames.getMemoryBytes();
+	}
+
+	@Benchmark
+	public int hashSet() {
+		Set<String> set = new HashSet<>();
+		for (int i = 0; i < RECORDS; i++) {
+			String email = emails[i & (EMAILS - 1)];
+			if (!set.add(email)) {
+				int at = email.indexOf('@');
+				set.add(email.substring(0, at) + i + email.substring(at));
+			}
+		}
+		return set.size();
+	}
+
+	@Benchmark
+	public int persons() {
+		UniqueNames uniqueNames = new UniqueNames();
+		PersonGenerator generator = Fairy.builder().withRandomSeed(42).build()
+				.personGenerator(unique(uniqueNames), fields(PersonField.EMAIL, PersonField.USERNAME));
+		for (int i = 0; i < RECORDS; i++) {
+			generator.get();
+		}
+		return uniqueNames.getEmailCount();
+	}
+
+	@Benchmark
+	public int personsWithRepeats() {
+		PersonGenerator generator = Fairy.builder().withRandomSeed(42).build()
+				.personGenerator(fields(PersonField.EMAIL, PersonField.USERNAME));
+		int length = 0;
+		for (int i = 0; i < RECORDS; i++) {
+			length += generator.get().getEmail().length();
+		}
+		return length;
+	}
+}
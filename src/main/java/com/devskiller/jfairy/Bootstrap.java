@@ -2,6 +2,7 @@ package com.devskiller.jfairy;
 
 import java.io.IOException;
 import java.util.Locale;
+import java.util.Optional;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
@@ -9,12 +10,18 @@ import com.google.inject.Provider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.devskiller.jfairy.data.AbstractDataMaster;
+import com.devskiller.jfairy.data.BinaryDataMaster;
+import com.devskiller.jfairy.data.BinaryDataSet;
 import com.devskiller.jfairy.data.DataMaster;
-import com.devskiller.jfairy.data.DataMasterModule;
 import com.devskiller.jfairy.data.MapBasedDataMaster;
+import com.devskiller.jfairy.producer.BaseProducer;
+import com.devskiller.jfairy.producer.RandomBackend;
 import com.devskiller.jfairy.producer.RandomGenerator;
 import com.devskiller.jfairy.producer.util.LanguageCode;
 
+import static com.google.common.base.Preconditions.checkState;
+
 /**
  * <p>Using a {@link #builder()}, you can configure the following fields:</p>
  * <ul>
@@ -28,6 +35,11 @@ import com.devskiller.jfairy.producer.util.LanguageCode;
  * data to be <strong>deterministic</strong> based on it, such as if you want the same test
  * ID in a database to always result in the same fake name.
  * </li>
+ * <li><tt>randomBackend</tt>: The source of random numbers, see {@link RandomBackend}.</li>
+ * <li><tt>threadSafe</tt>: Makes the Fairy safe to share between threads, each thread gets its own random stream.
+ * </li>
+ * <li><tt>binaryData</tt>: Reads the precompiled binary data file ("jfairy_en.bin") instead of the YAML ones.
+ * </li>
  * </ul>
  * Obviously, don't set both <tt>random</tt> and <tt>randomSeed</tt>, only the last one you set will
  * actually take effect.
@@ -39,9 +51,14 @@ public class Bootstrap {
 
 	private static final Logger LOG = LoggerFactory.getLogger(Bootstrap.class);
 
-	private static final String DATA_FILE_PREFIX = "jfairy";
+	static final String DATA_FILE_PREFIX = "jfairy";
 
 	public static Fairy createFairy(DataMaster dataMaster, Locale locale, RandomGenerator randomGenerator) {
+		return createFairy(dataMaster, locale, randomGenerator, false);
+	}
+
+	static Fairy createFairy(DataMaster dataMaster, Locale locale, RandomGenerator randomGenerator,
+							 boolean recordSeeding) {
 
 		FairyModule fairyModule = getFairyModuleForLocale(dataMaster, locale, randomGenerator);
 
@@ -49,9 +66,45 @@ public class Bootstrap {
 
 		FairyFactory fairyFactory = injector.getInstance(FairyFactory.class);
 
-		return fairyFactory.createFairy();
+		return fairyFactory.createFairy(locale, recordSeeding);
+	}
+
+	/**
+	 * Creates Fairy sharing data with the given one, but drawing from another random generator. Custom data masters
+	 * which don't extend {@link AbstractDataMaster} would pick values with the producer of the given Fairy,
+	 * shared by all forks, so they are rejected.
+	 */
+	static Fairy fork(DataMaster dataMaster, Locale locale, RandomGenerator randomGenerator) {
+		checkState(dataMaster instanceof AbstractDataMaster,
+				"Streams and lazy persons require data master extending %s, found %s",
+				AbstractDataMaster.class.getSimpleName(), dataMaster.getClass().getName());
+		DataMaster forkedDataMaster = ((AbstractDataMaster) dataMaster).withBaseProducer(new BaseProducer(randomGenerator));
+		return createFairy(forkedDataMaster, locale, randomGenerator);
+	}
+
+
+	static MapBasedDataMaster createDefaultDataMaster(RandomGenerator randomGenerator, Locale locale, String filePrefix) {
+		MapBasedDataMaster dataMaster = new MapBasedDataMaster(new BaseProducer(randomGenerator));
+		fillDefaultDataMaster(dataMaster, locale, filePrefix);
+		return dataMaster;
 	}
 
+	/**
+	 * Creates data master reading the binary data file, or the YAML files if the binary one cannot replace them
+	 */
+	private static DataMaster createBinaryDataMaster(RandomGenerator randomGenerator, Locale locale, String filePrefix) {
+		Optional<BinaryDataSet> dataSet;
+		try {
+			dataSet = BinaryDataSet.forDataFiles(Bootstrap.class.getClassLoader(), filePrefix, locale.getLanguage());
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		if (!dataSet.isPresent()) {
+			LOG.debug("No binary data for {} files in {} language, reading YAML files", filePrefix, locale.getLanguage());
+			return createDefaultDataMaster(randomGenerator, locale, filePrefix);
+		}
+		return new BinaryDataMaster(new BaseProducer(randomGenerator), dataSet.get());
+	}
 
 	private static void fillDefaultDataMaster(MapBasedDataMaster dataMaster, Locale locale, String filePrefix) {
 		try {
@@ -155,14 +208,13 @@ public class Bootstrap {
 
 		private Locale locale = Locale.ENGLISH;
 		private String filePrefix = DATA_FILE_PREFIX;
-		private RandomGenerator randomGenerator = new RandomGenerator();
+		private RandomBackend randomBackend = RandomBackend.JDK;
+		private Integer randomSeed;
+		private boolean threadSafe;
+		private boolean recordSeeding;
+		private boolean legacySampling;
 		private DataMaster dataMaster;
-
-
-		private MapBasedDataMaster getDefaultDataMaster() {
-			Injector injector = Guice.createInjector(new DataMasterModule(randomGenerator));
-			return injector.getInstance(MapBasedDataMaster.class);
-		}
+		private boolean binaryData;
 
 		private Builder() {
 
@@ -198,7 +250,57 @@ public class Bootstrap {
 		 * @return the same Builder (for chaining).
 		 */
 		public Builder withRandomSeed(int randomSeed) {
-			this.randomGenerator = new RandomGenerator(randomSeed);
+			this.randomSeed = randomSeed;
+			return this;
+		}
+
+		/**
+		 * Sets the source of random numbers. {@link RandomBackend#JDK} is the default, the other backends are faster.
+		 * Each backend gives the same data for the same random seed.
+		 *
+		 * @param randomBackend The random backend to use.
+		 * @return the same Builder (for chaining).
+		 */
+		public Builder withRandomBackend(RandomBackend randomBackend) {
+			this.randomBackend = randomBackend;
+			return this;
+		}
+
+		/**
+		 * Makes the resulting Fairy safe to share between threads. Every thread draws from its own random stream
+		 * split from the random seed, so threads do not contend and data generated by one thread does not depend
+		 * on other threads. Which stream a thread gets depends on the order in which threads start generating.
+		 *
+		 * @return the same Builder (for chaining).
+		 */
+		public Builder withThreadSafeMode() {
+			this.threadSafe = true;
+			return this;
+		}
+
+		/**
+		 * Makes bulk streams of the resulting Fairy (e.g. {@link Fairy#personStream}) draw every record from its own
+		 * random stream, derived from the stream seed and the record index. Record <tt>i</tt> is then the same
+		 * however the stream is split between threads and whichever records before it are skipped. Without this
+		 * mode records are seeded in chunks, which is cheaper for backends with slow seeding like
+		 * {@link RandomBackend#WELL19937C}.
+		 *
+		 * @return the same Builder (for chaining).
+		 */
+		public Builder withRecordSeeding() {
+			this.recordSeeding = true;
+			return this;
+		}
+
+		/**
+		 * Makes random subsets (e.g. words of generated sentences) sampled by shuffling the whole source list, like
+		 * in previous versions, to get the same data as these versions for the same random seed.
+		 *
+		 * @return the same Builder (for chaining).
+		 * @see RandomGenerator#withLegacySampling()
+		 */
+		public Builder withLegacySampling() {
+			this.legacySampling = true;
 			return this;
 		}
 
@@ -214,17 +316,52 @@ public class Bootstrap {
 		}
 
 
+		/**
+		 * Reads data from precompiled binary file (filePrefix_{langCode}.bin) instead of parsing YAML files.
+		 * Binary files for bundled data are created during the build by
+		 * {@link com.devskiller.jfairy.data.BinaryDataSetConverter}, and read once per class loader. Generated data
+		 * is the same as with YAML files for the same random seed. YAML files are still read if there is no binary
+		 * file for them (e.g. for a custom file prefix) or if they are overlaid by files with the same name
+		 * on the class path, which the binary file does not contain.
+		 *
+		 * @return the same Builder (for chaining).
+		 */
+		public Builder withBinaryData() {
+			this.binaryData = true;
+			return this;
+		}
+
 		/**
 		 * Returns the completed Fairy.
 		 *
 		 * @return Fairy instance
 		 */
 		public Fairy build() {
-			if (dataMaster == null) {
-				dataMaster = getDefaultDataMaster();
-				fillDefaultDataMaster((MapBasedDataMaster) dataMaster, locale, filePrefix);
+			RandomGenerator randomGenerator = createRandomGenerator();
+			// default data master picks values with the generator of the built Fairy, so it is created on every build
+			DataMaster fairyDataMaster = dataMaster;
+			if (fairyDataMaster == null) {
+				fairyDataMaster = binaryData
+						? createBinaryDataMaster(randomGenerator, locale, filePrefix)
+						: createDefaultDataMaster(randomGenerator, locale, filePrefix);
+			}
+			return createFairy(fairyDataMaster, locale, randomGenerator, recordSeeding);
+		}
+
+		private RandomGenerator createRandomGenerator() {
+			RandomGenerator randomGenerator = createRandomStream();
+			return legacySampling ? randomGenerator.withLegacySampling() : randomGenerator;
+		}
+
+		private RandomGenerator createRandomStream() {
+			if (threadSafe) {
+				return randomSeed == null
+						? RandomGenerator.threadSafe(randomBackend)
+						: RandomGenerator.threadSafe(randomBackend, randomSeed);
 			}
-			return createFairy(dataMaster, locale, randomGenerator);
+			return randomSeed == null
+					? new RandomGenerator(randomBackend)
+					: new RandomGenerator(randomBackend, randomSeed);
 		}
 	}
 
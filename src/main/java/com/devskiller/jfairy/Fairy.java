@@ -4,13 +4,24 @@
 package com.devskiller.jfairy;
 
 import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.inject.Provider;
+import com.google.inject.assistedinject.Assisted;
 
 import com.devskiller.jfairy.data.DataMaster;
 import com.devskiller.jfairy.producer.BaseProducer;
 import com.devskiller.jfairy.producer.DateProducer;
+import com.devskiller.jfairy.producer.RandomGenerator;
 import com.devskiller.jfairy.producer.company.Company;
 import com.devskiller.jfairy.producer.company.CompanyFactory;
 import com.devskiller.jfairy.producer.company.CompanyProperties;
@@ -21,12 +32,25 @@ import com.devskiller.jfairy.producer.payment.IBAN;
 import com.devskiller.jfairy.producer.payment.IBANFactory;
 import com.devskiller.jfairy.producer.payment.IBANProperties;
 import com.devskiller.jfairy.producer.person.Person;
+import com.devskiller.jfairy.producer.person.PersonBatch;
 import com.devskiller.jfairy.producer.person.PersonFactory;
+import com.devskiller.jfairy.producer.person.PersonField;
+import com.devskiller.jfairy.producer.person.PersonGenerator;
 import com.devskiller.jfairy.producer.person.PersonProperties;
+import com.devskiller.jfairy.producer.text.MarkovTextProducer;
 import com.devskiller.jfairy.producer.text.TextProducer;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 public final class Fairy {
 
+	/**
+	 * Number of records generated from the same random seed by stream methods (unless record seeding is enabled)
+	 */
+	public static final int STREAM_CHUNK_SIZE = FairySpliterator.CHUNK_SIZE;
+
+	private static final String TEXT = "text";
+
 	private final TextProducer textProducer;
 	private final PersonFactory personFactory;
 	private final NetworkProducer networkProducer;
@@ -35,11 +59,18 @@ public final class Fairy {
 	private final CreditCardProvider creditCardProvider;
 	private final CompanyFactory companyFactory;
 	private final IBANFactory ibanFactory;
+	private final DataMaster dataMaster;
+	private final RandomGenerator randomGenerator;
+	private final Locale locale;
+	private final boolean recordSeeding;
+	private final ForkPool forkPool = new ForkPool(this::createFork);
 
 	@Inject
 	Fairy(TextProducer textProducer, PersonFactory personFactory, NetworkProducer networkProducer,
 	      BaseProducer baseProducer, DateProducer dateProducer, CreditCardProvider creditCardProvider,
-	      CompanyFactory companyFactory, IBANFactory ibanFactory) {
+	      CompanyFactory companyFactory, IBANFactory ibanFactory, DataMaster dataMaster,
+	      RandomGenerator randomGenerator, @Assisted Locale locale,
+	      @Assisted boolean recordSeeding) {
 		this.textProducer = textProducer;
 		this.personFactory = personFactory;
 		this.networkProducer = networkProducer;
@@ -48,6 +79,10 @@ public final class Fairy {
 		this.creditCardProvider = creditCardProvider;
 		this.companyFactory = companyFactory;
 		this.ibanFactory = ibanFactory;
+		this.dataMaster = dataMaster;
+		this.randomGenerator = randomGenerator;
+		this.locale = locale;
+		this.recordSeeding = recordSeeding;
 	}
 
 	public static Fairy create() {
@@ -76,6 +111,39 @@ public final class Fairy {
 		return textProducer;
 	}
 
+	/**
+	 * Use this method for generating texts with word statistics of the locale text, using Markov model
+	 * of {@link MarkovTextProducer#DEFAULT_ORDER}. The model is built on every call, so reuse the producer.
+	 *
+	 * @return A {@link com.devskiller.jfairy.producer.text.MarkovTextProducer} instance
+	 */
+	public MarkovTextProducer markovTextProducer() {
+		return markovTextProducer(MarkovTextProducer.DEFAULT_ORDER);
+	}
+
+	/**
+	 * Use this method for generating texts with word statistics of the locale text
+	 *
+	 * @param order number of previous words determining the next word
+	 * @return A {@link com.devskiller.jfairy.producer.text.MarkovTextProducer} instance
+	 */
+	public MarkovTextProducer markovTextProducer(int order) {
+		return new MarkovTextProducer(baseProducer, dataMaster.getString(TEXT), order);
+	}
+
+	/**
+	 * Use this method for generating texts with word statistics of a corpus
+	 *
+	 * @param corpus UTF-8 text file to learn from
+	 * @param order  number of previous words determining the next word
+	 * @return A {@link com.devskiller.jfairy.producer.text.MarkovTextProducer} instance
+	 * @throws IOException if reading the corpus fails
+	 */
+	public MarkovTextProducer markovTextProducer(Path corpus, int order) throws IOException {
+		return new MarkovTextProducer(baseProducer, new String(Files.readAllBytes(corpus), StandardCharsets.UTF_8),
+				order);
+	}
+
 	/**
 	 * Use this method for fake persons
 	 *
@@ -86,6 +154,47 @@ public final class Fairy {
 		return personFactory.producePersonProvider(personProperties).get();
 	}
 
+	/**
+	 * Use this method for generating many fake persons with the same properties. The generator is created once and
+	 * generates persons cheaper than {@link #person(PersonProperties.PersonProperty...)}, but it should not be shared
+	 * between threads.
+	 *
+	 * @param personProperties desired person features
+	 * @return A {@link com.devskiller.jfairy.producer.person.PersonGenerator} instance
+	 */
+	public PersonGenerator personGenerator(PersonProperties.PersonProperty... personProperties) {
+		return new PersonGenerator(personFactory, baseProducer, personProperties);
+	}
+
+	/**
+	 * Use this method for generating many fake persons straight into columns, without creating person objects
+	 *
+	 * @param count  number of persons
+	 * @param fields fields of the generated persons
+	 * @return A {@link com.devskiller.jfairy.producer.person.PersonBatch} instance
+	 * @see PersonGenerator#batch(int, PersonField...)
+	 */
+	public PersonBatch personBatch(int count, PersonField... fields) {
+		return personGenerator().batch(count, fields);
+	}
+
+	/**
+	 * Use this method for generating fake persons when only some of their fields are read. Every field of
+	 * the generated persons is generated on first access, so the cost depends on the fields actually read.
+	 * Fields are generated from random streams derived from the person seed, so a person is the same whatever fields
+	 * are read and in what order - but different than a person generated eagerly.
+	 *
+	 * @param personProperties desired person features
+	 * @return A {@link com.devskiller.jfairy.producer.person.PersonGenerator} instance
+	 */
+	public PersonGenerator lazyPersonGenerator(PersonProperties.PersonProperty... personProperties) {
+		// fields are generated with a fork, reseeded for every field. The generator keeps the fork as long as it is
+		// used, so it gets a new one instead of taking one of the forks reused by streams
+		Fairy fork = createFork();
+		return PersonGenerator.lazy(fork.personFactory, fork.baseProducer, fork.randomGenerator,
+				randomGenerator.nextLong(), personProperties);
+	}
+
 	/**
 	 * Use this method to generate fake company
 	 *
@@ -135,4 +244,119 @@ public final class Fairy {
 	public NetworkProducer networkProducer() {
 		return networkProducer;
 	}
+
+	/**
+	 * Use this method for generating many fake persons. The stream is infinite, limit it before collecting.
+	 * Persons are generated in chunks, each chunk with random seed derived from this Fairy, so sequential
+	 * and parallel streams give the same persons. Every part of the stream generates with a fork of this Fairy,
+	 * reused by following streams once the part is exhausted or the stream is closed (or garbage collected).
+	 * Forks require the default data masters, streams of a Fairy with a custom {@link DataMaster} fail.
+	 *
+	 * @param personProperties desired person features
+	 * @return stream of {@link com.devskiller.jfairy.producer.person.Person} instances
+	 */
+	public Stream<Person> personStream(PersonProperties.PersonProperty... personProperties) {
+		return stream(Long.MAX_VALUE, fairy -> fairy.personGenerator(personProperties));
+	}
+
+	/**
+	 * Use this method for generating many fake persons
+	 *
+	 * @param count            number of persons
+	 * @param personProperties desired person features
+	 * @return list of {@link com.devskiller.jfairy.producer.person.Person} instances
+	 * @see #personStream(PersonProperties.PersonProperty...)
+	 */
+	public List<Person> persons(int count, PersonProperties.PersonProperty... personProperties) {
+		return list(count, fairy -> fairy.personGenerator(personProperties));
+	}
+
+	/**
+	 * Use this method for generating many fake companies. The stream is infinite, limit it before collecting.
+	 *
+	 * @param companyProperties desired company features
+	 * @return stream of {@link com.devskiller.jfairy.producer.company.Company} instances
+	 * @see #personStream(PersonProperties.PersonProperty...)
+	 */
+	public Stream<Company> companyStream(CompanyProperties.CompanyProperty... companyProperties) {
+		return stream(Long.MAX_VALUE, fairy -> () -> fairy.company(companyProperties));
+	}
+
+	public List<Company> companies(int count, CompanyProperties.CompanyProperty... companyProperties) {
+		return list(count, fairy -> () -> fairy.company(companyProperties));
+	}
+
+	/**
+	 * Use this method for generating many IBANs. The stream is infinite, limit it before collecting.
+	 *
+	 * @param properties desired IBAN features
+	 * @return stream of {@link com.devskiller.jfairy.producer.payment.IBAN} instances
+	 */
+	public Stream<IBAN> ibanStream(IBANProperties.Property... properties) {
+		return stream(Long.MAX_VALUE, fairy -> () -> fairy.iban(properties));
+	}
+
+	public List<IBAN> ibans(int count, IBANProperties.Property... properties) {
+		return list(count, fairy -> () -> fairy.iban(properties));
+	}
+
+	/**
+	 * Use this method for generating many credit cards. The stream is infinite, limit it before collecting.
+	 *
+	 * @return stream of {@link com.devskiller.jfairy.producer.payment.CreditCard} instances
+	 */
+	public Stream<CreditCard> creditCardStream() {
+		return stream(Long.MAX_VALUE, fairy -> fairy::creditCard);
+	}
+
+	public List<CreditCard> creditCards(int count) {
+		return list(count, fairy -> fairy::creditCard);
+	}
+
+	/**
+	 * Use this method for generating a part of a stream of any records, e.g. in parallel into separate files. Records
+	 * are the same as at the indexes from (inclusive) to (exclusive) of the whole stream with the seed, generated by
+	 * any Fairy with the same locale and options. Records are generated in chunks of {@link #STREAM_CHUNK_SIZE},
+	 * like by the other stream methods, so without record seeding the range has to start at a chunk.
+	 *
+	 * @param seed     seed of the whole stream
+	 * @param from     index of the first record, a multiple of {@link #STREAM_CHUNK_SIZE} without record seeding
+	 * @param to       index after the last record
+	 * @param pipeline creates generator of the records from the passed Fairy, e.g. {@code Fairy::personGenerator}
+	 * @return stream of the records
+	 */
+	public <T> Stream<T> streamRange(long seed, long from, long to, Function<Fairy, Supplier<T>> pipeline) {
+		checkArgument(from >= 0 && from <= to, "Invalid range %s - %s", from, to);
+		checkArgument(recordSeeding || from % STREAM_CHUNK_SIZE == 0,
+				"Range should start at a multiple of %s, found %s", STREAM_CHUNK_SIZE, from);
+		return FairySpliterator.stream(this, pipeline, seed, from, to, true, recordSeeding);
+	}
+
+	private <T> Stream<T> stream(long count, Function<Fairy, Supplier<T>> pipeline) {
+		boolean sized = count != Long.MAX_VALUE;
+		return FairySpliterator.stream(this, pipeline, randomGenerator.nextLong(), 0, count, sized, recordSeeding);
+	}
+
+	private <T> List<T> list(int count, Function<Fairy, Supplier<T>> pipeline) {
+		return stream(count, pipeline).collect(Collectors.toList());
+	}
+
+	RandomGenerator randomGenerator() {
+		return randomGenerator;
+	}
+
+	ForkPool forkPool() {
+		return forkPool;
+	}
+
+	/**
+	 * @return new Fairy sharing data with this one, but drawing from its own random generator
+	 */
+	private Fairy createFork() {
+		RandomGenerator forkRandomGenerator = new RandomGenerator(randomGenerator.getBackend());
+		if (randomGenerator.isLegacySampling()) {
+			forkRandomGenerator = forkRandomGenerator.withLegacySampling();
+		}
+		return Bootstrap.fork(dataMaster, locale, forkRandomGenerator);
+	}
 }
@@ -1,9 +1,11 @@
 package com.devskiller.jfairy;
 
+import java.util.Locale;
+
 /**
  * @author Jakub Kubrynski
  */
 interface FairyFactory {
 
-	Fairy createFairy();
+	Fairy createFairy(Locale locale, boolean recordSeeding);
 }
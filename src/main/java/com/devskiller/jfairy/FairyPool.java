@@ -0,0 +1,113 @@
+package com.devskiller.jfairy;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.devskiller.jfairy.data.MapBasedDataMaster;
+import com.devskiller.jfairy.producer.BaseProducer;
+import com.devskiller.jfairy.producer.RandomGenerator;
+
+/**
+ * Creates {@link Fairy} instances reading data files only once per locale and file prefix.
+ * <p>
+ * {@link Bootstrap#create(Locale)} reads and parses the data files for every new Fairy. The pool keeps them
+ * and every created Fairy gets its own {@link RandomGenerator} and object graph on top of the shared data,
+ * so instances created by the pool are as independent as the ones created by {@link Bootstrap}.
+ * </p>
+ * The pool is thread safe. Use {@link #shared()} unless you need to control when the data is released.
+ */
+public final class FairyPool {
+
+	private static final FairyPool SHARED = new FairyPool();
+
+	private final ConcurrentMap<PoolKey, MapBasedDataMaster> dataMasters = new ConcurrentHashMap<>();
+
+	/**
+	 * @return pool shared by the whole application
+	 */
+	public static FairyPool shared() {
+		return SHARED;
+	}
+
+	/**
+	 * Creates Fairy for default locale and data files
+	 *
+	 * @return Fairy instance
+	 */
+	public Fairy create() {
+		return create(Locale.ENGLISH);
+	}
+
+	/**
+	 * Creates Fairy for desired locale and default data files
+	 *
+	 * @param locale will be used to assess langCode for data file
+	 * @return Fairy instance
+	 */
+	public Fairy create(Locale locale) {
+		return create(locale, Bootstrap.DATA_FILE_PREFIX, new RandomGenerator());
+	}
+
+	/**
+	 * Creates deterministic Fairy for desired locale and default data files
+	 *
+	 * @param locale     will be used to assess langCode for data file
+	 * @param randomSeed the random seed to use
+	 * @return Fairy instance
+	 */
+	public Fairy create(Locale locale, int randomSeed) {
+		return create(locale, Bootstrap.DATA_FILE_PREFIX, new RandomGenerator(randomSeed));
+	}
+
+	/**
+	 * Creates Fairy for desired locale and data files
+	 *
+	 * @param locale          will be used to assess langCode for data file
+	 * @param filePrefix      prefix of the data file - final pattern will be jfairy.yml and filePrefix_{langCode}.yml
+	 * @param randomGenerator random generator used only by the created instance
+	 * @return Fairy instance
+	 */
+	public Fairy create(Locale locale, String filePrefix, RandomGenerator randomGenerator) {
+		MapBasedDataMaster data = dataMasters.computeIfAbsent(new PoolKey(locale.getLanguage(), filePrefix),
+				key -> Bootstrap.createDefaultDataMaster(new RandomGenerator(), locale, filePrefix));
+		MapBasedDataMaster dataMaster = data.withBaseProducer(new BaseProducer(randomGenerator));
+		return Bootstrap.createFairy(dataMaster, locale, randomGenerator);
+	}
+
+	/**
+	 * Releases all data read so far
+	 */
+	public void clear() {
+		dataMasters.clear();
+	}
+
+	private static final class PoolKey {
+
+		private final String language;
+		private final String filePrefix;
+
+		private PoolKey(String language, String filePrefix) {
+			this.language = language;
+			this.filePrefix = filePrefix;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof PoolKey)) {
+				return false;
+			}
+			PoolKey other = (PoolKey) o;
+			return language.equals(other.language) && filePrefix.equals(other.filePrefix);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(language, filePrefix);
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package com.devskiller.jfairy;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.devskiller.jfairy.producer.RandomGenerator;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Spliterator generating records in chunks of {@link #CHUNK_SIZE}. Every chunk (or with record seeding - every
+ * record) starts with random stream derived from the stream seed and the chunk (record) index, so the records are the
+ * same however the stream is split between threads. Every split generates with its own fork of the Fairy, leased
+ * from the {@link ForkPool} of the Fairy for all its chunks. The fork is returned when the split is exhausted,
+ * when the stream is closed, or after the split is garbage collected.
+ *
+ * @param <T> type of generated records
+ */
+final class FairySpliterator<T> implements Spliterator<T> {
+
+	static final int CHUNK_SIZE = 1024;
+
+	private static final int CHARACTERISTICS = ORDERED | IMMUTABLE;
+	private static final long MAX_BATCH = 1 << 25;
+
+	private final Fairy fairy;
+	private final Function<Fairy, Supplier<T>> pipeline;
+	private final long seed;
+	private final boolean sized;
+	private final boolean recordSeeding;
+	private final long fence;
+	// identifies the stream of all splits, to return their forks when it is closed
+	private final Object stream;
+	private long index;
+	// records split off by the last split of an unsized stream
+	private long batch;
+
+	private ForkPool.Lease lease;
+	private Supplier<T> generator;
+
+	private FairySpliterator(Fairy fairy, Function<Fairy, Supplier<T>> pipeline, long seed, long index, long fence,
+							 boolean sized, boolean recordSeeding, Object stream) {
+		this.fairy = fairy;
+		this.pipeline = pipeline;
+		this.seed = seed;
+		this.index = index;
+		this.fence = fence;
+		this.sized = sized;
+		this.recordSeeding = recordSeeding;
+		this.stream = stream;
+	}
+
+	/**
+	 * Creates stream of records, returning forks of its splits to the Fairy when it is closed
+	 *
+	 * @param fence index after the last record, {@link Long#MAX_VALUE} for an infinite unsized stream
+	 */
+	static <T> Stream<T> stream(Fairy fairy, Function<Fairy, Supplier<T>> pipeline, long seed, long index, long fence,
+								boolean sized, boolean recordSeeding) {
+		Object stream = new Object();
+		FairySpliterator<T> spliterator = new FairySpliterator<>(fairy, pipeline, seed, index, fence, sized,
+				recordSeeding, stream);
+		return StreamSupport.stream(spliterator, false)
+				.onClose(() -> fairy.forkPool().giveBackAll(stream));
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (index >= fence) {
+			if (lease != null) {
+				fairy.forkPool().giveBack(lease);
+				lease = null;
+				generator = null;
+			}
+			return false;
+		}
+		boolean started = generator != null;
+		if (!started) {
+			lease = fairy.forkPool().lease(this, stream);
+			generator = pipeline.apply(lease.fork());
+		} else {
+			checkState(lease.isActive(), "Stream has been closed");
+		}
+		if (recordSeeding) {
+			lease.fork().randomGenerator().setSeed(RandomGenerator.split(seed, index));
+		} else if (!started || index % CHUNK_SIZE == 0) {
+			lease.fork().randomGenerator().setSeed(RandomGenerator.split(seed, index / CHUNK_SIZE));
+		}
+		action.accept(generator.get());
+		index++;
+		return true;
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		long middle;
+		if (sized) {
+			middle = (index + (fence - index) / 2) / CHUNK_SIZE * CHUNK_SIZE;
+		} else {
+			// like the JDK iterator spliterators: split off growing finite batches, so that a limited parallel
+			// stream never gets an endless leaf
+			batch = Math.min(batch + CHUNK_SIZE, MAX_BATCH);
+			middle = Math.min((index + batch) / CHUNK_SIZE * CHUNK_SIZE, fence);
+		}
+		if (middle <= index) {
+			return null;
+		}
+		FairySpliterator<T> prefix = new FairySpliterator<>(fairy, pipeline, seed, index, middle, sized,
+				recordSeeding, stream);
+		// the current chunk continues in the prefix
+		if (lease != null) {
+			prefix.lease = fairy.forkPool().transfer(lease, prefix);
+			prefix.generator = generator;
+			lease = null;
+			generator = null;
+		}
+		index = middle;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return fence - index;
+	}
+
+	@Override
+	public int characteristics() {
+		return sized ? CHARACTERISTICS | SIZED | SUBSIZED : CHARACTERISTICS;
+	}
+}
@@ -0,0 +1,118 @@
+package com.devskiller.jfairy;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Forks of a Fairy reused by its streams, since creating a fork builds a new injector. A fork is leased to a part
+ * of a stream and returned to the pool when the part is exhausted, when the stream is closed, or after the part
+ * is garbage collected - e.g. when a limited stream or an iterator is abandoned, or when generating fails.
+ */
+final class ForkPool {
+
+	private final Supplier<Fairy> forkFactory;
+	private final Queue<Fairy> idleForks = new ConcurrentLinkedQueue<>();
+	private final ReferenceQueue<Object> abandonedOwners = new ReferenceQueue<>();
+	// leases of forks in use, which also keeps the leases reachable until they are enqueued
+	private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+
+	ForkPool(Supplier<Fairy> forkFactory) {
+		this.forkFactory = forkFactory;
+	}
+
+	/**
+	 * @param owner  user of the fork, the fork is returned after the owner is garbage collected
+	 * @param stream stream of the owner, the fork is returned when {@link #giveBackAll(Object)} is called for it
+	 * @return lease of an idle or a new fork
+	 */
+	Lease lease(Object owner, Object stream) {
+		returnAbandonedForks();
+		Fairy fork = idleForks.poll();
+		return register(new Lease(fork != null ? fork : forkFactory.get(), owner, stream));
+	}
+
+	/**
+	 * Passes leased fork to another owner of the same stream, e.g. to a part split off the owner
+	 *
+	 * @return lease of the new owner
+	 */
+	Lease transfer(Lease lease, Object owner) {
+		checkState(leases.remove(lease), "Fork has already been returned");
+		lease.clear();
+		return register(new Lease(lease.fork, owner, lease.stream));
+	}
+
+	/**
+	 * Returns leased fork to the pool, if it was not returned yet
+	 */
+	void giveBack(Lease lease) {
+		if (leases.remove(lease)) {
+			lease.clear();
+			idleForks.offer(lease.fork);
+		}
+	}
+
+	/**
+	 * Returns all forks leased by owners of the stream
+	 */
+	void giveBackAll(Object stream) {
+		for (Lease lease : leases) {
+			if (lease.stream == stream) {
+				giveBack(lease);
+			}
+		}
+	}
+
+	/**
+	 * @return number of forks in the pool, including the ones of garbage collected owners
+	 */
+	int idleCount() {
+		returnAbandonedForks();
+		return idleForks.size();
+	}
+
+	private Lease register(Lease lease) {
+		leases.add(lease);
+		return lease;
+	}
+
+	private void returnAbandonedForks() {
+		for (Reference<?> owner = abandonedOwners.poll(); owner != null; owner = abandonedOwners.poll()) {
+			giveBack((Lease) owner);
+		}
+	}
+
+	/**
+	 * Fork leased to an owner, enqueued when the owner is garbage collected
+	 */
+	final class Lease extends WeakReference<Object> {
+
+		private final Fairy fork;
+		private final Object stream;
+
+		private Lease(Fairy fork, Object owner, Object stream) {
+			super(owner, abandonedOwners);
+			this.fork = fork;
+			this.stream = stream;
+		}
+
+		Fairy fork() {
+			return fork;
+		}
+
+		/**
+		 * @return false if the fork has been returned, e.g. because the stream was closed
+		 */
+		boolean isActive() {
+			return leases.contains(this);
+		}
+	}
+}
@@ -0,0 +1,227 @@
+package com.devskiller.jfairy.data;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.EnumUtils;
+
+import com.devskiller.jfairy.producer.BaseProducer;
+import com.devskiller.jfairy.producer.util.LanguageCode;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Base of data masters finding data elements by name. Elements of {@link DataKey}s and their pickers are found
+ * only once per data master, next calls take them from arrays indexed by the key.
+ */
+public abstract class AbstractDataMaster implements DataMaster {
+
+	public static final String LANGUAGE_TAG = "language";
+	private static final DataKey<String> LANGUAGE = DataKey.string(LANGUAGE_TAG);
+
+	protected final BaseProducer baseProducer;
+	// elements already found by DataKey, indexed by DataKey.getIndex(). Filled lazily without locking - concurrent
+	// callers at worst find an element twice, elements and pickers are immutable
+	private Object[] resolved = new Object[0];
+	// pickers indexed by DataKey.getIndex()
+	private Object[] pickers = new Object[0];
+	private LanguageCode language;
+
+	protected AbstractDataMaster(BaseProducer baseProducer) {
+		this.baseProducer = baseProducer;
+	}
+
+	/**
+	 * Creates data master sharing data of this one, but picking values with passed producer. Used by streams,
+	 * picking values with a random generator of every part of the stream.
+	 *
+	 * @param baseProducer producer used to pick random values
+	 * @return new data master
+	 */
+	public abstract AbstractDataMaster withBaseProducer(BaseProducer baseProducer);
+
+	/**
+	 * @param key element name, in any case
+	 * @return element or {@code null} if there is no such element
+	 */
+	protected abstract Object getElement(String key);
+
+	/**
+	 * Returns list (null safe) of elements for desired key
+	 *
+	 * @param key desired node key
+	 * @return list of elements for desired key
+	 * @throws IllegalArgumentException if no element for key has been found
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public List<String> getStringList(String key) {
+		return getData(key, List.class);
+	}
+
+	/**
+	 * Picks value like {@link #getValuesOfType(DataKey, String)}, so weights of the values are used. Pickers are
+	 * cached only for names of existing {@link DataKey}s.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T getValuesOfType(String dataKey, String type, Class<T> resultClass) {
+		DataKey<?> key = DataKey.find(dataKey);
+		if (key != null && key.getType() == Map.class) {
+			return picker((DataKey<Map<String, List<T>>>) key, type).pick();
+		}
+		Map<String, List<T>> data = getData(dataKey, Map.class);
+		return pickerOfType(Pickers.byType(baseProducer, data, getElement(Pickers.weightsName(dataKey))), type,
+				dataKey).pick();
+	}
+
+	/**
+	 * Returns element (null safe) for desired key
+	 *
+	 * @param key desired node key
+	 * @return string element for desired key
+	 * @throws IllegalArgumentException if no element for key has been found
+	 */
+	@Override
+	public String getString(String key) {
+		return getData(key, String.class);
+	}
+
+	/**
+	 * Picks value like {@link #getRandomValue(DataKey)}, so weights of the values are used. Pickers are cached only
+	 * for names of existing {@link DataKey}s.
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public String getRandomValue(String key) {
+		DataKey<?> dataKey = DataKey.find(key);
+		if (dataKey != null && dataKey.getType() == List.class && dataKey.getValueType() == String.class) {
+			return picker((DataKey<List<String>>) dataKey).pick();
+		}
+		return Pickers.of(baseProducer, getStringList(key), getElement(Pickers.weightsName(key))).pick();
+	}
+
+	@Override
+	public LanguageCode getLanguage() {
+		if (language == null) {
+			language = EnumUtils.getEnum(LanguageCode.class, getString(LANGUAGE).toUpperCase());
+		}
+		return language;
+	}
+
+	@Override
+	public String getString(DataKey<String> key) {
+		return resolve(key);
+	}
+
+	@Override
+	public List<String> getStringList(DataKey<List<String>> key) {
+		return resolve(key);
+	}
+
+	@Override
+	public <T> T getValuesOfType(DataKey<Map<String, List<T>>> dataKey, String type) {
+		return picker(dataKey, type).pick();
+	}
+
+	@Override
+	public String getRandomValue(DataKey<List<String>> key) {
+		return picker(key).pick();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Picker<String> picker(DataKey<List<String>> key) {
+		Picker<String> picker = (Picker<String>) cachedPicker(key);
+		if (picker == null) {
+			picker = Pickers.of(baseProducer, resolve(key), weights(key));
+			cachePicker(key, picker);
+		}
+		return picker;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> Picker<T> picker(DataKey<Map<String, List<T>>> key, String type) {
+		Map<String, Picker<T>> pickersByType = (Map<String, Picker<T>>) cachedPicker(key);
+		if (pickersByType == null) {
+			pickersByType = Pickers.byType(baseProducer, resolve(key), weights(key));
+			cachePicker(key, pickersByType);
+		}
+
+		return pickerOfType(pickersByType, type, key);
+	}
+
+	/**
+	 * Forgets elements and pickers found so far, to find them again after data has changed
+	 */
+	protected void clearCache() {
+		resolved = new Object[0];
+		pickers = new Object[0];
+		language = null;
+	}
+
+	private static <T> Picker<T> pickerOfType(Map<String, Picker<T>> pickersByType, String type, Object key) {
+		Picker<T> picker = pickersByType.get(type);
+		if (picker == null) {
+			picker = pickersByType.get(type.toLowerCase());
+		}
+		checkArgument(picker != null, "No values of type %s under key %s", type, key);
+		return picker;
+	}
+
+	private Object weights(DataKey<?> key) {
+		return getElement(Pickers.weightsName(key));
+	}
+
+	private Object cachedPicker(DataKey<?> key) {
+		Object[] pickers = this.pickers;
+		int index = key.getIndex();
+		return index < pickers.length ? pickers[index] : null;
+	}
+
+	private void cachePicker(DataKey<?> key, Object picker) {
+		// read once, clearCache() may replace the array meanwhile
+		Object[] pickers = this.pickers;
+		int index = key.getIndex();
+		if (index >= pickers.length) {
+			pickers = Arrays.copyOf(pickers, DataKey.count());
+			this.pickers = pickers;
+		}
+		pickers[index] = picker;
+	}
+
+	/**
+	 * Finds element for the key only once, next calls take it from the resolved elements array
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> T resolve(DataKey<T> key) {
+		Object[] resolved = this.resolved;
+		int index = key.getIndex();
+		if (index < resolved.length && resolved[index] != null) {
+			return (T) resolved[index];
+		}
+
+		Object element = getData(key.getName(), key.getType());
+		if (index >= resolved.length) {
+			resolved = Arrays.copyOf(resolved, DataKey.count());
+			this.resolved = resolved;
+		}
+		resolved[index] = element;
+		return (T) element;
+	}
+
+	@SuppressWarnings({"unchecked", "ConstantConditions"}) // checked by checkArgument
+	<T> T getData(String key, Class<T> type) {
+		checkArgument(key != null, "key cannot be null");
+		checkArgument(type != null, "type cannot be null");
+
+		Object element = getElement(key);
+		checkArgument(element != null, "No such key: %s", key);
+		checkArgument(type.isAssignableFrom(element.getClass()),
+				"Element under desired key has incorrect type - should be %s", type.getSimpleName());
+
+		return (T) element;
+	}
+}
@@ -0,0 +1,100 @@
+package com.devskiller.jfairy.data;
+
+import java.util.List;
+
+import com.devskiller.jfairy.producer.BaseProducer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link Picker} of weighted values, using alias table built with Vose's method. Every pick takes constant time:
+ * one random int - just like a uniform pick - chooses a column with its high bits and a threshold deciding between
+ * the column value and its alias with its low bits. The low bits give 2^16 levels of probability for up to 2^15
+ * values, and at least 2^10 levels for up to a million values. More levels would make the random range close to
+ * 2^31, where drawing a bounded int often rejects and draws again.
+ */
+final class AliasPicker<T> implements Picker<T> {
+
+	private static final int MAX_LEVEL_BITS = 16;
+
+	private final BaseProducer baseProducer;
+	private final Object[] values;
+	// column threshold (probability of the column value scaled to the levels count) in high bits, alias in low bits
+	private final long[] columns;
+	private final int levelBits;
+	private final int maxRandom;
+
+	AliasPicker(BaseProducer baseProducer, List<T> values, List<?> weights) {
+		int size = values.size();
+		checkArgument(size > 0, "Cannot pick from empty values");
+		checkArgument(weights.size() == size, "Expected %s weights, found %s", size, weights.size());
+		this.baseProducer = baseProducer;
+		this.values = values.toArray();
+		this.columns = new long[size];
+		this.levelBits = Math.min(MAX_LEVEL_BITS,
+				Integer.numberOfTrailingZeros(Integer.highestOneBit(Integer.MAX_VALUE / size)));
+		this.maxRandom = (size << levelBits) - 1;
+		int levels = 1 << levelBits;
+
+		int[] thresholds = new int[size];
+		int[] aliases = new int[size];
+		double[] probabilities = new double[size];
+		double total = 0;
+		for (int i = 0; i < size; i++) {
+			Object weight = weights.get(i);
+			checkArgument(weight instanceof Number && ((Number) weight).doubleValue() >= 0,
+					"Weight %s of %s is not a non-negative number", weight, values.get(i));
+			probabilities[i] = ((Number) weight).doubleValue();
+			total += probabilities[i];
+		}
+		checkArgument(total > 0, "Weights cannot be all zero");
+
+		int[] small = new int[size];
+		int[] large = new int[size];
+		int smallCount = 0;
+		int largeCount = 0;
+		for (int i = 0; i < size; i++) {
+			probabilities[i] = probabilities[i] * size / total;
+			if (probabilities[i] < 1) {
+				small[smallCount++] = i;
+			} else {
+				large[largeCount++] = i;
+			}
+		}
+		while (smallCount > 0 && largeCount > 0) {
+			int less = small[--smallCount];
+			int more = large[--largeCount];
+			thresholds[less] = (int) (probabilities[less] * levels);
+			aliases[less] = more;
+			probabilities[more] = probabilities[more] + probabilities[less] - 1;
+			if (probabilities[more] < 1) {
+				small[smallCount++] = more;
+			} else {
+				large[largeCount++] = more;
+			}
+		}
+		// the rest is (up to rounding errors) always picked from its own column
+		while (largeCount > 0) {
+			thresholds[large[--largeCount]] = levels;
+		}
+		while (smallCount > 0) {
+			thresholds[small[--smallCount]] = levels;
+		}
+		for (int i = 0; i < size; i++) {
+			columns[i] = (long) thresholds[i] << 32 | aliases[i];
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T pick() {
+		int random = baseProducer.randomBetween(0, maxRandom);
+		int column = random >>> levelBits;
+		int level = random & ((1 << levelBits) - 1);
+		long entry = columns[column];
+		// the comparison is unpredictable, so the index is selected without a branch: all bits of the mask are set
+		// when the level reaches the threshold and the alias should be used
+		int aliasMask = ((int) (entry >>> 32) - 1 - level) >> 31;
+		return (T) values[column ^ ((column ^ (int) entry) & aliasMask)];
+	}
+}
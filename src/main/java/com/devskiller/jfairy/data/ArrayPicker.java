@@ -0,0 +1,28 @@
+package com.devskiller.jfairy.data;
+
+import java.util.List;
+
+import com.devskiller.jfairy.producer.BaseProducer;
+
+/**
+ * {@link Picker} over a flat array. Draws exactly like {@link BaseProducer#randomElement(List)}, so the same
+ * random seed gives the same values.
+ */
+final class ArrayPicker<T> implements Picker<T> {
+
+	private final BaseProducer baseProducer;
+	private final Object[] values;
+	private final int maxIndex;
+
+	ArrayPicker(BaseProducer baseProducer, List<T> values) {
+		this.baseProducer = baseProducer;
+		this.values = values.toArray();
+		this.maxIndex = this.values.length - 1;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T pick() {
+		return (T) values[baseProducer.randomBetween(0, maxIndex)];
+	}
+}
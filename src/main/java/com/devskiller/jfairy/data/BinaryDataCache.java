@@ -0,0 +1,80 @@
+package com.devskiller.jfairy.data;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+/**
+ * Process wide cache of binary data sets, so every binary file is read only once per class loader, like YAML
+ * files cached by {@link ParsedDataCache}.
+ * <p>
+ * Binary files are converted from the bundled YAML files only. A data set is not used if there is no binary file
+ * for the data files or if any of the YAML files is overlaid by another file with the same name on the class path
+ * (which {@link MapBasedDataMaster} would merge) - YAML files have to be read then.
+ * </p>
+ */
+final class BinaryDataCache {
+
+	private static final LoadingCache<ClassLoader, ConcurrentMap<String, Optional<BinaryDataSet>>> CACHE =
+			CacheBuilder.newBuilder()
+					.weakKeys()
+					.build(new CacheLoader<ClassLoader, ConcurrentMap<String, Optional<BinaryDataSet>>>() {
+						@Override
+						public ConcurrentMap<String, Optional<BinaryDataSet>> load(ClassLoader classLoader) {
+							return new ConcurrentHashMap<>();
+						}
+					});
+
+	private BinaryDataCache() {
+	}
+
+	/**
+	 * @param classLoader class loader used to find the files
+	 * @param filePrefix  prefix of the data files
+	 * @param language    language code of the data files
+	 * @return data set of the merged data files, or empty if YAML files have to be read
+	 * @throws IOException if binary file cannot be read
+	 */
+	static Optional<BinaryDataSet> get(ClassLoader classLoader, String filePrefix, String language) throws IOException {
+		ConcurrentMap<String, Optional<BinaryDataSet>> dataSets = CACHE.getUnchecked(classLoader);
+		String path = filePrefix + "_" + language + BinaryDataSetConverter.BINARY_FILE_EXTENSION;
+		Optional<BinaryDataSet> dataSet = dataSets.get(path);
+		if (dataSet == null) {
+			dataSet = read(classLoader, filePrefix, language, path);
+			Optional<BinaryDataSet> previous = dataSets.putIfAbsent(path, dataSet);
+			if (previous != null) {
+				dataSet = previous;
+			}
+		}
+		return dataSet;
+	}
+
+	static void clear() {
+		CACHE.invalidateAll();
+	}
+
+	private static Optional<BinaryDataSet> read(ClassLoader classLoader, String filePrefix, String language,
+												String path) throws IOException {
+		if (classLoader.getResource(path) == null
+				|| isOverlaid(classLoader, filePrefix + BinaryDataSetConverter.YAML_FILE_EXTENSION)
+				|| isOverlaid(classLoader, filePrefix + "_" + language + BinaryDataSetConverter.YAML_FILE_EXTENSION)) {
+			return Optional.empty();
+		}
+		return Optional.of(BinaryDataSet.load(classLoader, path));
+	}
+
+	private static boolean isOverlaid(ClassLoader classLoader, String path) throws IOException {
+		Enumeration<URL> resources = classLoader.getResources(path);
+		if (resources.hasMoreElements()) {
+			resources.nextElement();
+		}
+		return resources.hasMoreElements();
+	}
+}
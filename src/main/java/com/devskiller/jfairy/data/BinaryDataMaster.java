@@ -0,0 +1,33 @@
+package com.devskiller.jfairy.data;
+
+import com.devskiller.jfairy.producer.BaseProducer;
+
+/**
+ * {@link DataMaster} backed by a {@link BinaryDataSet}. Picks values the same way as {@link MapBasedDataMaster},
+ * so for the same random seed both generate the same data.
+ */
+public class BinaryDataMaster extends AbstractDataMaster {
+
+	private final BinaryDataSet dataSet;
+
+	public BinaryDataMaster(BaseProducer baseProducer, BinaryDataSet dataSet) {
+		super(baseProducer);
+		this.dataSet = dataSet;
+	}
+
+	/**
+	 * Creates data master reading the same data set, but picking values with another producer
+	 *
+	 * @param baseProducer producer used to pick random values
+	 * @return new data master
+	 */
+	@Override
+	public BinaryDataMaster withBaseProducer(BaseProducer baseProducer) {
+		return new BinaryDataMaster(baseProducer, dataSet);
+	}
+
+	@Override
+	protected Object getElement(String key) {
+		return dataSet.get(key.toLowerCase());
+	}
+}
@@ -0,0 +1,257 @@
+package com.devskiller.jfairy.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+import com.google.common.io.ByteStreams;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Data set read from the precompiled binary format written by {@link BinaryDataSetConverter}.
+ * <p>
+ * File layout (all numbers are big endian ints unless stated otherwise):
+ * </p>
+ * <pre>
+ * MAGIC VERSION
+ * string table: COUNT, COUNT x (LENGTH, LENGTH x UTF-8 byte)
+ * root map node
+ *
+ * node: TYPE (single byte), then
+ *   STRING:      string index
+ *   STRING_LIST: COUNT, COUNT x string index
+ *   INT_LIST:    COUNT, COUNT x value
+ *   MAP:         COUNT, COUNT x (key string index, node)
+ * </pre>
+ * Map keys are stored lower cased. Loading only builds the index of strings and map nodes - lists are views
+ * reading the underlying buffer and strings are decoded on first use. Data set is immutable and thread safe.
+ */
+public final class BinaryDataSet {
+
+	static final int MAGIC = 0x4A464442; // JFDB
+	static final int VERSION = 1;
+
+	static final byte STRING = 1;
+	static final byte STRING_LIST = 2;
+	static final byte INT_LIST = 3;
+	static final byte MAP = 4;
+
+	private final ByteBuffer buffer;
+	private final int[] stringOffsets;
+	private final String[] strings;
+	private final Map<String, Object> root;
+	private int position;
+
+	private BinaryDataSet(ByteBuffer buffer) {
+		this.buffer = buffer;
+		checkArgument(readInt() == MAGIC, "Not a jFairy binary data set");
+		int version = readInt();
+		checkArgument(version == VERSION, "Unsupported binary data set version: %s", version);
+
+		int stringCount = readInt();
+		stringOffsets = new int[stringCount];
+		strings = new String[stringCount];
+		for (int i = 0; i < stringCount; i++) {
+			stringOffsets[i] = position;
+			position += 4 + buffer.getInt(position);
+		}
+
+		checkArgument(buffer.get(position++) == MAP, "Root element has to be a map");
+		root = readMap();
+	}
+
+	/**
+	 * Reads data set from passed buffer. The buffer must not be modified afterwards.
+	 *
+	 * @param buffer buffer containing the whole data set
+	 * @return data set
+	 */
+	public static BinaryDataSet read(ByteBuffer buffer) {
+		return new BinaryDataSet(buffer.duplicate());
+	}
+
+	/**
+	 * Memory maps and reads data set file
+	 *
+	 * @param file data set file
+	 * @return data set
+	 * @throws IOException if file cannot be mapped
+	 */
+	public static BinaryDataSet map(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Reads data set from the class path. Files are memory mapped, resources packed in archives are read
+	 * into memory.
+	 *
+	 * @param classLoader class loader used to find the resource
+	 * @param path        resource path
+	 * @return data set
+	 * @throws IOException              if resource cannot be read
+	 * @throws IllegalArgumentException if resource has not been found
+	 */
+	public static BinaryDataSet load(ClassLoader classLoader, String path) throws IOException {
+		URL resource = classLoader.getResource(path);
+		if (resource == null) {
+			throw new IllegalArgumentException(String.format("File %s was not found on classpath", path));
+		}
+		if ("file".equals(resource.getProtocol())) {
+			try {
+				return map(Paths.get(resource.toURI()));
+			} catch (URISyntaxException e) {
+				throw new IllegalArgumentException(e);
+			}
+		}
+		try (InputStream stream = resource.openStream()) {
+			return read(ByteBuffer.wrap(ByteStreams.toByteArray(stream)));
+		}
+	}
+
+	/**
+	 * Returns data set of the bundled data files with desired prefix and language ({@code filePrefix.yml} merged with
+	 * {@code filePrefix_{langCode}.yml}), read only once per class loader. Binary files are converted from
+	 * the bundled YAML files only, so there is no data set if the binary file is missing or if any YAML file
+	 * is overlaid by another file with the same name on the class path.
+	 *
+	 * @param classLoader class loader used to find the files
+	 * @param filePrefix  prefix of the data files
+	 * @param language    language code of the data files
+	 * @return data set, or empty if YAML files have to be read instead
+	 * @throws IOException if binary file cannot be read
+	 */
+	public static Optional<BinaryDataSet> forDataFiles(ClassLoader classLoader, String filePrefix, String language)
+			throws IOException {
+		return BinaryDataCache.get(classLoader, filePrefix, language);
+	}
+
+	/**
+	 * Returns element for desired (lower cased) key: a {@code String}, a {@code List<String>},
+	 * a {@code List<Integer>} or a {@code Map<String, Object>} of these.
+	 *
+	 * @param key lower cased key
+	 * @return element or {@code null} if there is no such key
+	 */
+	Object get(String key) {
+		return root.get(key);
+	}
+
+	private Map<String, Object> readMap() {
+		int count = readInt();
+		Map<String, Object> map = new HashMap<>(count * 2);
+		for (int i = 0; i < count; i++) {
+			String key = string(readInt());
+			map.put(key, readNode());
+		}
+		return Collections.unmodifiableMap(map);
+	}
+
+	private Object readNode() {
+		byte type = buffer.get(position++);
+		switch (type) {
+			case STRING:
+				return string(readInt());
+			case STRING_LIST:
+				return new StringList(skipList());
+			case INT_LIST:
+				return new IntList(skipList());
+			case MAP:
+				return readMap();
+			default:
+				throw new IllegalArgumentException("Unknown element type: " + type);
+		}
+	}
+
+	private int skipList() {
+		int offset = position;
+		position += 4 + 4 * readInt();
+		return offset;
+	}
+
+	private int readInt() {
+		int value = buffer.getInt(position);
+		position += 4;
+		return value;
+	}
+
+	String string(int index) {
+		String string = strings[index];
+		if (string == null) {
+			int offset = stringOffsets[index];
+			int length = buffer.getInt(offset);
+			byte[] bytes = new byte[length];
+			ByteBuffer source = buffer.duplicate();
+			source.position(offset + 4);
+			source.get(bytes);
+			string = new String(bytes, StandardCharsets.UTF_8);
+			strings[index] = string;
+		}
+		return string;
+	}
+
+	private final class StringList extends AbstractList<String> implements RandomAccess {
+
+		private final int offset;
+		private final int size;
+
+		private StringList(int offset) {
+			this.offset = offset;
+			this.size = buffer.getInt(offset);
+		}
+
+		@Override
+		public String get(int index) {
+			checkElementIndex(index, size);
+			return string(buffer.getInt(offset + 4 + 4 * index));
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+
+	private final class IntList extends AbstractList<Integer> implements RandomAccess {
+
+		private final int offset;
+		private final int size;
+
+		private IntList(int offset) {
+			this.offset = offset;
+			this.size = buffer.getInt(offset);
+		}
+
+		@Override
+		public Integer get(int index) {
+			checkElementIndex(index, size);
+			return buffer.getInt(offset + 4 + 4 * index);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+
+	private static void checkElementIndex(int index, int size) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package com.devskiller.jfairy.data;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * Converts YAML data files into the binary format read by {@link BinaryDataSet}.
+ * <p>
+ * Every {@code prefix_{langCode}.yml} file is merged with {@code prefix.yml} the same way {@link MapBasedDataMaster}
+ * merges them and written as {@code prefix_{langCode}.bin}. It is run during the build for the bundled data files:
+ * </p>
+ * <pre>
+ * BinaryDataSetConverter &lt;source directory&gt; &lt;target directory&gt; [prefix]
+ * </pre>
+ */
+public final class BinaryDataSetConverter {
+
+	static final String BINARY_FILE_EXTENSION = ".bin";
+
+	static final String YAML_FILE_EXTENSION = ".yml";
+
+	private BinaryDataSetConverter() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			throw new IllegalArgumentException("Usage: BinaryDataSetConverter <source directory> <target directory> [prefix]");
+		}
+		convertDirectory(Paths.get(args[0]), Paths.get(args[1]), args.length > 2 ? args[2] : "jfairy");
+	}
+
+	/**
+	 * Converts all language data files with desired prefix found in the source directory
+	 *
+	 * @param sourceDirectory directory with YAML data files
+	 * @param targetDirectory directory for binary data files
+	 * @param prefix          data file prefix
+	 * @throws IOException if any file cannot be read or written
+	 */
+	public static void convertDirectory(Path sourceDirectory, Path targetDirectory, String prefix) throws IOException {
+		Path commonFile = sourceDirectory.resolve(prefix + YAML_FILE_EXTENSION);
+		Files.createDirectories(targetDirectory);
+		try (DirectoryStream<Path> languageFiles = Files.newDirectoryStream(sourceDirectory, prefix + "_*" + YAML_FILE_EXTENSION)) {
+			for (Path languageFile : languageFiles) {
+				String fileName = languageFile.getFileName().toString();
+				String binaryFileName = fileName.substring(0, fileName.length() - YAML_FILE_EXTENSION.length()) + BINARY_FILE_EXTENSION;
+				List<Path> files = new ArrayList<>();
+				if (Files.exists(commonFile)) {
+					files.add(commonFile);
+				}
+				files.add(languageFile);
+				try (OutputStream output = Files.newOutputStream(targetDirectory.resolve(binaryFileName))) {
+					convert(files, output);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Merges YAML data files in the given order and writes them as a binary data set
+	 *
+	 * @param yamlFiles YAML data files, later ones override keys of earlier ones
+	 * @param output    stream to write to
+	 * @throws IOException if any file cannot be read or stream cannot be written
+	 */
+	public static void convert(List<Path> yamlFiles, OutputStream output) throws IOException {
+		Map<String, Object> data = new LinkedHashMap<>();
+		Yaml yaml = new Yaml();
+		for (Path file : yamlFiles) {
+			try (InputStream stream = Files.newInputStream(file)) {
+				data.putAll(lowerCaseKeys(yaml.loadAs(stream, MapBasedDataMaster.Data.class).getData()));
+			}
+		}
+		write(data, output);
+	}
+
+	static void write(Map<String, Object> data, OutputStream output) throws IOException {
+		StringTable strings = new StringTable();
+		strings.collect(data);
+
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+		out.writeInt(BinaryDataSet.MAGIC);
+		out.writeInt(BinaryDataSet.VERSION);
+		out.writeInt(strings.values.size());
+		for (String string : strings.values) {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+		writeNode(data, strings, out);
+		out.flush();
+	}
+
+	private static void writeNode(Object node, StringTable strings, DataOutputStream out) throws IOException {
+		if (node instanceof String) {
+			out.writeByte(BinaryDataSet.STRING);
+			out.writeInt(strings.indexOf((String) node));
+		} else if (node instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) node;
+			out.writeByte(BinaryDataSet.MAP);
+			out.writeInt(map.size());
+			for (Map.Entry<?, ?> entry : map.entrySet()) {
+				out.writeInt(strings.indexOf((String) entry.getKey()));
+				writeNode(entry.getValue(), strings, out);
+			}
+		} else if (node instanceof List) {
+			List<?> list = (List<?>) node;
+			boolean integers = !list.isEmpty() && list.get(0) instanceof Integer;
+			out.writeByte(integers ? BinaryDataSet.INT_LIST : BinaryDataSet.STRING_LIST);
+			out.writeInt(list.size());
+			for (Object element : list) {
+				if (integers) {
+					out.writeInt(checkType(element, Integer.class));
+				} else {
+					out.writeInt(strings.indexOf(checkType(element, String.class)));
+				}
+			}
+		} else {
+			throw unsupported(node);
+		}
+	}
+
+	private static Map<String, Object> lowerCaseKeys(Map<?, ?> map) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		for (Map.Entry<?, ?> entry : map.entrySet()) {
+			Object value = entry.getValue();
+			result.put(((String) entry.getKey()).toLowerCase(), value instanceof Map ? lowerCaseKeys((Map<?, ?>) value) : value);
+		}
+		return result;
+	}
+
+	private static <T> T checkType(Object element, Class<T> type) {
+		if (!type.isInstance(element)) {
+			throw unsupported(element);
+		}
+		return type.cast(element);
+	}
+
+	private static IllegalArgumentException unsupported(Object element) {
+		return new IllegalArgumentException("Unsupported data element: " + element
+				+ (element != null ? " (" + element.getClass().getSimpleName() + ")" : ""));
+	}
+
+	private static final class StringTable {
+
+		private final List<String> values = new ArrayList<>();
+		private final Map<String, Integer> indexes = new LinkedHashMap<>();
+
+		private void collect(Object node) {
+			if (node instanceof String) {
+				add((String) node);
+			} else if (node instanceof Map) {
+				for (Map.Entry<?, ?> entry : ((Map<?, ?>) node).entrySet()) {
+					add((String) entry.getKey());
+					collect(entry.getValue());
+				}
+			} else if (node instanceof List) {
+				for (Object element : (List<?>) node) {
+					collect(element);
+				}
+			}
+		}
+
+		private void add(String value) {
+			if (!indexes.containsKey(value)) {
+				indexes.put(value, values.size());
+				values.add(value);
+			}
+		}
+
+		private int indexOf(String value) {
+			return indexes.get(value);
+		}
+	}
+}
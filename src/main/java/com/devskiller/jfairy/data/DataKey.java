@@ -0,0 +1,127 @@
+package com.devskiller.jfairy.data;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Typed key of a data element.
+ * <p>
+ * Keys are created once, usually as constants, and every key name gets its own index. Data masters resolve a key
+ * once and then find its element with an array index instead of a case insensitive map lookup. Keys are interned:
+ * creating a key with already used name returns the same instance.
+ * </p>
+ *
+ * @param <T> type of the data element
+ */
+public final class DataKey<T> {
+
+	private static final ConcurrentMap<String, DataKey<?>> KEYS = new ConcurrentHashMap<>();
+
+	private final String name;
+	private final String lowerCaseName;
+	private final Class<?> type;
+	private final Class<?> valueType;
+	private final int index;
+
+	private DataKey(String name, String lowerCaseName, Class<?> type, Class<?> valueType, int index) {
+		this.name = name;
+		this.lowerCaseName = lowerCaseName;
+		this.type = type;
+		this.valueType = valueType;
+		this.index = index;
+	}
+
+	/**
+	 * @param name element name
+	 * @return key of a single string element
+	 */
+	public static DataKey<String> string(String name) {
+		return of(name, String.class, String.class);
+	}
+
+	/**
+	 * @param name element name
+	 * @return key of a list of strings
+	 */
+	public static DataKey<List<String>> stringList(String name) {
+		return of(name, List.class, String.class);
+	}
+
+	/**
+	 * Creates key of a map grouping values by type, e.g. first names by sex
+	 *
+	 * @param name      element name
+	 * @param valueType type of the grouped values
+	 * @param <V>       type of the grouped values
+	 * @return key of a map of lists
+	 */
+	public static <V> DataKey<Map<String, List<V>>> typedValues(String name, Class<V> valueType) {
+		return of(name, Map.class, valueType);
+	}
+
+	/**
+	 * Finds key without creating it, so looking up arbitrary names does not grow arrays of keys in data masters
+	 *
+	 * @param name element name
+	 * @return key with the name or {@code null} if it has not been created
+	 */
+	static DataKey<?> find(String name) {
+		checkArgument(name != null, "name cannot be null");
+		return KEYS.get(name.toLowerCase());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> DataKey<T> of(String name, Class<?> type, Class<?> valueType) {
+		checkArgument(name != null, "name cannot be null");
+		String lowerCaseName = name.toLowerCase();
+		DataKey<?> key = KEYS.get(lowerCaseName);
+		if (key == null) {
+			synchronized (KEYS) {
+				key = KEYS.get(lowerCaseName);
+				if (key == null) {
+					key = new DataKey<>(name, lowerCaseName, type, valueType, KEYS.size());
+					KEYS.put(lowerCaseName, key);
+				}
+			}
+		}
+		checkArgument(key.type == type && key.valueType == valueType,
+				"Key %s is already used for other type of elements", name);
+		return (DataKey<T>) key;
+	}
+
+	static int count() {
+		return KEYS.size();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	String getLowerCaseName() {
+		return lowerCaseName;
+	}
+
+	Class<?> getType() {
+		return type;
+	}
+
+	/**
+	 * @return type of a single value - the element itself, list items or grouped values
+	 */
+	public Class<?> getValueType() {
+		return valueType;
+	}
+
+	int getIndex() {
+		return index;
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+}
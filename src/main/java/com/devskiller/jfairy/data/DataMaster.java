@@ -1,6 +1,7 @@
 package com.devskiller.jfairy.data;
 
 import java.util.List;
+import java.util.Map;
 
 import com.devskiller.jfairy.producer.util.LanguageCode;
 
@@ -20,5 +21,42 @@ public interface DataMaster {
 
 	LanguageCode getLanguage();
 
+	default String getString(DataKey<String> key) {
+		return getString(key.getName());
+	}
+
+	default List<String> getStringList(DataKey<List<String>> key) {
+		return getStringList(key.getName());
+	}
+
+	@SuppressWarnings("unchecked")
+	default <T> T getValuesOfType(DataKey<Map<String, List<T>>> dataKey, final String type) {
+		return getValuesOfType(dataKey.getName(), type, (Class<T>) dataKey.getValueType());
+	}
+
+	default String getRandomValue(DataKey<List<String>> key) {
+		return getRandomValue(key.getName());
+	}
+
+	/**
+	 * Values are picked uniformly, unless the data has weights of the values, e.g. element {@code lastNamesWeights}
+	 * with a number for every value of {@code lastNames}.
+	 *
+	 * @param key list element key
+	 * @return picker of random values from the list
+	 */
+	default Picker<String> picker(DataKey<List<String>> key) {
+		return () -> getRandomValue(key);
+	}
+
+	/**
+	 * @param key  grouped values key
+	 * @param type values group, e.g. {@code MALE}
+	 * @param <T>  type of the values
+	 * @return picker of random values of the given type
+	 */
+	default <T> Picker<T> picker(DataKey<Map<String, List<T>>> key, String type) {
+		return () -> getValuesOfType(key, type);
+	}
 
 }
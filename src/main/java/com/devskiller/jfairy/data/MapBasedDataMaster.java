@@ -6,106 +6,64 @@ package com.devskiller.jfairy.data;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.net.URL;
-import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.lang3.EnumUtils;
-import org.yaml.snakeyaml.Yaml;
-
 import com.devskiller.jfairy.producer.BaseProducer;
-import com.devskiller.jfairy.producer.util.LanguageCode;
-
-import static com.google.common.base.Preconditions.checkArgument;
 
 
-public class MapBasedDataMaster implements DataMaster {
+public class MapBasedDataMaster extends AbstractDataMaster {
 
-	public static final String LANGUAGE_TAG = "language";
-	private final BaseProducer baseProducer;
 	private Map<String, Object> dataSource = new CaseInsensitiveMap();
+	// data source is shared with other data masters, so it is copied before reading more resources into it
+	private volatile boolean sharedDataSource;
 
 	@Inject
 	public MapBasedDataMaster(BaseProducer baseProducer) {
-		this.baseProducer = baseProducer;
+		super(baseProducer);
 	}
 
 	/**
-	 * Returns list (null safe) of elements for desired key from dataSource files
+	 * Creates data master sharing data already read by this one, but picking values with passed producer.
+	 * Used to avoid reading the same data files again for every new instance. Resources read later by any of
+	 * the data masters do not change data of the other ones.
 	 *
-	 * @param key desired node key
-	 * @return list of elements for desired key
-	 * @throws IllegalArgumentException if no element for key has been found
+	 * @param baseProducer producer used to pick random values
+	 * @return new data master
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
-	public List<String> getStringList(String key) {
-		return getData(key, List.class);
+	public MapBasedDataMaster withBaseProducer(BaseProducer baseProducer) {
+		MapBasedDataMaster dataMaster = new MapBasedDataMaster(baseProducer);
+		dataMaster.dataSource = dataSource;
+		dataMaster.sharedDataSource = true;
+		sharedDataSource = true;
+		return dataMaster;
 	}
 
-	@SuppressWarnings("unchecked")
-	public <T> T getValuesOfType(String dataKey, final String type, final Class<T> resultClass) {
-		Map<String, List<T>> data = getData(dataKey, Map.class);
-
-		List<T> entries = data.get(type);
-
-		return baseProducer.randomElement(entries);
+	@Override
+	protected Object getElement(String key) {
+		return dataSource.get(key);
 	}
 
 	/**
-	 * Returns element (null safe) for desired key from dataSource files
+	 * Merges data from all resources with desired path into this data master. Each resource is parsed only once
+	 * per class loader, next data masters share already parsed data.
 	 *
-	 * @param key desired node key
-	 * @return string element for desired key
-	 * @throws IllegalArgumentException if no element for key has been found
+	 * @param path resource path
+	 * @throws IOException if any resource cannot be read
 	 */
-	@Override
-	public String getString(String key) {
-		return getData(key, String.class);
-	}
-
-	@Override
-	public String getRandomValue(String key) {
-		return baseProducer.randomElement(getStringList(key));
-	}
-
-	@Override
-	public LanguageCode getLanguage() {
-		return EnumUtils.getEnum(LanguageCode.class, getString(LANGUAGE_TAG).toUpperCase());
-	}
-
-	@SuppressWarnings({"unchecked", "ConstantConditions"}) // checked by checkArgument
-	<T> T getData(String key, Class<T> type) {
-		checkArgument(key != null, "key cannot be null");
-		checkArgument(type != null, "type cannot be null");
-
-		Object element = dataSource.get(key);
-		checkArgument(element != null, "No such key: %s", key);
-		checkArgument(type.isAssignableFrom(element.getClass()),
-				"Element under desired key has incorrect type - should be %s", type.getSimpleName());
-
-		return (T) element;
-	}
-
 	//fixme - should be package-private
 	public void readResources(String path) throws IOException {
-		Enumeration<URL> resources =
-				getClass().getClassLoader().getResources(path);
-
-		if (!resources.hasMoreElements()) {
-			throw new IllegalArgumentException(String.format("File %s was not found on classpath", path));
+		if (sharedDataSource) {
+			CaseInsensitiveMap copy = new CaseInsensitiveMap();
+			copy.putAll(dataSource);
+			dataSource = copy;
+			sharedDataSource = false;
 		}
-
-		Yaml yaml = new Yaml();
-		while (resources.hasMoreElements()) {
-			appendData(yaml.loadAs(resources.nextElement().openStream(), Data.class));
+		for (Map<String, Object> data : ParsedDataCache.get(getClass().getClassLoader(), path)) {
+			dataSource.putAll(data);
 		}
-	}
-
-	private void appendData(Data dataMaster) {
-		dataSource.putAll(dataMaster.getData());
+		clearCache();
 	}
 
 	public static class Data {
@@ -122,7 +80,7 @@ public class MapBasedDataMaster implements DataMaster {
 			this.data = data;
 		}
 
-		private Map<String, Object> getData() {
+		Map<String, Object> getData() {
 			return data;
 		}
 	}
@@ -153,7 +111,16 @@ public class MapBasedDataMaster implements DataMaster {
 		@Override
 		@SuppressWarnings("unchecked")
 		public Object get(Object key) {
-			return super.get(((String) key).toLowerCase());
+			return super.get(lowerCase((String) key));
+		}
+
+		private static String lowerCase(String key) {
+			for (int i = 0; i < key.length(); i++) {
+				if (Character.isUpperCase(key.charAt(i))) {
+					return key.toLowerCase();
+				}
+			}
+			return key;
 		}
 	}
 }
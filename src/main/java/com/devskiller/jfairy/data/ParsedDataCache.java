@@ -0,0 +1,105 @@
+package com.devskiller.jfairy.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * Process wide cache of parsed data files, so every file is parsed only once no matter how many
+ * {@link MapBasedDataMaster} instances read it.
+ * <p>
+ * Parsed data is frozen (all maps and lists are unmodifiable), so it can be shared safely between threads.
+ * Entries are weakly keyed by class loader - data read by a redeployed application is released together with
+ * its class loader.
+ * </p>
+ */
+final class ParsedDataCache {
+
+	private static final LoadingCache<ClassLoader, ConcurrentMap<String, List<Map<String, Object>>>> CACHE =
+			CacheBuilder.newBuilder()
+					.weakKeys()
+					.build(new CacheLoader<ClassLoader, ConcurrentMap<String, List<Map<String, Object>>>>() {
+						@Override
+						public ConcurrentMap<String, List<Map<String, Object>>> load(ClassLoader classLoader) {
+							return new ConcurrentHashMap<>();
+						}
+					});
+
+	private ParsedDataCache() {
+	}
+
+	/**
+	 * Returns parsed content of all resources with desired path, in the class path order
+	 *
+	 * @param classLoader class loader used to find the resources
+	 * @param path        resource path
+	 * @return frozen data of every found resource
+	 * @throws IOException              if any resource cannot be read
+	 * @throws IllegalArgumentException if no resource has been found
+	 */
+	static List<Map<String, Object>> get(ClassLoader classLoader, String path) throws IOException {
+		ConcurrentMap<String, List<Map<String, Object>>> resources = CACHE.getUnchecked(classLoader);
+		List<Map<String, Object>> data = resources.get(path);
+		if (data == null) {
+			data = parse(classLoader, path);
+			List<Map<String, Object>> previous = resources.putIfAbsent(path, data);
+			if (previous != null) {
+				data = previous;
+			}
+		}
+		return data;
+	}
+
+	static void clear() {
+		CACHE.invalidateAll();
+	}
+
+	private static List<Map<String, Object>> parse(ClassLoader classLoader, String path) throws IOException {
+		Enumeration<URL> resources = classLoader.getResources(path);
+
+		if (!resources.hasMoreElements()) {
+			throw new IllegalArgumentException(String.format("File %s was not found on classpath", path));
+		}
+
+		Yaml yaml = new Yaml();
+		List<Map<String, Object>> data = new ArrayList<>();
+		while (resources.hasMoreElements()) {
+			try (InputStream stream = resources.nextElement().openStream()) {
+				data.add(freeze(yaml.loadAs(stream, MapBasedDataMaster.Data.class).getData()));
+			}
+		}
+		return Collections.unmodifiableList(data);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T freeze(T element) {
+		if (element instanceof Map) {
+			Map<Object, Object> frozen = new LinkedHashMap<>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) element).entrySet()) {
+				frozen.put(entry.getKey(), freeze(entry.getValue()));
+			}
+			return (T) Collections.unmodifiableMap(frozen);
+		}
+		if (element instanceof List) {
+			List<Object> frozen = new ArrayList<>(((List<?>) element).size());
+			for (Object item : (List<?>) element) {
+				frozen.add(freeze(item));
+			}
+			return (T) Collections.unmodifiableList(frozen);
+		}
+		return element;
+	}
+}
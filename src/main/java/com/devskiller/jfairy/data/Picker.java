@@ -0,0 +1,17 @@
+package com.devskiller.jfairy.data;
+
+/**
+ * Picks random values of one data element. Obtained once from {@link DataMaster}, so every pick skips
+ * the key lookup.
+ *
+ * @param <T> type of the picked values
+ */
+@FunctionalInterface
+public interface Picker<T> {
+
+	/**
+	 * @return random value
+	 */
+	T pick();
+
+}
@@ -0,0 +1,73 @@
+package com.devskiller.jfairy.data;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.devskiller.jfairy.producer.BaseProducer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Creates pickers for data masters. Values are picked uniformly, unless the data has an element named like
+ * the values element with {@link #WEIGHTS_SUFFIX} suffix, e.g. {@code lastNamesWeights} for {@code lastNames}.
+ * Weights element has the same shape as the values element, with a number for every value.
+ */
+final class Pickers {
+
+	static final String WEIGHTS_SUFFIX = "weights";
+
+	private Pickers() {
+	}
+
+	/**
+	 * @param key values key
+	 * @return lower cased name of the weights element
+	 */
+	static String weightsName(DataKey<?> key) {
+		return key.getLowerCaseName() + WEIGHTS_SUFFIX;
+	}
+
+	/**
+	 * @param name values element name
+	 * @return lower cased name of the weights element
+	 */
+	static String weightsName(String name) {
+		return name.toLowerCase() + WEIGHTS_SUFFIX;
+	}
+
+	/**
+	 * @param weights weights element or null
+	 */
+	static <T> Picker<T> of(BaseProducer baseProducer, List<T> values, Object weights) {
+		if (weights == null) {
+			return new ArrayPicker<>(baseProducer, values);
+		}
+		checkArgument(weights instanceof List, "Weights of a list should be a list, found %s", weights);
+		return new AliasPicker<>(baseProducer, values, (List<?>) weights);
+	}
+
+	/**
+	 * Creates pickers of grouped values, found by both lower and upper case type
+	 *
+	 * @param weights weights element or null
+	 */
+	static <T> Map<String, Picker<T>> byType(BaseProducer baseProducer, Map<String, List<T>> valuesByType,
+											 Object weights) {
+		checkArgument(weights == null || weights instanceof Map,
+				"Weights of grouped values should be grouped too, found %s", weights);
+		Map<?, ?> weightsByType = (Map<?, ?>) weights;
+		Map<String, Picker<T>> pickers = new HashMap<>();
+		for (Map.Entry<String, List<T>> entry : valuesByType.entrySet()) {
+			String type = entry.getKey().toLowerCase();
+			if (!pickers.containsKey(type)) {
+				Object typeWeights = weightsByType != null ? weightsByType.get(type) : null;
+				Picker<T> picker = of(baseProducer, entry.getValue(), typeWeights);
+				pickers.put(type, picker);
+				pickers.put(type.toUpperCase(), picker);
+			}
+		}
+		return Collections.unmodifiableMap(pickers);
+	}
+}
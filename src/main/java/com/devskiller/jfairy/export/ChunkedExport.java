@@ -0,0 +1,187 @@
+package com.devskiller.jfairy.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import com.devskiller.jfairy.Fairy;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Export of records generated in contiguous chunks by a fork join pool. Every chunk is generated from a random stream
+ * derived from the export seed and the chunk position (see {@link Fairy#streamRange}) and encoded into its own
+ * temporary file, and the files are transferred into the destination in order, so the result does not depend on
+ * the number of threads. Only a few chunks per thread are generated ahead of the transferred one, which bounds
+ * the temporary files.
+ *
+ * @param <T> type of exported records
+ */
+final class ChunkedExport<T> {
+
+	private static final int CHUNKS_AHEAD_PER_THREAD = 2;
+
+	private final Fairy fairy;
+	private final Function<Fairy, Supplier<T>> pipeline;
+	private final long seed;
+	private final RecordEncoder<T> encoder;
+	private final long rowCount;
+	private final int chunkSize;
+	private final int parallelism;
+	// null for the default temporary directory
+	private final Path temporaryDirectory;
+
+	ChunkedExport(Fairy fairy, Function<Fairy, Supplier<T>> pipeline, long seed, RecordEncoder<T> encoder,
+				  long rowCount, int chunkSize, int parallelism, Path temporaryDirectory) {
+		this.fairy = fairy;
+		this.pipeline = pipeline;
+		this.seed = seed;
+		this.encoder = encoder;
+		this.rowCount = rowCount;
+		this.chunkSize = chunkSize;
+		this.parallelism = parallelism;
+		this.temporaryDirectory = temporaryDirectory;
+	}
+
+	ExportSummary export(WritableByteChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(RecordExporter.BUFFER_SIZE);
+		RecordBuffer encoded = new RecordBuffer();
+		encoder.writeHeader(encoded);
+		long bytes = RecordExporter.write(encoded, buffer, channel);
+		RecordExporter.flush(buffer, channel);
+
+		long chunks = (rowCount + chunkSize - 1) / chunkSize;
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		Deque<Chunk> pending = new ArrayDeque<>();
+		try {
+			long submitted = 0;
+			for (long chunk = 0; chunk < chunks; chunk++) {
+				while (submitted < chunks && pending.size() < parallelism * CHUNKS_AHEAD_PER_THREAD) {
+					pending.add(submit(pool, submitted++));
+				}
+				bytes += pending.remove().transferTo(channel);
+			}
+		} finally {
+			pool.shutdownNow();
+			awaitTermination(pool);
+			for (Chunk chunk : pending) {
+				Files.deleteIfExists(chunk.file);
+			}
+		}
+
+		encoded.reset();
+		encoder.writeTrailer(rowCount, encoded);
+		bytes += RecordExporter.write(encoded, buffer, channel);
+		RecordExporter.flush(buffer, channel);
+		return new ExportSummary(rowCount, bytes);
+	}
+
+	private Chunk submit(ForkJoinPool pool, long chunk) throws IOException {
+		Path file = temporaryDirectory != null
+				? Files.createTempFile(temporaryDirectory, "jfairy-export", ".chunk")
+				: Files.createTempFile("jfairy-export", ".chunk");
+		long from = chunk * chunkSize;
+		long to = Math.min(from + chunkSize, rowCount);
+		ForkJoinTask<Long> task = pool.submit(() -> {
+			try {
+				return write(from, to, file);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		return new Chunk(file, task);
+	}
+
+	/**
+	 * Generates and encodes records of the range into the file
+	 *
+	 * @return number of written bytes
+	 */
+	private long write(long from, long to, Path file) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(RecordExporter.BUFFER_SIZE);
+		RecordBuffer encoded = new RecordBuffer();
+		long bytes = 0;
+		try (FileChannel channel = FileChannel.open(file, WRITE, TRUNCATE_EXISTING);
+			 Stream<T> records = fairy.streamRange(seed, from, to, pipeline)) {
+			Iterator<T> iterator = records.iterator();
+			for (long index = from; iterator.hasNext(); index++) {
+				encoded.reset();
+				// indexes in the whole file, e.g. to split SQL statements the same way
+				encoder.writeRecord(iterator.next(), index, encoded);
+				bytes += RecordExporter.write(encoded, buffer, channel);
+			}
+			RecordExporter.flush(buffer, channel);
+		}
+		return bytes;
+	}
+
+	private static void awaitTermination(ForkJoinPool pool) {
+		try {
+			pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static final class Chunk {
+
+		private final Path file;
+		private final ForkJoinTask<Long> task;
+
+		private Chunk(Path file, ForkJoinTask<Long> task) {
+			this.file = file;
+			this.task = task;
+		}
+
+		/**
+		 * Waits for the chunk, transfers it into the channel and deletes its file, also when the chunk has failed
+		 *
+		 * @return number of transferred bytes
+		 */
+		private long transferTo(WritableByteChannel channel) throws IOException {
+			try {
+				long size = join();
+				try (FileChannel source = FileChannel.open(file, READ)) {
+					long position = 0;
+					while (position < size) {
+						position += source.transferTo(position, size - position, channel);
+					}
+				}
+				return size;
+			} finally {
+				Files.deleteIfExists(file);
+			}
+		}
+
+		/**
+		 * @return number of bytes written into the file
+		 */
+		private long join() throws IOException {
+			try {
+				return task.join();
+			} catch (RuntimeException e) {
+				// join rethrows a failure of another thread as its copy, caused by the original
+				Throwable failure = e.getCause() != null && e.getCause().getClass() == e.getClass() ? e.getCause() : e;
+				if (failure instanceof UncheckedIOException) {
+					throw ((UncheckedIOException) failure).getCause();
+				}
+				throw (RuntimeException) failure;
+			}
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package com.devskiller.jfairy.export;
+
+/**
+ * Formats of exported files, all encoded as UTF-8
+ */
+public enum ExportFormat {
+
+	/**
+	 * Comma separated values with a header line, fields are quoted only when needed
+	 */
+	CSV {
+		@Override
+		<T> RecordEncoder<T> encoder(ExportSchema<T> schema, int rowsPerStatement) {
+			return new RecordEncoder.Csv<>(schema);
+		}
+	},
+
+	/**
+	 * JSON object per line
+	 */
+	JSON_LINES {
+		@Override
+		<T> RecordEncoder<T> encoder(ExportSchema<T> schema, int rowsPerStatement) {
+			return new RecordEncoder.JsonLines<>(schema);
+		}
+	},
+
+	/**
+	 * SQL {@code INSERT} statements into the schema table, with many rows per statement
+	 */
+	SQL {
+		@Override
+		<T> RecordEncoder<T> encoder(ExportSchema<T> schema, int rowsPerStatement) {
+			return new RecordEncoder.Sql<>(schema, rowsPerStatement);
+		}
+	};
+
+	abstract <T> RecordEncoder<T> encoder(ExportSchema<T> schema, int rowsPerStatement);
+}
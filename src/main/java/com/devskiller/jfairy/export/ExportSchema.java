@@ -0,0 +1,156 @@
+package com.devskiller.jfairy.export;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import com.devskiller.jfairy.producer.company.Company;
+import com.devskiller.jfairy.producer.payment.CreditCard;
+import com.devskiller.jfairy.producer.payment.IBAN;
+import com.devskiller.jfairy.producer.person.Address;
+import com.devskiller.jfairy.producer.person.Person;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Flat columns of exported records: a table name used by SQL {@code INSERT} statements and named columns.
+ * Column values may be null, numbers (written without quotes), {@link LocalDate}s or any other objects
+ * written as their {@code toString()}. Nested objects, like company of a person, are flattened into columns
+ * with a prefix, so fields missing in a person generated only with some fields are written as nulls.
+ *
+ * @param <T> type of exported records
+ */
+public final class ExportSchema<T> {
+
+	private static final Pattern COLUMN_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+	public static final ExportSchema<Person> PERSON = ExportSchema.<Person>builder("person")
+			.column("first_name", Person::getFirstName)
+			.column("middle_name", Person::getMiddleName)
+			.column("last_name", Person::getLastName)
+			.column("email", Person::getEmail)
+			.column("username", Person::getUsername)
+			.column("password", Person::getPassword)
+			.column("sex", Person::getSex)
+			.column("telephone_number", Person::getTelephoneNumber)
+			.column("date_of_birth", Person::getDateOfBirth)
+			.column("age", person -> person.getGeneratedAge().isPresent() ? person.getGeneratedAge().getAsInt() : null)
+			.column("national_identity_card_number", Person::getNationalIdentityCardNumber)
+			.column("national_identification_number", Person::getNationalIdentificationNumber)
+			.column("passport_number", Person::getPassportNumber)
+			.column("company_name", person -> company(person, Company::getName))
+			.column("company_domain", person -> company(person, Company::getDomain))
+			.column("company_email", Person::getCompanyEmail)
+			.column("street", person -> address(person, Address::getStreet))
+			.column("street_number", person -> address(person, Address::getStreetNumber))
+			.column("apartment_number", person -> address(person, Address::getApartmentNumber))
+			.column("postal_code", person -> address(person, Address::getPostalCode))
+			.column("city", person -> address(person, Address::getCity))
+			.column("nationality", person -> person.getNationality() != null
+					? person.getNationality().getCode() : null)
+			.build();
+
+	public static final ExportSchema<Company> COMPANY = ExportSchema.<Company>builder("company")
+			.column("name", Company::getName)
+			.column("domain", Company::getDomain)
+			.column("email", Company::getEmail)
+			.column("url", Company::getUrl)
+			.column("vat_identification_number", Company::getVatIdentificationNumber)
+			.build();
+
+	// lambdas, as IBAN in a method reference would be this constant
+	public static final ExportSchema<IBAN> IBAN = ExportSchema.<IBAN>builder("iban")
+			.column("iban_number", iban -> iban.getIbanNumber())
+			.column("country", iban -> iban.getCountry())
+			.column("bank_code", iban -> iban.getBankCode())
+			.column("branch_code", iban -> iban.getBranchCode())
+			.column("account_number", iban -> iban.getAccountNumber())
+			.column("check_digit", iban -> iban.getCheckDigit())
+			.column("national_check_digit", iban -> iban.getNationalCheckDigit())
+			.column("account_type", iban -> iban.getAccountType())
+			.column("owner_account_type", iban -> iban.getOwnerAccountType())
+			.column("identification_number", iban -> iban.getIdentificationNumber())
+			.column("bban", iban -> iban.getBban())
+			.build();
+
+	public static final ExportSchema<CreditCard> CREDIT_CARD = ExportSchema.<CreditCard>builder("credit_card")
+			.column("vendor", CreditCard::getVendor)
+			.column("card_number", CreditCard::getCardNumber)
+			.column("cvv", CreditCard::getCvv)
+			.column("expiry_date", card -> card.getExpiryDate().toLocalDate())
+			.build();
+
+	private final String table;
+	private final List<String> columnNames;
+	private final List<Function<? super T, ?>> columnValues;
+
+	private ExportSchema(String table, List<String> columnNames, List<Function<? super T, ?>> columnValues) {
+		this.table = table;
+		this.columnNames = Collections.unmodifiableList(new ArrayList<>(columnNames));
+		this.columnValues = new ArrayList<>(columnValues);
+	}
+
+	/**
+	 * @param table name of the table in SQL statements
+	 */
+	public static <T> Builder<T> builder(String table) {
+		return new Builder<>(table);
+	}
+
+	public String getTable() {
+		return table;
+	}
+
+	public List<String> getColumnNames() {
+		return columnNames;
+	}
+
+	int getColumnCount() {
+		return columnNames.size();
+	}
+
+	Object getValue(T record, int column) {
+		return columnValues.get(column).apply(record);
+	}
+
+	private static Object company(Person person, Function<Company, String> field) {
+		return person.getCompany() != null ? field.apply(person.getCompany()) : null;
+	}
+
+	private static Object address(Person person, Function<Address, String> field) {
+		return person.getAddress() != null ? field.apply(person.getAddress()) : null;
+	}
+
+	public static final class Builder<T> {
+
+		private final String table;
+		private final List<String> columnNames = new ArrayList<>();
+		private final List<Function<? super T, ?>> columnValues = new ArrayList<>();
+
+		private Builder(String table) {
+			checkArgument(COLUMN_NAME.matcher(table).matches(), "Invalid table name %s", table);
+			this.table = table;
+		}
+
+		/**
+		 * @param name  column name, letters, digits and underscores
+		 * @param value value of the column for a record
+		 */
+		public Builder<T> column(String name, Function<? super T, ?> value) {
+			checkArgument(COLUMN_NAME.matcher(name).matches(), "Invalid column name %s", name);
+			checkArgument(!columnNames.contains(name), "Duplicate column %s", name);
+			columnNames.add(name);
+			columnValues.add(checkNotNull(value));
+			return this;
+		}
+
+		public ExportSchema<T> build() {
+			checkArgument(!columnNames.isEmpty(), "Schema %s has no columns", table);
+			return new ExportSchema<>(table, columnNames, columnValues);
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.devskiller.jfairy.export;
+
+/**
+ * Number of records and bytes written by an export
+ */
+public final class ExportSummary {
+
+	private final long rows;
+	private final long bytes;
+
+	ExportSummary(long rows, long bytes) {
+		this.rows = rows;
+		this.bytes = bytes;
+	}
+
+	public long getRows() {
+		return rows;
+	}
+
+	public long getBytes() {
+		return bytes;
+	}
+
+	@Override
+	public String toString() {
+		return rows + " rows, " + bytes + " bytes";
+	}
+}
@@ -0,0 +1,267 @@
+package com.devskiller.jfairy.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import com.devskiller.jfairy.producer.company.Company;
+import com.devskiller.jfairy.producer.payment.IBAN;
+import com.devskiller.jfairy.producer.person.Address;
+import com.devskiller.jfairy.producer.person.Person;
+
+/**
+ * Encodes persons, companies, addresses and IBANs as UTF-8 JSON objects, with company and address nested in
+ * the person. Properties are named like the getters, and missing values or objects are nulls. Property names are
+ * encoded once, and values are encoded straight from their chars into a reused buffer, which is copied into
+ * the destination in one piece - without reflection or an intermediate JSON String.
+ * <p>
+ * Encoder keeps its buffer between calls, so it should not be shared between threads.
+ * </p>
+ */
+public final class JsonEncoder {
+
+	private static final byte[] NULL = ascii("null");
+	private static final byte[] URL_PREFIX = ascii("\"http://www.");
+
+	private static final byte[][] PERSON_KEYS = keys("firstName", "middleName", "lastName", "email", "username",
+			"password", "sex", "telephoneNumber", "dateOfBirth", "age", "nationalIdentityCardNumber",
+			"nationalIdentificationNumber", "passportNumber", "company", "companyEmail", "address", "nationality");
+
+	private static final byte[][] COMPANY_KEYS = keys("name", "domain", "email", "url", "vatIdentificationNumber");
+
+	private static final byte[][] ADDRESS_KEYS = keys("street", "streetNumber", "apartmentNumber", "postalCode",
+			"city");
+
+	private static final byte[][] IBAN_KEYS = keys("ibanNumber", "country", "bankCode", "branchCode",
+			"accountNumber", "checkDigit", "nationalCheckDigit", "accountType", "ownerAccountType",
+			"identificationNumber", "bban");
+
+	private final RecordBuffer encoded = new RecordBuffer();
+
+	/**
+	 * @return number of written bytes
+	 */
+	public int encode(Person person, OutputStream out) throws IOException {
+		encoded.reset();
+		writePerson(person);
+		return writeTo(out);
+	}
+
+	/**
+	 * Writes the JSON at the position of the buffer, or nothing if it does not fit
+	 *
+	 * @return number of written bytes
+	 * @throws BufferOverflowException if the JSON does not fit in the remaining bytes
+	 */
+	public int encode(Person person, ByteBuffer buffer) {
+		encoded.reset();
+		writePerson(person);
+		return writeTo(buffer);
+	}
+
+	public int encode(Company company, OutputStream out) throws IOException {
+		encoded.reset();
+		writeCompany(company);
+		return writeTo(out);
+	}
+
+	public int encode(Company company, ByteBuffer buffer) {
+		encoded.reset();
+		writeCompany(company);
+		return writeTo(buffer);
+	}
+
+	public int encode(Address address, OutputStream out) throws IOException {
+		encoded.reset();
+		writeAddress(address);
+		return writeTo(out);
+	}
+
+	public int encode(Address address, ByteBuffer buffer) {
+		encoded.reset();
+		writeAddress(address);
+		return writeTo(buffer);
+	}
+
+	public int encode(IBAN iban, OutputStream out) throws IOException {
+		encoded.reset();
+		writeIban(iban);
+		return writeTo(out);
+	}
+
+	public int encode(IBAN iban, ByteBuffer buffer) {
+		encoded.reset();
+		writeIban(iban);
+		return writeTo(buffer);
+	}
+
+	private int writeTo(OutputStream out) throws IOException {
+		encoded.writeTo(out);
+		return encoded.length();
+	}
+
+	private int writeTo(ByteBuffer buffer) {
+		if (encoded.length() > buffer.remaining()) {
+			throw new BufferOverflowException();
+		}
+		return encoded.copyTo(buffer, 0);
+	}
+
+	private void writePerson(Person person) {
+		encoded.write(PERSON_KEYS[0]);
+		writeString(person.getFirstName());
+		encoded.write(PERSON_KEYS[1]);
+		writeString(person.getMiddleName());
+		encoded.write(PERSON_KEYS[2]);
+		writeString(person.getLastName());
+		encoded.write(PERSON_KEYS[3]);
+		writeString(person.getEmail());
+		encoded.write(PERSON_KEYS[4]);
+		writeString(person.getUsername());
+		encoded.write(PERSON_KEYS[5]);
+		writeString(person.getPassword());
+		encoded.write(PERSON_KEYS[6]);
+		writeString(person.getSex() != null ? person.getSex().name() : null);
+		encoded.write(PERSON_KEYS[7]);
+		writeString(person.getTelephoneNumber());
+		encoded.write(PERSON_KEYS[8]);
+		writeDate(person.getDateOfBirth());
+		encoded.write(PERSON_KEYS[9]);
+		if (person.getGeneratedAge().isPresent()) {
+			encoded.writeLong(person.getGeneratedAge().getAsInt());
+		} else {
+			encoded.write(NULL);
+		}
+		encoded.write(PERSON_KEYS[10]);
+		writeString(person.getNationalIdentityCardNumber());
+		encoded.write(PERSON_KEYS[11]);
+		writeString(person.getNationalIdentificationNumber());
+		encoded.write(PERSON_KEYS[12]);
+		writeString(person.getPassportNumber());
+		encoded.write(PERSON_KEYS[13]);
+		writeCompany(person.getCompany());
+		encoded.write(PERSON_KEYS[14]);
+		writeString(person.getCompanyEmail());
+		encoded.write(PERSON_KEYS[15]);
+		writeAddress(person.getAddress());
+		encoded.write(PERSON_KEYS[16]);
+		// country code, like the nationality column of ExportSchema.PERSON
+		writeString(person.getNationality() != null ? person.getNationality().getCode() : null);
+		encoded.write('}');
+	}
+
+	private void writeCompany(Company company) {
+		if (company == null) {
+			encoded.write(NULL);
+			return;
+		}
+		encoded.write(COMPANY_KEYS[0]);
+		writeString(company.getName());
+		encoded.write(COMPANY_KEYS[1]);
+		writeString(company.getDomain());
+		encoded.write(COMPANY_KEYS[2]);
+		writeString(company.getEmail());
+		encoded.write(COMPANY_KEYS[3]);
+		writeUrl(company.getDomain());
+		encoded.write(COMPANY_KEYS[4]);
+		writeString(company.getVatIdentificationNumber());
+		encoded.write('}');
+	}
+
+	private void writeAddress(Address address) {
+		if (address == null) {
+			encoded.write(NULL);
+			return;
+		}
+		encoded.write(ADDRESS_KEYS[0]);
+		writeString(address.getStreet());
+		encoded.write(ADDRESS_KEYS[1]);
+		writeString(address.getStreetNumber());
+		encoded.write(ADDRESS_KEYS[2]);
+		writeString(address.getApartmentNumber());
+		encoded.write(ADDRESS_KEYS[3]);
+		writeString(address.getPostalCode());
+		encoded.write(ADDRESS_KEYS[4]);
+		writeString(address.getCity());
+		encoded.write('}');
+	}
+
+	private void writeIban(IBAN iban) {
+		if (iban == null) {
+			encoded.write(NULL);
+			return;
+		}
+		encoded.write(IBAN_KEYS[0]);
+		writeString(iban.getIbanNumber());
+		encoded.write(IBAN_KEYS[1]);
+		writeString(iban.getCountry());
+		encoded.write(IBAN_KEYS[2]);
+		writeString(iban.getBankCode());
+		encoded.write(IBAN_KEYS[3]);
+		writeString(iban.getBranchCode());
+		encoded.write(IBAN_KEYS[4]);
+		writeString(iban.getAccountNumber());
+		encoded.write(IBAN_KEYS[5]);
+		writeString(iban.getCheckDigit());
+		encoded.write(IBAN_KEYS[6]);
+		writeString(iban.getNationalCheckDigit());
+		encoded.write(IBAN_KEYS[7]);
+		writeString(iban.getAccountType());
+		encoded.write(IBAN_KEYS[8]);
+		writeString(iban.getOwnerAccountType());
+		encoded.write(IBAN_KEYS[9]);
+		writeString(iban.getIdentificationNumber());
+		encoded.write(IBAN_KEYS[10]);
+		writeString(iban.getBban());
+		encoded.write('}');
+	}
+
+	private void writeString(String value) {
+		if (value == null) {
+			encoded.write(NULL);
+		} else {
+			encoded.writeJson(value);
+		}
+	}
+
+	/**
+	 * Writes URL like {@link Company#getUrl()}, without concatenating it
+	 */
+	private void writeUrl(String domain) {
+		if (domain == null) {
+			encoded.write(NULL);
+		} else {
+			encoded.write(URL_PREFIX);
+			encoded.writeJsonContent(domain);
+			encoded.write('"');
+		}
+	}
+
+	private void writeDate(LocalDate value) {
+		if (value == null) {
+			encoded.write(NULL);
+		} else {
+			encoded.write('"');
+			encoded.writeDate(value);
+			encoded.write('"');
+		}
+	}
+
+	/**
+	 * @return '{' or ',' followed by the quoted name and ':' for every name
+	 */
+	private static byte[][] keys(String... names) {
+		byte[][] keys = new byte[names.length][];
+		for (int i = 0; i < names.length; i++) {
+			keys[i] = ascii((i == 0 ? "{\"" : ",\"") + names[i] + "\":");
+		}
+		return keys;
+	}
+
+	private static byte[] ascii(String text) {
+		return text.getBytes(StandardCharsets.US_ASCII);
+	}
+}
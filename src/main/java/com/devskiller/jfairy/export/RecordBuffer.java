@@ -0,0 +1,256 @@
+package com.devskiller.jfairy.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer for one encoded record, reused for all records. Text is encoded as UTF-8 straight from
+ * the chars, escaped for the target format on the way, so no intermediate String or byte array is created.
+ */
+final class RecordBuffer {
+
+	private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+	private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+	// JSON escape of a char is at most 6 bytes, UTF-8 encoding at most 3 bytes per char
+	private static final int MAX_BYTES_PER_CHAR = 6;
+
+	private byte[] bytes = new byte[512];
+	private int length;
+
+	void reset() {
+		length = 0;
+	}
+
+	int length() {
+		return length;
+	}
+
+	/**
+	 * Copies the part of the record starting at the offset which fits in the buffer
+	 *
+	 * @return number of copied bytes
+	 */
+	int copyTo(ByteBuffer buffer, int offset) {
+		int count = Math.min(buffer.remaining(), length - offset);
+		buffer.put(bytes, offset, count);
+		return count;
+	}
+
+	void writeTo(OutputStream out) throws IOException {
+		out.write(bytes, 0, length);
+	}
+
+	void write(int b) {
+		ensureCapacity(1);
+		bytes[length++] = (byte) b;
+	}
+
+	void write(byte[] b) {
+		ensureCapacity(b.length);
+		System.arraycopy(b, 0, bytes, length, b.length);
+		length += b.length;
+	}
+
+	void writeLong(long value) {
+		if (value == Long.MIN_VALUE) {
+			write(MIN_LONG);
+			return;
+		}
+		ensureCapacity(20);
+		if (value < 0) {
+			bytes[length++] = '-';
+			value = -value;
+		}
+		int end = length + digits(value);
+		int position = end;
+		do {
+			bytes[--position] = (byte) ('0' + value % 10);
+			value /= 10;
+		} while (value != 0);
+		length = end;
+	}
+
+	private static int digits(long value) {
+		int digits = 1;
+		while (value >= 10) {
+			value /= 10;
+			digits++;
+		}
+		return digits;
+	}
+
+	/**
+	 * Writes date in ISO-8601 format, like {@link LocalDate#toString()}
+	 */
+	void writeDate(LocalDate date) {
+		int year = date.getYear();
+		if (year < 0 || year > 9999) {
+			writeText(date.toString());
+			return;
+		}
+		ensureCapacity(10);
+		writeDigits(year, 4);
+		bytes[length++] = '-';
+		writeDigits(date.getMonthValue(), 2);
+		bytes[length++] = '-';
+		writeDigits(date.getDayOfMonth(), 2);
+	}
+
+	private void writeDigits(int value, int count) {
+		for (int i = length + count - 1; i >= length; i--) {
+			bytes[i] = (byte) ('0' + value % 10);
+			value /= 10;
+		}
+		length += count;
+	}
+
+	/**
+	 * Writes text as it is
+	 */
+	void writeText(CharSequence text) {
+		int count = text.length();
+		ensureCapacity(count * MAX_BYTES_PER_CHAR);
+		for (int i = 0; i < count; ) {
+			i = encode(text, i);
+		}
+	}
+
+	/**
+	 * Writes CSV field, quoted only if it contains a separator, a quote or a line break
+	 */
+	void writeCsv(CharSequence text) {
+		int count = text.length();
+		boolean quoted = false;
+		for (int i = 0; i < count && !quoted; i++) {
+			char c = text.charAt(i);
+			quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+		if (!quoted) {
+			writeText(text);
+			return;
+		}
+		ensureCapacity(count * MAX_BYTES_PER_CHAR + 2);
+		bytes[length++] = '"';
+		for (int i = 0; i < count; ) {
+			if (text.charAt(i) == '"') {
+				bytes[length++] = '"';
+			}
+			i = encode(text, i);
+		}
+		bytes[length++] = '"';
+	}
+
+	/**
+	 * Writes quoted JSON string
+	 */
+	void writeJson(CharSequence text) {
+		write('"');
+		writeJsonContent(text);
+		write('"');
+	}
+
+	/**
+	 * Writes escaped content of JSON string, without quotes
+	 */
+	void writeJsonContent(CharSequence text) {
+		int count = text.length();
+		ensureCapacity(count * MAX_BYTES_PER_CHAR);
+		int i = 0;
+		// ASCII without escapes, the usual data
+		while (i < count) {
+			char c = text.charAt(i);
+			if (c < 0x20 || c >= 0x80 || c == '"' || c == '\\') {
+				break;
+			}
+			bytes[length++] = (byte) c;
+			i++;
+		}
+		while (i < count) {
+			char c = text.charAt(i);
+			if (c >= 0x20 && c != '"' && c != '\\') {
+				i = encode(text, i);
+				continue;
+			}
+			bytes[length++] = '\\';
+			switch (c) {
+				case '"':
+				case '\\':
+					bytes[length++] = (byte) c;
+					break;
+				case '\n':
+					bytes[length++] = 'n';
+					break;
+				case '\r':
+					bytes[length++] = 'r';
+					break;
+				case '\t':
+					bytes[length++] = 't';
+					break;
+				default:
+					bytes[length++] = 'u';
+					bytes[length++] = '0';
+					bytes[length++] = '0';
+					bytes[length++] = HEX[c >> 4];
+					bytes[length++] = HEX[c & 0xf];
+			}
+			i++;
+		}
+	}
+
+	/**
+	 * Writes SQL string literal
+	 */
+	void writeSql(CharSequence text) {
+		int count = text.length();
+		ensureCapacity(count * MAX_BYTES_PER_CHAR + 2);
+		bytes[length++] = '\'';
+		for (int i = 0; i < count; ) {
+			if (text.charAt(i) == '\'') {
+				bytes[length++] = '\'';
+			}
+			i = encode(text, i);
+		}
+		bytes[length++] = '\'';
+	}
+
+	/**
+	 * Encodes char (or surrogate pair) at the index, capacity has to be ensured by the caller
+	 *
+	 * @return index of the next char
+	 */
+	private int encode(CharSequence text, int index) {
+		char c = text.charAt(index);
+		if (c < 0x80) {
+			bytes[length++] = (byte) c;
+		} else if (c < 0x800) {
+			bytes[length++] = (byte) (0xc0 | c >> 6);
+			bytes[length++] = (byte) (0x80 | c & 0x3f);
+		} else if (!Character.isSurrogate(c)) {
+			bytes[length++] = (byte) (0xe0 | c >> 12);
+			bytes[length++] = (byte) (0x80 | c >> 6 & 0x3f);
+			bytes[length++] = (byte) (0x80 | c & 0x3f);
+		} else if (Character.isHighSurrogate(c) && index + 1 < text.length()
+				&& Character.isLowSurrogate(text.charAt(index + 1))) {
+			int codePoint = Character.toCodePoint(c, text.charAt(index + 1));
+			bytes[length++] = (byte) (0xf0 | codePoint >> 18);
+			bytes[length++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+			bytes[length++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+			bytes[length++] = (byte) (0x80 | codePoint & 0x3f);
+			return index + 2;
+		} else {
+			// unpaired surrogate, replaced like by String.getBytes
+			bytes[length++] = '?';
+		}
+		return index + 1;
+	}
+
+	private void ensureCapacity(int count) {
+		if (length + count > bytes.length) {
+			bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+		}
+	}
+}
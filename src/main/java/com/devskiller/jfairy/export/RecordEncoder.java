@@ -0,0 +1,233 @@
+package com.devskiller.jfairy.export;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Encodes records of a schema in one of {@link ExportFormat}s. Column names and other fixed parts are encoded once,
+ * when the encoder is created.
+ *
+ * @param <T> type of encoded records
+ */
+abstract class RecordEncoder<T> {
+
+	protected final ExportSchema<T> schema;
+
+	RecordEncoder(ExportSchema<T> schema) {
+		this.schema = schema;
+	}
+
+	/**
+	 * Writes the beginning of the file, before any record
+	 */
+	void writeHeader(RecordBuffer out) {
+	}
+
+	/**
+	 * @param index index of the record in the file
+	 */
+	abstract void writeRecord(T record, long index, RecordBuffer out);
+
+	/**
+	 * Writes the end of the file, after all records
+	 *
+	 * @param count number of written records
+	 */
+	void writeTrailer(long count, RecordBuffer out) {
+	}
+
+	/**
+	 * @return maximum length of the trailer
+	 */
+	int getMaxTrailerLength() {
+		return 0;
+	}
+
+	final void writeValue(Object value, RecordBuffer out) {
+		if (value == null) {
+			writeNull(out);
+		} else if (value instanceof Integer || value instanceof Long || value instanceof Short
+				|| value instanceof Byte) {
+			out.writeLong(((Number) value).longValue());
+		} else if (value instanceof Number) {
+			out.writeText(value.toString());
+		} else if (value instanceof LocalDate) {
+			writeDate((LocalDate) value, out);
+		} else if (value instanceof CharSequence) {
+			writeString((CharSequence) value, out);
+		} else {
+			writeString(value.toString(), out);
+		}
+	}
+
+	abstract void writeNull(RecordBuffer out);
+
+	abstract void writeString(CharSequence value, RecordBuffer out);
+
+	abstract void writeDate(LocalDate value, RecordBuffer out);
+
+	private static byte[] ascii(String text) {
+		return text.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Comma separated values with a header line. Nulls are empty fields.
+	 */
+	static final class Csv<T> extends RecordEncoder<T> {
+
+		private final byte[] header;
+
+		Csv(ExportSchema<T> schema) {
+			super(schema);
+			this.header = ascii(String.join(",", schema.getColumnNames()) + "\n");
+		}
+
+		@Override
+		void writeHeader(RecordBuffer out) {
+			out.write(header);
+		}
+
+		@Override
+		void writeRecord(T record, long index, RecordBuffer out) {
+			int columns = schema.getColumnCount();
+			for (int i = 0; i < columns; i++) {
+				if (i > 0) {
+					out.write(',');
+				}
+				writeValue(schema.getValue(record, i), out);
+			}
+			out.write('\n');
+		}
+
+		@Override
+		void writeNull(RecordBuffer out) {
+		}
+
+		@Override
+		void writeString(CharSequence value, RecordBuffer out) {
+			out.writeCsv(value);
+		}
+
+		@Override
+		void writeDate(LocalDate value, RecordBuffer out) {
+			out.writeDate(value);
+		}
+	}
+
+	/**
+	 * JSON object per line
+	 */
+	static final class JsonLines<T> extends RecordEncoder<T> {
+
+		private static final byte[] NULL = ascii("null");
+
+		// '{' or ',' followed by the quoted name and ':'
+		private final byte[][] keys;
+
+		JsonLines(ExportSchema<T> schema) {
+			super(schema);
+			this.keys = new byte[schema.getColumnCount()][];
+			for (int i = 0; i < keys.length; i++) {
+				keys[i] = ascii((i == 0 ? "{\"" : ",\"") + schema.getColumnNames().get(i) + "\":");
+			}
+		}
+
+		@Override
+		void writeRecord(T record, long index, RecordBuffer out) {
+			for (int i = 0; i < keys.length; i++) {
+				out.write(keys[i]);
+				writeValue(schema.getValue(record, i), out);
+			}
+			out.write('}');
+			out.write('\n');
+		}
+
+		@Override
+		void writeNull(RecordBuffer out) {
+			out.write(NULL);
+		}
+
+		@Override
+		void writeString(CharSequence value, RecordBuffer out) {
+			out.writeJson(value);
+		}
+
+		@Override
+		void writeDate(LocalDate value, RecordBuffer out) {
+			out.write('"');
+			out.writeDate(value);
+			out.write('"');
+		}
+	}
+
+	/**
+	 * {@code INSERT} statements with many rows each
+	 */
+	static final class Sql<T> extends RecordEncoder<T> {
+
+		private static final byte[] NULL = ascii("NULL");
+		private static final byte[] ROW_SEPARATOR = ascii(",\n");
+		private static final byte[] STATEMENT_END = ascii(";\n");
+
+		private final byte[] insert;
+		private final int rowsPerStatement;
+
+		Sql(ExportSchema<T> schema, int rowsPerStatement) {
+			super(schema);
+			this.insert = ascii("INSERT INTO " + schema.getTable() + " ("
+					+ String.join(", ", schema.getColumnNames()) + ") VALUES\n");
+			this.rowsPerStatement = rowsPerStatement;
+		}
+
+		@Override
+		void writeRecord(T record, long index, RecordBuffer out) {
+			if (index % rowsPerStatement == 0) {
+				if (index > 0) {
+					out.write(STATEMENT_END);
+				}
+				out.write(insert);
+			} else {
+				out.write(ROW_SEPARATOR);
+			}
+			out.write('(');
+			int columns = schema.getColumnCount();
+			for (int i = 0; i < columns; i++) {
+				if (i > 0) {
+					out.write(',');
+					out.write(' ');
+				}
+				writeValue(schema.getValue(record, i), out);
+			}
+			out.write(')');
+		}
+
+		@Override
+		void writeTrailer(long count, RecordBuffer out) {
+			if (count > 0) {
+				out.write(STATEMENT_END);
+			}
+		}
+
+		@Override
+		int getMaxTrailerLength() {
+			return STATEMENT_END.length;
+		}
+
+		@Override
+		void writeNull(RecordBuffer out) {
+			out.write(NULL);
+		}
+
+		@Override
+		void writeString(CharSequence value, RecordBuffer out) {
+			out.writeSql(value);
+		}
+
+		@Override
+		void writeDate(LocalDate value, RecordBuffer out) {
+			out.write('\'');
+			out.writeDate(value);
+			out.write('\'');
+		}
+	}
+}
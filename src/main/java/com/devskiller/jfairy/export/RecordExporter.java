@@ -0,0 +1,278 @@
+package com.devskiller.jfairy.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.devskiller.jfairy.Fairy;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Streams generated records into CSV, JSON Lines or SQL files. Records are generated on a separate thread, while
+ * the exporting thread encodes them straight into UTF-8 bytes and writes them through a reused direct buffer, so
+ * memory use does not depend on the number of records. The export stops after the desired number of records,
+ * or before the record which would make the file larger than the desired size.
+ * <pre>
+ * RecordExporter.builder(ExportSchema.PERSON, fairy.personGenerator())
+ *     .withFormat(ExportFormat.CSV)
+ *     .withRowCount(1_000_000)
+ *     .build()
+ *     .export(Paths.get("persons.csv"));
+ * </pre>
+ * The supplier is called only by the generator thread, in order, so a file is the same as records generated
+ * in a loop for the same random seed. Neither the supplier nor the Fairy creating it can be used by anything else
+ * during the export.
+ * <p>
+ * Records of a Fairy pipeline can be exported by several threads instead. Every thread generates and encodes
+ * a contiguous chunk of records into a temporary file, with random values derived from the export seed and
+ * the chunk position, and the chunks are then transferred into the file in order. The file is the same for any
+ * number of threads, and for the same seed.
+ * </p>
+ * <pre>
+ * RecordExporter.builder(ExportSchema.PERSON, fairy, Fairy::personGenerator)
+ *     .withRowCount(10_000_000)
+ *     .withRandomSeed(42)
+ *     .build()
+ *     .export(Paths.get("persons.csv"));
+ * </pre>
+ *
+ * @param <T> type of exported records
+ */
+public final class RecordExporter<T> {
+
+	static final int BUFFER_SIZE = 1 << 16;
+	public static final int DEFAULT_ROWS_PER_STATEMENT = 1000;
+	public static final int DEFAULT_CHUNK_SIZE = 64 * Fairy.STREAM_CHUNK_SIZE;
+
+	private final ExportSchema<T> schema;
+	private final Supplier<? extends T> records;
+	private final Fairy fairy;
+	private final Function<Fairy, Supplier<T>> pipeline;
+	private final long seed;
+	private final int parallelism;
+	private final int chunkSize;
+	private final ExportFormat format;
+	private final long rowCount;
+	private final long maxBytes;
+	private final int rowsPerStatement;
+
+	private RecordExporter(Builder<T> builder) {
+		this.schema = builder.schema;
+		this.records = builder.records;
+		this.fairy = builder.fairy;
+		this.pipeline = builder.pipeline;
+		this.seed = builder.seed != null ? builder.seed
+				: builder.fairy != null ? builder.fairy.baseProducer().randomBetween(Long.MIN_VALUE, Long.MAX_VALUE) : 0;
+		this.parallelism = builder.parallelism;
+		this.chunkSize = builder.chunkSize;
+		this.format = builder.format;
+		this.rowCount = builder.rowCount;
+		this.maxBytes = builder.maxBytes;
+		this.rowsPerStatement = builder.rowsPerStatement;
+	}
+
+	/**
+	 * @param schema  columns of the records
+	 * @param records supplier of the records, like {@code fairy.personGenerator()} or {@code fairy::iban}
+	 */
+	public static <T> Builder<T> builder(ExportSchema<T> schema, Supplier<? extends T> records) {
+		return new Builder<>(schema, checkNotNull(records), null, null);
+	}
+
+	/**
+	 * Builder of an export generating chunks of records on several threads
+	 *
+	 * @param schema   columns of the records
+	 * @param fairy    Fairy providing forks for the threads
+	 * @param pipeline creates a supplier of the records from a fork, like {@code Fairy::personGenerator}
+	 */
+	public static <T> Builder<T> builder(ExportSchema<T> schema, Fairy fairy, Function<Fairy, Supplier<T>> pipeline) {
+		return new Builder<>(schema, null, checkNotNull(fairy), checkNotNull(pipeline));
+	}
+
+	/**
+	 * Exports records into the file, replacing its content
+	 */
+	public ExportSummary export(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, CREATE, TRUNCATE_EXISTING, WRITE)) {
+			// chunks are written next to the file, where they can be transferred without copying between devices
+			return export(channel, path.toAbsolutePath().getParent());
+		}
+	}
+
+	/**
+	 * Exports records into the channel, leaving it open
+	 */
+	public ExportSummary export(WritableByteChannel channel) throws IOException {
+		return export(channel, null);
+	}
+
+	private ExportSummary export(WritableByteChannel channel, Path temporaryDirectory) throws IOException {
+		RecordEncoder<T> encoder = format.encoder(schema, rowsPerStatement);
+		if (fairy != null) {
+			return new ChunkedExport<>(fairy, pipeline, seed, encoder, rowCount, chunkSize, parallelism,
+					temporaryDirectory).export(channel);
+		}
+		// a direct buffer is written to a channel without copying it into a temporary direct buffer
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		RecordBuffer encoded = new RecordBuffer();
+		long limit = maxBytes - encoder.getMaxTrailerLength();
+		encoder.writeHeader(encoded);
+		if (encoded.length() > limit) {
+			return new ExportSummary(0, 0);
+		}
+		long bytes = write(encoded, buffer, channel);
+		long rows = 0;
+		if (rowCount > 0) {
+			try (RecordPipeline<T> pipeline = new RecordPipeline<>(records, rowCount)) {
+				while (rows < rowCount) {
+					encoded.reset();
+					encoder.writeRecord(pipeline.next(), rows, encoded);
+					if (bytes + encoded.length() > limit) {
+						break;
+					}
+					bytes += write(encoded, buffer, channel);
+					rows++;
+				}
+			}
+		}
+		encoded.reset();
+		encoder.writeTrailer(rows, encoded);
+		bytes += write(encoded, buffer, channel);
+		flush(buffer, channel);
+		return new ExportSummary(rows, bytes);
+	}
+
+	static int write(RecordBuffer encoded, ByteBuffer buffer, WritableByteChannel channel)
+			throws IOException {
+		int length = encoded.length();
+		int offset = 0;
+		while (offset < length) {
+			if (!buffer.hasRemaining()) {
+				flush(buffer, channel);
+			}
+			offset += encoded.copyTo(buffer, offset);
+		}
+		return length;
+	}
+
+	static void flush(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	public static final class Builder<T> {
+
+		private final ExportSchema<T> schema;
+		private final Supplier<? extends T> records;
+		private final Fairy fairy;
+		private final Function<Fairy, Supplier<T>> pipeline;
+		private ExportFormat format = ExportFormat.CSV;
+		private long rowCount = Long.MAX_VALUE;
+		private long maxBytes = Long.MAX_VALUE;
+		private int rowsPerStatement = DEFAULT_ROWS_PER_STATEMENT;
+		private Long seed;
+		private int parallelism = Runtime.getRuntime().availableProcessors();
+		private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+		private Builder(ExportSchema<T> schema, Supplier<? extends T> records, Fairy fairy,
+						Function<Fairy, Supplier<T>> pipeline) {
+			this.schema = checkNotNull(schema);
+			this.records = records;
+			this.fairy = fairy;
+			this.pipeline = pipeline;
+		}
+
+		/**
+		 * @param format file format, CSV by default
+		 */
+		public Builder<T> withFormat(ExportFormat format) {
+			this.format = checkNotNull(format);
+			return this;
+		}
+
+		/**
+		 * @param rowCount number of exported records
+		 */
+		public Builder<T> withRowCount(long rowCount) {
+			checkArgument(rowCount >= 0, "Row count should not be negative, found %s", rowCount);
+			this.rowCount = rowCount;
+			return this;
+		}
+
+		/**
+		 * Records are generated ahead of encoding them and the size of the next record is known only after encoding
+		 * it, so when the file reaches the size, the supplier may have been called for up to 1024 records
+		 * (a few batches of the generator thread) more than exported. The generator is stopped as soon as the size is
+		 * reached.
+		 *
+		 * @param maxBytes maximum size of the file, only whole records are written
+		 */
+		public Builder<T> withMaxBytes(long maxBytes) {
+			checkArgument(maxBytes >= 0, "File size should not be negative, found %s", maxBytes);
+			this.maxBytes = maxBytes;
+			return this;
+		}
+
+		/**
+		 * @param rowsPerStatement number of rows of a single SQL {@code INSERT} statement
+		 */
+		public Builder<T> withRowsPerStatement(int rowsPerStatement) {
+			checkArgument(rowsPerStatement > 0, "Rows per statement should be positive, found %s", rowsPerStatement);
+			this.rowsPerStatement = rowsPerStatement;
+			return this;
+		}
+
+		/**
+		 * @param seed seed of the exported records, random by default
+		 */
+		public Builder<T> withRandomSeed(long seed) {
+			checkState(fairy != null, "Random seed is supported only by export of a Fairy pipeline");
+			this.seed = seed;
+			return this;
+		}
+
+		/**
+		 * @param parallelism number of threads generating chunks, the number of processors by default
+		 */
+		public Builder<T> withParallelism(int parallelism) {
+			checkState(fairy != null, "Parallelism is supported only by export of a Fairy pipeline");
+			checkArgument(parallelism > 0, "Parallelism should be positive, found %s", parallelism);
+			this.parallelism = parallelism;
+			return this;
+		}
+
+		/**
+		 * @param chunkSize number of records generated by a thread at once, a multiple of
+		 *                  {@link Fairy#STREAM_CHUNK_SIZE}
+		 */
+		public Builder<T> withChunkSize(int chunkSize) {
+			checkState(fairy != null, "Chunk size is supported only by export of a Fairy pipeline");
+			checkArgument(chunkSize > 0 && chunkSize % Fairy.STREAM_CHUNK_SIZE == 0,
+					"Chunk size should be a positive multiple of %s, found %s", Fairy.STREAM_CHUNK_SIZE, chunkSize);
+			this.chunkSize = chunkSize;
+			return this;
+		}
+
+		public RecordExporter<T> build() {
+			checkArgument(rowCount != Long.MAX_VALUE || maxBytes != Long.MAX_VALUE,
+					"Row count or file size is required");
+			checkArgument(fairy == null || (rowCount != Long.MAX_VALUE && maxBytes == Long.MAX_VALUE),
+					"Export of a Fairy pipeline requires row count and does not support file size");
+			return new RecordExporter<>(this);
+		}
+	}
+}
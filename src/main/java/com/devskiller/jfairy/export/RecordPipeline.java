@@ -0,0 +1,114 @@
+package com.devskiller.jfairy.export;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Generates records on its own thread, ahead of the thread encoding them. Records are passed in batches of
+ * {@link #BATCH_SIZE}, and the batches are recycled, so the generator is stopped when it gets
+ * {@link #QUEUED_BATCHES} ahead. Closing the pipeline stops the generator before the next record, but records
+ * already generated ahead are dropped.
+ *
+ * @param <T> type of generated records
+ */
+final class RecordPipeline<T> implements AutoCloseable {
+
+	static final int BATCH_SIZE = 256;
+	static final int QUEUED_BATCHES = 4;
+
+	private final BlockingQueue<Batch> full = new ArrayBlockingQueue<>(QUEUED_BATCHES + 1);
+	private final BlockingQueue<Batch> empty = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+	private final Thread thread;
+	private volatile boolean closed;
+
+	private Batch current;
+	private int position;
+
+	/**
+	 * @param records supplier used only by the generator thread until the pipeline is closed
+	 * @param count   number of records to generate, {@code Long.MAX_VALUE} to generate until closed
+	 */
+	RecordPipeline(Supplier<? extends T> records, long count) {
+		for (int i = 0; i < QUEUED_BATCHES; i++) {
+			empty.add(new Batch(new Object[BATCH_SIZE]));
+		}
+		thread = new Thread(() -> generate(records, count), "jfairy-export");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private void generate(Supplier<? extends T> records, long count) {
+		long remaining = count;
+		try {
+			while (remaining > 0 && !closed) {
+				Batch batch = empty.take();
+				int size = (int) Math.min(BATCH_SIZE, remaining);
+				for (int i = 0; i < size; i++) {
+					if (closed) {
+						return;
+					}
+					batch.records[i] = records.get();
+				}
+				batch.size = size;
+				remaining -= size;
+				full.put(batch);
+			}
+		} catch (InterruptedException e) {
+			// closed by the consumer
+		} catch (RuntimeException | Error e) {
+			Batch failed = new Batch(new Object[0]);
+			failed.failure = e;
+			full.add(failed);
+		}
+	}
+
+	/**
+	 * @return the next record, blocking until it is generated
+	 */
+	@SuppressWarnings("unchecked")
+	T next() throws InterruptedIOException {
+		if (current == null || position == current.size) {
+			if (current != null) {
+				empty.add(current);
+			}
+			try {
+				current = full.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for generated records");
+			}
+			position = 0;
+			if (current.failure != null) {
+				Throwables.throwIfUnchecked(current.failure);
+				throw new IllegalStateException(current.failure);
+			}
+		}
+		return (T) current.records[position++];
+	}
+
+	/**
+	 * Stops the generator and waits until it stops using the supplier
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		thread.interrupt();
+		Uninterruptibles.joinUninterruptibly(thread);
+	}
+
+	private static final class Batch {
+
+		private final Object[] records;
+		private int size;
+		private Throwable failure;
+
+		private Batch(Object[] records) {
+			this.records = records;
+		}
+	}
+}
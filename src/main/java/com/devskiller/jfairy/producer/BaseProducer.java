@@ -5,11 +5,19 @@ import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
 
 @Singleton
 public class BaseProducer {
 
+	// numerify patterns usually come from data files, the limit only guards against unique patterns
+	private static final int MAX_CACHED_TEMPLATES = 256;
+
 	private final RandomGenerator random;
+	private final ConcurrentMap<String, Template> numerifyTemplates = new ConcurrentHashMap<>();
 
 	@Inject
 	public BaseProducer(RandomGenerator random) {
@@ -58,7 +66,13 @@ public class BaseProducer {
 	}
 
 	/**
-	 * Creates new list being random subset of the passed list
+	 * Creates new list being random subset of the passed list. Elements are sampled without shuffling the whole
+	 * list, so the time depends only on the count and the passed list is not modified. When the count is greater
+	 * than the list size, all elements are repeated in random order as many times as needed.
+	 * <p>
+	 * With {@link RandomGenerator#withLegacySampling()} the passed list is shuffled in place like in previous
+	 * versions.
+	 * </p>
 	 *
 	 * @param <T>      element generic type
 	 * @param elements list to process
@@ -66,6 +80,50 @@ public class BaseProducer {
 	 * @return sublist of the elements list
 	 */
 	public <T> List<T> randomElements(List<T> elements, int count) {
+		checkArgument(count == 0 || !elements.isEmpty(), "Cannot pick %s elements from an empty list", count);
+		if (random.isLegacySampling()) {
+			return shuffledElements(elements, count);
+		}
+		List<T> randomElements = new ArrayList<>(count);
+		while (randomElements.size() < count) {
+			sample(elements, Math.min(count - randomElements.size(), elements.size()), randomElements);
+		}
+		return randomElements;
+	}
+
+	/**
+	 * Partial Fisher-Yates shuffle of indexes, with swapped indexes kept in a small hash table instead of
+	 * a copy of the whole list.
+	 */
+	private <T> void sample(List<T> elements, int count, List<T> result) {
+		int size = elements.size();
+		int capacity = Integer.highestOneBit(Math.max(count, 1) * 4 - 1) << 1;
+		int mask = capacity - 1;
+		// keys are stored plus one, so 0 marks an empty slot
+		int[] keys = new int[capacity];
+		int[] values = new int[capacity];
+		for (int i = 0; i < count; i++) {
+			int j = randomBetween(i, size - 1);
+			int iSlot = slot(keys, mask, i);
+			int jSlot = slot(keys, mask, j);
+			int atI = keys[iSlot] != 0 ? values[iSlot] : i;
+			int atJ = keys[jSlot] != 0 ? values[jSlot] : j;
+			result.add(elements.get(atJ));
+			// position i is never read again, only j keeps the swapped index
+			keys[jSlot] = j + 1;
+			values[jSlot] = atI;
+		}
+	}
+
+	private static int slot(int[] keys, int mask, int key) {
+		int slot = (key * 0x9E3779B9) & mask;
+		while (keys[slot] != 0 && keys[slot] != key + 1) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private <T> List<T> shuffledElements(List<T> elements, int count) {
 		if (elements.size() >= count) {
 			return extractRandomList(elements, count);
 		} else {
@@ -163,7 +221,15 @@ public class BaseProducer {
 	 * @return text with replaced '#' characters
 	 */
 	public String numerify(String numberString) {
-		return numerify(numberString, 0, 9);
+		Template template = numerifyTemplates.get(numberString);
+		if (template == null) {
+			if (numerifyTemplates.size() >= MAX_CACHED_TEMPLATES) {
+				return numerify(numberString, 0, 9);
+			}
+			template = new Template(this, random.isThreadSafe(), numberString, false);
+			numerifyTemplates.putIfAbsent(numberString, template);
+		}
+		return template.generate();
 	}
 
 	/**
@@ -185,18 +251,34 @@ public class BaseProducer {
 	 * @return text with replaced '#' and '?' characters
 	 */
 	public String bothify(String string) {
-		return letterify(numerify(string));
+		char[] chars = string.toCharArray();
+		replaceSymbolWithCharsFromTo(chars, '#', '0', '9');
+		replaceSymbolWithCharsFromTo(chars, '?', 'a', 'z');
+		return new String(chars);
+	}
+
+	/**
+	 * Compiles pattern for repeated use. Generated values are the same as from {@link #bothify(String)}, but
+	 * the pattern is not scanned again for every value.
+	 *
+	 * @param pattern text with {@code '#'} and {@code '?'} placeholders
+	 * @return template replacing '#' with random digits and '?' with random chars from [a - z] range
+	 */
+	public Template compile(String pattern) {
+		return new Template(this, random.isThreadSafe(), pattern, true);
 	}
 
 	private String replaceSymbolWithCharsFromTo(String string, char symbol, char from, char to) {
-		StringBuilder result = new StringBuilder();
-		for (char aChar : string.toCharArray()) {
-			if (aChar == symbol) {
-				result.append(randomBetween(from, to));
-			} else {
-				result.append(aChar);
+		char[] chars = string.toCharArray();
+		replaceSymbolWithCharsFromTo(chars, symbol, from, to);
+		return new String(chars);
+	}
+
+	private void replaceSymbolWithCharsFromTo(char[] chars, char symbol, char from, char to) {
+		for (int i = 0; i < chars.length; i++) {
+			if (chars[i] == symbol) {
+				chars[i] = randomBetween(from, to);
 			}
 		}
-		return result.toString();
 	}
 }
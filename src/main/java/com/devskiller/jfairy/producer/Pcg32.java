@@ -0,0 +1,58 @@
+package com.devskiller.jfairy.producer;
+
+import org.apache.commons.math3.random.BitsStreamGenerator;
+
+/**
+ * PCG32 generator (64 bit state, XSH RR output), see <a href="http://www.pcg-random.org/">http://www.pcg-random.org/</a>.
+ * Uses the default stream of the reference implementation.
+ */
+final class Pcg32 extends BitsStreamGenerator {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final long MULTIPLIER = 6364136223846793005L;
+	private static final long INCREMENT = 1442695040888963407L;
+
+	private long state;
+
+	Pcg32(long seed) {
+		setSeed(seed);
+	}
+
+	@Override
+	public void setSeed(int seed) {
+		setSeed((long) seed);
+	}
+
+	@Override
+	public void setSeed(int[] seed) {
+		setSeed(Seeds.combine(seed));
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		state = 0;
+		nextInt();
+		state += seed;
+		nextInt();
+		clear();
+	}
+
+	@Override
+	protected int next(int bits) {
+		return nextInt() >>> (32 - bits);
+	}
+
+	@Override
+	public int nextInt() {
+		long oldState = state;
+		state = oldState * MULTIPLIER + INCREMENT;
+		int xorShifted = (int) (((oldState >>> 18) ^ oldState) >>> 27);
+		return Integer.rotateRight(xorShifted, (int) (oldState >>> 59));
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		return nextInt() < 0;
+	}
+}
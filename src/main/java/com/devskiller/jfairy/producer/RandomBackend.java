@@ -0,0 +1,81 @@
+package com.devskiller.jfairy.producer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.math3.random.JDKRandomGenerator;
+import org.apache.commons.math3.random.Well19937c;
+
+/**
+ * Source of random numbers used by {@link RandomGenerator}.
+ * <p>
+ * {@link #JDK} is the default and keeps data generated for a random seed the same as in previous versions.
+ * The other backends are faster, non-cryptographic generators - each of them gives the same data for the same seed,
+ * but different than the other backends.
+ * </p>
+ */
+public enum RandomBackend {
+
+	/**
+	 * {@link java.util.Random} through commons-math, synchronized on every draw
+	 */
+	JDK {
+		@Override
+		org.apache.commons.math3.random.RandomGenerator create() {
+			return new JDKRandomGenerator();
+		}
+
+		@Override
+		org.apache.commons.math3.random.RandomGenerator create(long seed) {
+			JDKRandomGenerator random = new JDKRandomGenerator();
+			random.setSeed(seed);
+			return random;
+		}
+	},
+
+	/**
+	 * {@link java.util.SplittableRandom} (SplitMix64)
+	 */
+	SPLITTABLE_RANDOM {
+		@Override
+		org.apache.commons.math3.random.RandomGenerator create(long seed) {
+			return new SplittableRandomGenerator(seed);
+		}
+	},
+
+	/**
+	 * xoroshiro128++ by David Blackman and Sebastiano Vigna
+	 */
+	XOROSHIRO128PP {
+		@Override
+		org.apache.commons.math3.random.RandomGenerator create(long seed) {
+			return new Xoroshiro128PlusPlus(seed);
+		}
+	},
+
+	/**
+	 * PCG32 (XSH RR variant) by Melissa O'Neill
+	 */
+	PCG32 {
+		@Override
+		org.apache.commons.math3.random.RandomGenerator create(long seed) {
+			return new Pcg32(seed);
+		}
+	},
+
+	/**
+	 * WELL19937c from commons-math
+	 */
+	WELL19937C {
+		@Override
+		org.apache.commons.math3.random.RandomGenerator create(long seed) {
+			return new Well19937c(seed);
+		}
+	};
+
+	org.apache.commons.math3.random.RandomGenerator create() {
+		return create(ThreadLocalRandom.current().nextLong());
+	}
+
+	abstract org.apache.commons.math3.random.RandomGenerator create(long seed);
+
+}
@@ -3,41 +3,203 @@ package com.devskiller.jfairy.producer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
-import org.apache.commons.math3.random.JDKRandomGenerator;
 import org.apache.commons.math3.random.RandomDataGenerator;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 public class RandomGenerator {
 
-	private final RandomDataGenerator randomDataGenerator;
+	private final RandomBackend backend;
+	// null in thread safe mode
+	private final Source source;
+	private final ThreadLocal<Source> threadSources;
+	private final boolean legacySampling;
 
 	public RandomGenerator() {
-		this.randomDataGenerator = new RandomDataGenerator(new JDKRandomGenerator());
+		this(RandomBackend.JDK);
 	}
 
 	public RandomGenerator(int seed) {
-		this.randomDataGenerator = new RandomDataGenerator(new JDKRandomGenerator(seed));
+		this(RandomBackend.JDK, seed);
+	}
+
+	public RandomGenerator(RandomBackend backend) {
+		this.backend = backend;
+		this.source = new Source(backend, backend.create());
+		this.threadSources = null;
+		this.legacySampling = false;
+	}
+
+	public RandomGenerator(RandomBackend backend, long seed) {
+		this.backend = backend;
+		this.source = new Source(backend, backend.create(seed));
+		this.threadSources = null;
+		this.legacySampling = false;
+	}
+
+	private RandomGenerator(RandomBackend backend, Source source, ThreadLocal<Source> threadSources,
+							boolean legacySampling) {
+		this.backend = backend;
+		this.source = source;
+		this.threadSources = threadSources;
+		this.legacySampling = legacySampling;
+	}
+
+	/**
+	 * Creates generator which can be shared between threads. Every thread draws from its own random stream,
+	 * so threads do not contend on a single generator.
+	 *
+	 * @param backend source of random numbers
+	 * @return thread safe random generator
+	 */
+	public static RandomGenerator threadSafe(RandomBackend backend) {
+		return new RandomGenerator(backend, null,
+				ThreadLocal.withInitial(() -> new Source(backend, backend.create())), false);
+	}
+
+	/**
+	 * Creates generator which can be shared between threads. Thread streams are split from the seed in the order
+	 * in which threads first use the generator.
+	 *
+	 * @param backend source of random numbers
+	 * @param seed    seed of the first stream
+	 * @return thread safe random generator
+	 */
+	public static RandomGenerator threadSafe(RandomBackend backend, long seed) {
+		AtomicLong streams = new AtomicLong();
+		return new RandomGenerator(backend, null, ThreadLocal.withInitial(() -> new Source(backend,
+				backend.create(split(seed, streams.getAndIncrement())))), false);
+	}
+
+	/**
+	 * Returns generator drawing from the same random stream, but making {@link BaseProducer#randomElements} shuffle
+	 * the whole passed list in place, like versions before the sampling without shuffling. Use it to reproduce
+	 * data generated by these versions for the same seed.
+	 *
+	 * @return generator with legacy sampling
+	 */
+	public RandomGenerator withLegacySampling() {
+		return new RandomGenerator(backend, source, threadSources, true);
+	}
+
+	/**
+	 * Derives seed of an independent random stream, e.g. for a chunk of generated records
+	 *
+	 * @param seed  master seed
+	 * @param index stream index
+	 * @return seed of the stream
+	 */
+	public static long split(long seed, long index) {
+		return Seeds.split(seed, index);
+	}
+
+	public boolean isLegacySampling() {
+		return legacySampling;
+	}
+
+	public boolean isThreadSafe() {
+		return threadSources != null;
+	}
+
+	public RandomBackend getBackend() {
+		return backend;
+	}
+
+	/**
+	 * Restarts random stream of this generator (in thread safe mode - of the current thread)
+	 *
+	 * @param seed the random seed to use
+	 */
+	public void setSeed(long seed) {
+		source().random.setSeed(seed);
+	}
+
+	private Source source() {
+		Source source = this.source;
+		return source != null ? source : threadSources.get();
+	}
+
+	public long nextLong() {
+		return source().random.nextLong();
 	}
 
 	public boolean nextBoolean() {
-		return randomDataGenerator.getRandomGenerator().nextBoolean();
+		return source().random.nextBoolean();
 	}
 
 	public <T> List<T> shuffle(List<T> elements) {
-		Collections.shuffle(elements, (Random) randomDataGenerator.getRandomGenerator());
+		org.apache.commons.math3.random.RandomGenerator random = source().random;
+		if (random instanceof Random) {
+			Collections.shuffle(elements, (Random) random);
+		} else {
+			for (int i = elements.size(); i > 1; i--) {
+				Collections.swap(elements, i - 1, random.nextInt(i));
+			}
+		}
 		return elements;
 	}
 
 	public int nextInt(int min, int max) {
 		if (min == max) return min;
-		return randomDataGenerator.nextInt(min, max);
+		Source source = source();
+		if (source.randomDataGenerator != null) {
+			return source.randomDataGenerator.nextInt(min, max);
+		}
+		checkArgument(min <= max, "min %s must not be greater than max %s", min, max);
+		int bound = max - min + 1;
+		if (bound > 0) {
+			return min + source.random.nextInt(bound);
+		}
+		return (int) nextLong(source.random, min, max);
 	}
 
 	public long nextDouble(long min, long max) {
-		return randomDataGenerator.nextLong(min, max);
+		Source source = source();
+		if (source.randomDataGenerator != null) {
+			return source.randomDataGenerator.nextLong(min, max);
+		}
+		checkArgument(min <= max, "min %s must not be greater than max %s", min, max);
+		return nextLong(source.random, min, max);
 	}
 
 	public double nextDouble(double min, double max) {
-		return randomDataGenerator.nextUniform(min, max);
+		Source source = source();
+		if (source.randomDataGenerator != null) {
+			return source.randomDataGenerator.nextUniform(min, max);
+		}
+		return min + source.random.nextDouble() * (max - min);
+	}
+
+	private static long nextLong(org.apache.commons.math3.random.RandomGenerator random, long min, long max) {
+		long bound = max - min + 1;
+		if (bound <= 0) {
+			// range wider than Long.MAX_VALUE
+			long value;
+			do {
+				value = random.nextLong();
+			} while (value < min || value > max);
+			return value;
+		}
+		long bits;
+		long value;
+		do {
+			bits = random.nextLong() >>> 1;
+			value = bits % bound;
+		} while (bits - value + (bound - 1) < 0);
+		return min + value;
+	}
+
+	private static final class Source {
+
+		private final org.apache.commons.math3.random.RandomGenerator random;
+		// only for JDK backend, keeps data generated for a seed the same as in previous versions
+		private final RandomDataGenerator randomDataGenerator;
+
+		private Source(RandomBackend backend, org.apache.commons.math3.random.RandomGenerator random) {
+			this.random = random;
+			this.randomDataGenerator = backend == RandomBackend.JDK ? new RandomDataGenerator(random) : null;
+		}
 	}
 }
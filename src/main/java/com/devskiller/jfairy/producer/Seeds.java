@@ -0,0 +1,33 @@
+package com.devskiller.jfairy.producer;
+
+/**
+ * Seeding helpers shared by the random backends
+ */
+final class Seeds {
+
+	static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private Seeds() {
+	}
+
+	static long splitMix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * @return seed of the stream with given index, derived from the master seed
+	 */
+	static long split(long seed, long index) {
+		return splitMix64(seed + (index + 1) * GOLDEN_GAMMA);
+	}
+
+	static long combine(int[] seed) {
+		long result = 0;
+		for (int value : seed) {
+			result = splitMix64(result + GOLDEN_GAMMA) ^ (value & 0xffffffffL);
+		}
+		return result;
+	}
+}
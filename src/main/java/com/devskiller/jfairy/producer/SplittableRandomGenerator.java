@@ -0,0 +1,65 @@
+package com.devskiller.jfairy.producer;
+
+import java.util.SplittableRandom;
+
+import org.apache.commons.math3.random.BitsStreamGenerator;
+
+/**
+ * Commons-math view of {@link SplittableRandom}
+ */
+final class SplittableRandomGenerator extends BitsStreamGenerator {
+
+	private static final long serialVersionUID = 1L;
+
+	private SplittableRandom random;
+
+	SplittableRandomGenerator(long seed) {
+		setSeed(seed);
+	}
+
+	@Override
+	public void setSeed(int seed) {
+		setSeed((long) seed);
+	}
+
+	@Override
+	public void setSeed(int[] seed) {
+		setSeed(Seeds.combine(seed));
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		random = new SplittableRandom(seed);
+		clear();
+	}
+
+	@Override
+	protected int next(int bits) {
+		return random.nextInt() >>> (32 - bits);
+	}
+
+	@Override
+	public int nextInt() {
+		return random.nextInt();
+	}
+
+	@Override
+	public int nextInt(int n) {
+		return random.nextInt(n);
+	}
+
+	@Override
+	public long nextLong() {
+		return random.nextLong();
+	}
+
+	@Override
+	public double nextDouble() {
+		return random.nextDouble();
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		return random.nextBoolean();
+	}
+}
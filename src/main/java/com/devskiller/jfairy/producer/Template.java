@@ -0,0 +1,73 @@
+package com.devskiller.jfairy.producer;
+
+/**
+ * Compiled pattern with {@code '#'} characters replaced by random digits and (optionally) {@code '?'} characters
+ * replaced by random letters. Positions of the placeholders are found once, so generating a value writes only
+ * the placeholders into a reused buffer and creates just the resulting String.
+ * <p>
+ * Templates are created by {@link BaseProducer#compile(String)}. Digits are drawn before letters, so a template
+ * generates the same values as {@link BaseProducer#bothify(String)} for the same random seed.
+ * </p>
+ */
+public final class Template {
+
+	private final BaseProducer baseProducer;
+	private final boolean threadSafe;
+	private final String pattern;
+	private final char[] buffer;
+	// digit positions first, then letter positions
+	private final int[] positions;
+	private final int digitCount;
+
+	Template(BaseProducer baseProducer, boolean threadSafe, String pattern, boolean letters) {
+		this.baseProducer = baseProducer;
+		this.threadSafe = threadSafe;
+		this.pattern = pattern;
+		this.buffer = pattern.toCharArray();
+		int digits = 0;
+		int placeholders = 0;
+		for (char c : buffer) {
+			if (c == '#') {
+				digits++;
+				placeholders++;
+			} else if (letters && c == '?') {
+				placeholders++;
+			}
+		}
+		this.positions = new int[placeholders];
+		this.digitCount = digits;
+		int digit = 0;
+		int letter = digits;
+		for (int i = 0; i < buffer.length; i++) {
+			if (buffer[i] == '#') {
+				positions[digit++] = i;
+			} else if (letters && buffer[i] == '?') {
+				positions[letter++] = i;
+			}
+		}
+	}
+
+	/**
+	 * @return new value with all placeholders replaced
+	 */
+	public String generate() {
+		// a generator shared between threads may fill the template concurrently
+		char[] chars = threadSafe ? buffer.clone() : buffer;
+		for (int i = 0; i < digitCount; i++) {
+			chars[positions[i]] = baseProducer.randomBetween('0', '9');
+		}
+		for (int i = digitCount; i < positions.length; i++) {
+			chars[positions[i]] = baseProducer.randomBetween('a', 'z');
+		}
+		return new String(chars);
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+
+	@Override
+	public String toString() {
+		return pattern;
+	}
+}
@@ -0,0 +1,65 @@
+package com.devskiller.jfairy.producer;
+
+import org.apache.commons.math3.random.BitsStreamGenerator;
+
+/**
+ * xoroshiro128++ 1.0 generator, see <a href="http://prng.di.unimi.it/">http://prng.di.unimi.it/</a>.
+ * The state is filled with SplitMix64 output of the seed.
+ */
+final class Xoroshiro128PlusPlus extends BitsStreamGenerator {
+
+	private static final long serialVersionUID = 1L;
+
+	private long s0;
+	private long s1;
+
+	Xoroshiro128PlusPlus(long seed) {
+		setSeed(seed);
+	}
+
+	@Override
+	public void setSeed(int seed) {
+		setSeed((long) seed);
+	}
+
+	@Override
+	public void setSeed(int[] seed) {
+		setSeed(Seeds.combine(seed));
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		long splitMixState = seed;
+		s0 = Seeds.splitMix64(splitMixState += Seeds.GOLDEN_GAMMA);
+		s1 = Seeds.splitMix64(splitMixState + Seeds.GOLDEN_GAMMA);
+		clear();
+	}
+
+	@Override
+	protected int next(int bits) {
+		return (int) (nextLong() >>> (64 - bits));
+	}
+
+	@Override
+	public long nextLong() {
+		long s0 = this.s0;
+		long s1 = this.s1;
+		long result = Long.rotateLeft(s0 + s1, 17) + s0;
+
+		s1 ^= s0;
+		this.s0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+		this.s1 = Long.rotateLeft(s1, 28);
+
+		return result;
+	}
+
+	@Override
+	public double nextDouble() {
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	@Override
+	public boolean nextBoolean() {
+		return nextLong() < 0;
+	}
+}
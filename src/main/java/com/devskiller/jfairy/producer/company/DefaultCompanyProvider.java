@@ -1,11 +1,14 @@
 package com.devskiller.jfairy.producer.company;
 
 import javax.inject.Inject;
+import java.util.List;
+import java.util.regex.Pattern;
 
 import com.google.inject.assistedinject.Assisted;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringEscapeUtils;
 
+import com.devskiller.jfairy.data.DataKey;
 import com.devskiller.jfairy.data.DataMaster;
 import com.devskiller.jfairy.producer.BaseProducer;
 import com.devskiller.jfairy.producer.VATIdentificationNumberProvider;
@@ -13,6 +16,12 @@ import com.devskiller.jfairy.producer.util.TextUtils;
 
 public class DefaultCompanyProvider implements CompanyProvider {
 
+	private static final DataKey<List<String>> COMPANY_NAMES = DataKey.stringList(COMPANY_NAME);
+	private static final DataKey<List<String>> COMPANY_SUFFIXES = DataKey.stringList(COMPANY_SUFFIX);
+	private static final DataKey<List<String>> DOMAINS = DataKey.stringList(DOMAIN);
+	private static final DataKey<List<String>> COMPANY_EMAILS = DataKey.stringList(COMPANY_EMAIL);
+	private static final Pattern UNICODE_ESCAPE = Pattern.compile("\\\\u");
+
 	protected String name;
 	protected String domain;
 	protected String email;
@@ -37,6 +46,16 @@ public class DefaultCompanyProvider implements CompanyProvider {
 		}
 	}
 
+	/**
+	 * Clears all values of the generated (or set) company, so that the provider can generate a new company
+	 */
+	public void reset() {
+		name = null;
+		domain = null;
+		email = null;
+		vatIdentificationNumber = null;
+	}
+
 	@Override
 	public Company get() {
 
@@ -53,9 +72,9 @@ public class DefaultCompanyProvider implements CompanyProvider {
 		if (name != null) {
 			return;
 		}
-		name = dataMaster.getRandomValue(COMPANY_NAME);
+		name = dataMaster.getRandomValue(COMPANY_NAMES);
 		if (baseProducer.trueOrFalse()) {
-			name += " " + dataMaster.getRandomValue(COMPANY_SUFFIX);
+			name += " " + dataMaster.getRandomValue(COMPANY_SUFFIXES);
 		}
 	}
 
@@ -75,12 +94,27 @@ public class DefaultCompanyProvider implements CompanyProvider {
 
 		String host = TextUtils.stripAccents(StringUtils.strip(StringUtils.deleteWhitespace(name.toLowerCase()), ".").replace("/", ""));
 		int len1 = host.length();
-		host = StringEscapeUtils.escapeJava(host).replaceAll("\\\\u", "");
+		if (!isPrintableAscii(host)) {
+			host = UNICODE_ESCAPE.matcher(StringEscapeUtils.escapeJava(host)).replaceAll("");
+		}
 		int len2 = host.length();
 		if (len2 > len1 && len2 > 10)
 			host = host.substring(0, 10);
 
-		domain = host + "." + dataMaster.getRandomValue(DOMAIN);
+		domain = host + "." + dataMaster.getRandomValue(DOMAINS);
+	}
+
+	/**
+	 * @return true if the host is not changed by Java escaping
+	 */
+	private static boolean isPrintableAscii(String host) {
+		for (int i = 0; i < host.length(); i++) {
+			char c = host.charAt(i);
+			if (c < ' ' || c > '~' || c == '"' || c == '\\') {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
@@ -88,7 +122,7 @@ public class DefaultCompanyProvider implements CompanyProvider {
 		if (email != null) {
 			return;
 		}
-		email = dataMaster.getRandomValue(COMPANY_EMAIL);
+		email = dataMaster.getRandomValue(COMPANY_EMAILS);
 	}
 
 	@Override
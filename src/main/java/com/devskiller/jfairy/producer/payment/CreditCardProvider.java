@@ -3,28 +3,35 @@ package com.devskiller.jfairy.producer.payment;
 import javax.inject.Inject;
 import java.time.LocalDateTime;
 import java.time.Period;
+import java.util.List;
+import java.util.Map;
 
 import com.google.inject.Provider;
 
+import com.devskiller.jfairy.data.DataKey;
 import com.devskiller.jfairy.data.DataMaster;
 import com.devskiller.jfairy.producer.BaseProducer;
 import com.devskiller.jfairy.producer.DateProducer;
+import com.devskiller.jfairy.producer.Template;
 
 public class CreditCardProvider implements Provider<CreditCard> {
 
 	private static final Period DEFAULT_VALIDITY = Period.ofMonths(36);
-	private static final String DATA_KEY = "creditCardPrefixes";
+	private static final DataKey<Map<String, List<Integer>>> DATA_KEY =
+			DataKey.typedValues("creditCardPrefixes", Integer.class);
 	private static final String CARD_VENDOR = "Visa";
 
 	private final DataMaster dataMaster;
 	private final BaseProducer baseProducer;
 	private final DateProducer dateProducer;
+	private final Template cvv;
 
 	@Inject
 	public CreditCardProvider(DataMaster dataMaster, BaseProducer baseProducer, DateProducer dateProducer) {
 		this.dataMaster = dataMaster;
 		this.baseProducer = baseProducer;
 		this.dateProducer = dateProducer;
+		this.cvv = baseProducer.compile("###");
 	}
 
 	@Override
@@ -32,11 +39,11 @@ public class CreditCardProvider implements Provider<CreditCard> {
 		String randomNumber = generateNumber();
 
 		LocalDateTime expiryDate = dateProducer.randomDateBetweenNowAndFuturePeriod(DEFAULT_VALIDITY);
-		return new CreditCard(CARD_VENDOR, randomNumber, baseProducer.numerify("###"), expiryDate);
+		return new CreditCard(CARD_VENDOR, randomNumber, cvv.generate(), expiryDate);
 	}
 
 	private String generateNumber() {
-		Integer prefix = dataMaster.getValuesOfType(DATA_KEY, CARD_VENDOR, Integer.class);
+		Integer prefix = dataMaster.getValuesOfType(DATA_KEY, CARD_VENDOR);
 		String stringPrefix = String.valueOf(prefix);
 		StringBuilder builder = new StringBuilder(stringPrefix);
 		for (int i = stringPrefix.length(); i < 15; i++) {
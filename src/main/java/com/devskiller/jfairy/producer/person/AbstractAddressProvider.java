@@ -1,15 +1,18 @@
 package com.devskiller.jfairy.producer.person;
 
+import java.util.List;
+
+import com.devskiller.jfairy.data.DataKey;
 import com.devskiller.jfairy.data.DataMaster;
 import com.devskiller.jfairy.producer.BaseProducer;
 
 public abstract class AbstractAddressProvider implements AddressProvider {
 
-	private static final String POSTAL_CODE_FORMAT = "postal_code";
+	private static final DataKey<List<String>> POSTAL_CODE_FORMAT = DataKey.stringList("postal_code");
 
-	private static final String CITY = "city";
+	private static final DataKey<List<String>> CITY = DataKey.stringList("city");
 
-	private static final String STREET = "street";
+	private static final DataKey<List<String>> STREET = DataKey.stringList("street");
 
 	protected final BaseProducer baseProducer;
 
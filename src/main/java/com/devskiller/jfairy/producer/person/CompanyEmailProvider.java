@@ -21,6 +21,6 @@ public class CompanyEmailProvider implements Provider<String> {
 
 	@Override
 	public String get() {
-		return TextUtils.stripAccents(lowerCase(firstName + '.' + lastName + '@' + company.getDomain())).replaceAll(" ", ".");
+		return TextUtils.stripAccents(lowerCase(firstName + '.' + lastName + '@' + company.getDomain())).replace(" ", ".");
 	}
 }
@@ -4,26 +4,41 @@ import javax.inject.Inject;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.google.inject.assistedinject.Assisted;
 import org.apache.commons.lang3.RandomStringUtils;
 
+import com.devskiller.jfairy.data.DataKey;
 import com.devskiller.jfairy.data.DataMaster;
+import com.devskiller.jfairy.data.Picker;
 import com.devskiller.jfairy.producer.BaseProducer;
 import com.devskiller.jfairy.producer.DateProducer;
 import com.devskiller.jfairy.producer.TimeProvider;
 import com.devskiller.jfairy.producer.company.Company;
 import com.devskiller.jfairy.producer.company.CompanyFactory;
+import com.devskiller.jfairy.producer.company.CompanyProvider;
+import com.devskiller.jfairy.producer.company.DefaultCompanyProvider;
+import com.devskiller.jfairy.producer.util.TextUtils;
 
 import static org.apache.commons.lang3.StringUtils.lowerCase;
 import static org.apache.commons.lang3.StringUtils.stripAccents;
 
 public class DefaultPersonProvider implements PersonProvider {
 
+	private static final DataKey<Map<String, List<String>>> FIRST_NAMES = DataKey.typedValues(FIRST_NAME, String.class);
+	private static final DataKey<Map<String, List<String>>> LAST_NAMES = DataKey.typedValues(LAST_NAME, String.class);
+	private static final DataKey<List<String>> TELEPHONE_NUMBER_FORMAT_LIST = DataKey.stringList(TELEPHONE_NUMBER_FORMATS);
+	private static final Set<PersonField> ALL_FIELDS = EnumSet.allOf(PersonField.class);
+
 	protected Person.Sex sex;
 	protected String telephoneNumberFormat;
 	protected Integer age;
+	protected int minimumAge = MIN_AGE;
+	protected int maximumAge = MAX_AGE;
 	protected LocalDate dateOfBirth;
 	protected Company company;
 	protected Address address;
@@ -39,6 +54,16 @@ public class DefaultPersonProvider implements PersonProvider {
 	protected String nationalIdentificationNumber;
 	protected String passportNumber;
 	protected Country nationality;
+	// null for all fields
+	protected Set<PersonField> fields;
+	// null if emails and usernames may repeat
+	protected UniqueNames uniqueNames;
+	// kept for the next person after reset
+	private CompanyProvider companyProvider;
+	private List<Country> countries;
+	// indexed by sex ordinal
+	private final Picker<String>[] firstNamePickers = newPickers();
+	private final Picker<String>[] lastNamePickers = newPickers();
 
 	protected final DataMaster dataMaster;
 	protected final DateProducer dateProducer;
@@ -77,26 +102,39 @@ public class DefaultPersonProvider implements PersonProvider {
 		}
 	}
 
+	/**
+	 * Clears all values of the generated (or set) person, so that the provider can generate a new person. Used by
+	 * {@link PersonGenerator} to generate many persons with one provider.
+	 */
+	public void reset() {
+		sex = null;
+		telephoneNumberFormat = null;
+		age = null;
+		minimumAge = MIN_AGE;
+		maximumAge = MAX_AGE;
+		dateOfBirth = null;
+		company = null;
+		address = null;
+		firstName = null;
+		middleName = null;
+		lastName = null;
+		email = null;
+		username = null;
+		telephoneNumber = null;
+		password = null;
+		companyEmail = null;
+		nationalIdentityCardNumber = null;
+		nationalIdentificationNumber = null;
+		passportNumber = null;
+		nationality = null;
+		fields = null;
+		uniqueNames = null;
+	}
+
 	@Override
 	public Person get() {
 
-		generateSex();
-		generateCompany();
-		generateFirstName();
-		generateMiddleName();
-		generateLastName();
-		generateEmail();
-		generateUsername();
-		generateTelephoneNumber();
-		generateAge();
-		generateDateOfBirth();
-		generateCompanyEmail();
-		generatePassword();
-		generateNationalIdentityCardNumber();
-		generateNationalIdentificationNumber();
-		generatePassportNumber();
-		generateAddress();
-		generateNationality();
+		generate();
 
 		return new Person(firstName, middleName, lastName, address, email,
 			username, password, sex, telephoneNumber, dateOfBirth, age,
@@ -117,7 +155,12 @@ public class DefaultPersonProvider implements PersonProvider {
 		if (company != null) {
 			return;
 		}
-		company = companyFactory.produceCompany().get();
+		if (companyProvider instanceof DefaultCompanyProvider) {
+			((DefaultCompanyProvider) companyProvider).reset();
+		} else {
+			companyProvider = companyFactory.produceCompany();
+		}
+		company = companyProvider.get();
 	}
 
 	@Override
@@ -125,7 +168,7 @@ public class DefaultPersonProvider implements PersonProvider {
 		if (firstName != null) {
 			return;
 		}
-		firstName = dataMaster.getValuesOfType(FIRST_NAME, sex.name(), String.class);
+		firstName = picker(firstNamePickers, FIRST_NAMES).pick();
 	}
 
 	@Override
@@ -133,7 +176,7 @@ public class DefaultPersonProvider implements PersonProvider {
 		if (middleName != null) {
 			return;
 		}
-		middleName = baseProducer.trueOrFalse() ? dataMaster.getValuesOfType(FIRST_NAME, sex.name(), String.class) : "";
+		middleName = baseProducer.trueOrFalse() ? picker(firstNamePickers, FIRST_NAMES).pick() : "";
 	}
 
 	@Override
@@ -141,7 +184,21 @@ public class DefaultPersonProvider implements PersonProvider {
 		if (lastName != null) {
 			return;
 		}
-		lastName = dataMaster.getValuesOfType(LAST_NAME, sex.name(), String.class);
+		lastName = picker(lastNamePickers, LAST_NAMES).pick();
+	}
+
+	private Picker<String> picker(Picker<String>[] pickers, DataKey<Map<String, List<String>>> key) {
+		Picker<String> picker = pickers[sex.ordinal()];
+		if (picker == null) {
+			picker = dataMaster.picker(key, sex.name());
+			pickers[sex.ordinal()] = picker;
+		}
+		return picker;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Picker<String>[] newPickers() {
+		return (Picker<String>[]) new Picker[Person.Sex.values().length];
 	}
 
 	@Override
@@ -151,6 +208,9 @@ public class DefaultPersonProvider implements PersonProvider {
 		}
 		EmailProvider emailProvider = new EmailProvider(dataMaster, baseProducer, firstName, lastName);
 		email = emailProvider.get();
+		if (uniqueNames != null) {
+			email = uniqueNames.email(email);
+		}
 	}
 
 	@Override
@@ -158,10 +218,16 @@ public class DefaultPersonProvider implements PersonProvider {
 		if (username != null) {
 			return;
 		}
+		String name;
 		if (baseProducer.trueOrFalse()) {
-			username = lowerCase(stripAccents(firstName.substring(0, 1) + lastName));
+			name = firstName.substring(0, 1) + lastName;
 		} else {
-			username = lowerCase(stripAccents(firstName + lastName.substring(0, 1)));
+			name = firstName + lastName.substring(0, 1);
+		}
+		// normalizing allocates a lot, so names without accents are not normalized
+		username = lowerCase(TextUtils.isAscii(name) ? name : stripAccents(name));
+		if (uniqueNames != null) {
+			username = uniqueNames.username(username);
 		}
 	}
 
@@ -171,7 +237,7 @@ public class DefaultPersonProvider implements PersonProvider {
 			return;
 		}
 		if (telephoneNumberFormat == null) {
-			telephoneNumberFormat = dataMaster.getRandomValue(TELEPHONE_NUMBER_FORMATS);
+			telephoneNumberFormat = dataMaster.getRandomValue(TELEPHONE_NUMBER_FORMAT_LIST);
 		}
 		telephoneNumber = baseProducer.numerify(telephoneNumberFormat);
 	}
@@ -184,7 +250,7 @@ public class DefaultPersonProvider implements PersonProvider {
 			if (age != null) {
 				return;
 			}
-			age = baseProducer.randomBetween(MIN_AGE, MAX_AGE);
+			age = baseProducer.randomBetween(minimumAge, maximumAge);
 		}
 	}
 
@@ -250,8 +316,13 @@ public class DefaultPersonProvider implements PersonProvider {
 		passportNumber = passportNumberProvider.get();
 	}
 
-	private void generateNationality() {
-		List<Country> countries = Country.findCountryForLanguage(dataMaster.getLanguage());
+	protected void generateNationality() {
+		if (nationality != null) {
+			return;
+		}
+		if (countries == null) {
+			countries = Country.findCountryForLanguage(dataMaster.getLanguage());
+		}
 		nationality = !countries.isEmpty() ? baseProducer.randomElement(countries) : Country.UnitedKingdom;
 	}
 
@@ -270,6 +341,20 @@ public class DefaultPersonProvider implements PersonProvider {
 		this.age = age;
 	}
 
+	/**
+	 * @param minimumAge minimum of the generated age, unless age is set
+	 */
+	public void setMinimumAge(int minimumAge) {
+		this.minimumAge = minimumAge;
+	}
+
+	/**
+	 * @param maximumAge maximum of the generated age, unless age is set
+	 */
+	public void setMaximumAge(int maximumAge) {
+		this.maximumAge = maximumAge;
+	}
+
 	@Override
 	public void setCompany(Company company) {
 		this.company = company;
@@ -339,6 +424,25 @@ public class DefaultPersonProvider implements PersonProvider {
 	public void setPassportNumber(String passportNumber) {
 		this.passportNumber = passportNumber;
 	}
+
+	/**
+	 * Generates all fields (or the desired fields) of the person, without creating it
+	 */
+	void generate() {
+		for (PersonField field : fields != null ? fields : ALL_FIELDS) {
+			field.generate(this);
+		}
+	}
+
+	@Override
+	public void setFields(Set<PersonField> fields) {
+		this.fields = fields;
+	}
+
+	@Override
+	public void setUniqueNames(UniqueNames uniqueNames) {
+		this.uniqueNames = uniqueNames;
+	}
 }
 
 
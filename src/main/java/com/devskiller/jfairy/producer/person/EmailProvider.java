@@ -1,8 +1,11 @@
 package com.devskiller.jfairy.producer.person;
 
+import java.util.List;
+
 import com.google.inject.Provider;
 import org.apache.commons.lang3.StringUtils;
 
+import com.devskiller.jfairy.data.DataKey;
 import com.devskiller.jfairy.data.DataMaster;
 import com.devskiller.jfairy.producer.BaseProducer;
 import com.devskiller.jfairy.producer.util.TextUtils;
@@ -12,6 +15,8 @@ import static org.apache.commons.lang3.StringUtils.lowerCase;
 
 public class EmailProvider implements Provider<String> {
 
+	private static final DataKey<List<String>> PERSONAL_EMAILS = DataKey.stringList(PERSONAL_EMAIL);
+
 	private final DataMaster dataMaster;
 	private final BaseProducer baseProducer;
 	private final String firstName;
@@ -39,6 +44,6 @@ public class EmailProvider implements Provider<String> {
 				prefix = StringUtils.replace(lastName, " ", "");
 				break;
 		}
-		return TextUtils.stripAccents(lowerCase(prefix + '@' + dataMaster.getRandomValue(PERSONAL_EMAIL)));
+		return TextUtils.stripAccents(lowerCase(prefix + '@' + dataMaster.getRandomValue(PERSONAL_EMAILS)));
 	}
 }
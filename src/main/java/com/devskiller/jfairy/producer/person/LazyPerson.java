@@ -0,0 +1,154 @@
+package com.devskiller.jfairy.producer.person;
+
+import java.time.LocalDate;
+import java.util.OptionalInt;
+
+import com.devskiller.jfairy.producer.RandomGenerator;
+import com.devskiller.jfairy.producer.company.Company;
+
+/**
+ * Person generating every field on first access. Every field is generated from its own random stream, derived from
+ * the person seed and the field, after generating fields it depends on. So the person is the same whatever fields
+ * are read and in what order, and fields which are not read are never generated.
+ */
+final class LazyPerson extends Person {
+
+	private static final PersonField[] FIELDS = PersonField.values();
+
+	private final PersonGenerator generator;
+	private final long seed;
+	private final Object[] values = new Object[FIELDS.length];
+	private final boolean[] generated = new boolean[FIELDS.length];
+
+	LazyPerson(PersonGenerator generator, long seed) {
+		super(null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+		this.generator = generator;
+		this.seed = seed;
+	}
+
+	private Object get(PersonField field) {
+		// lazy persons of a generator share its provider and random generator
+		synchronized (generator) {
+			if (!generated[field.ordinal()]) {
+				for (PersonField dependency : field.getDependencies()) {
+					get(dependency);
+				}
+				DefaultPersonProvider provider = generator.prepareLazyProvider(seed);
+				for (PersonField known : FIELDS) {
+					if (generated[known.ordinal()]) {
+						known.set(provider, values[known.ordinal()]);
+					}
+				}
+				generator.getRandomGenerator().setSeed(RandomGenerator.split(seed, field.ordinal() + 1));
+				values[field.ordinal()] = field.generate(provider);
+				generated[field.ordinal()] = true;
+			}
+			return values[field.ordinal()];
+		}
+	}
+
+	@Override
+	public String getNationalIdentificationNumber() {
+		return (String) get(PersonField.NATIONAL_IDENTIFICATION_NUMBER);
+	}
+
+	@Override
+	public String getFirstName() {
+		return (String) get(PersonField.FIRST_NAME);
+	}
+
+	@Override
+	public String getMiddleName() {
+		return (String) get(PersonField.MIDDLE_NAME);
+	}
+
+	@Override
+	public String getLastName() {
+		return (String) get(PersonField.LAST_NAME);
+	}
+
+	@Override
+	public String getEmail() {
+		return (String) get(PersonField.EMAIL);
+	}
+
+	@Override
+	public String getUsername() {
+		return (String) get(PersonField.USERNAME);
+	}
+
+	@Override
+	public String getPassword() {
+		return (String) get(PersonField.PASSWORD);
+	}
+
+	@Override
+	public String getFullName() {
+		return getFirstName() + " " + getLastName();
+	}
+
+	@Override
+	public boolean isMale() {
+		return getSex() == Sex.MALE;
+	}
+
+	@Override
+	public boolean isFemale() {
+		return getSex() == Sex.FEMALE;
+	}
+
+	@Override
+	public Sex getSex() {
+		return (Sex) get(PersonField.SEX);
+	}
+
+	@Override
+	public String getTelephoneNumber() {
+		return (String) get(PersonField.TELEPHONE_NUMBER);
+	}
+
+	@Override
+	public LocalDate getDateOfBirth() {
+		return (LocalDate) get(PersonField.DATE_OF_BIRTH);
+	}
+
+	@Override
+	public int getAge() {
+		return (Integer) get(PersonField.AGE);
+	}
+
+	@Override
+	public OptionalInt getGeneratedAge() {
+		return OptionalInt.of(getAge());
+	}
+
+	@Override
+	public String getNationalIdentityCardNumber() {
+		return (String) get(PersonField.NATIONAL_IDENTITY_CARD_NUMBER);
+	}
+
+	@Override
+	public String getCompanyEmail() {
+		return (String) get(PersonField.COMPANY_EMAIL);
+	}
+
+	@Override
+	public Address getAddress() {
+		return (Address) get(PersonField.ADDRESS);
+	}
+
+	@Override
+	public Company getCompany() {
+		return (Company) get(PersonField.COMPANY);
+	}
+
+	@Override
+	public String getPassportNumber() {
+		return (String) get(PersonField.PASSPORT_NUMBER);
+	}
+
+	@Override
+	public Country getNationality() {
+		return (Country) get(PersonField.NATIONALITY);
+	}
+}
@@ -1,6 +1,7 @@
 package com.devskiller.jfairy.producer.person;
 
 import java.time.LocalDate;
+import java.util.OptionalInt;
 
 import com.devskiller.jfairy.producer.company.Company;
 
@@ -106,8 +107,23 @@ public class Person {
 		return dateOfBirth;
 	}
 
+	/**
+	 * Returns age of the person. Age is not generated if the person has been generated with
+	 * {@link PersonProperties#fields(PersonField...)} not including {@link PersonField#AGE} (or a field depending
+	 * on it), then this method returns 0 - use {@link #getGeneratedAge()} to tell such persons from newborns.
+	 *
+	 * @return age in years, or 0 if age has not been generated
+	 */
 	public int getAge() {
-		return age;
+		return age != null ? age : 0;
+	}
+
+	/**
+	 * @return age in years, or empty if age has not been generated because of the fields selection
+	 * @see #getAge()
+	 */
+	public OptionalInt getGeneratedAge() {
+		return age != null ? OptionalInt.of(age) : OptionalInt.empty();
 	}
 
 	public String getNationalIdentityCardNumber() {
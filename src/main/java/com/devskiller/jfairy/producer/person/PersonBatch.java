@@ -0,0 +1,133 @@
+package com.devskiller.jfairy.producer.person;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.devskiller.jfairy.producer.company.Company;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Column oriented batch of persons, created by {@link PersonGenerator#batch(int, PersonField...)}. Every field
+ * of the batch is a column array with a value for every person, without creating {@link Person} objects. Age is
+ * an {@code int[]}, date of birth is a {@code long[]} of epoch days and other fields are object arrays.
+ * Only the fields requested for the batch have columns, even if other fields were generated as their
+ * dependencies.
+ */
+public final class PersonBatch {
+
+	private final int size;
+	private final Set<PersonField> fields;
+	// indexed by field ordinal, null for fields not in the batch
+	private final Object[] columns = new Object[PersonField.values().length];
+
+	PersonBatch(int size, PersonField... fields) {
+		checkArgument(size >= 0, "Batch size %s is negative", size);
+		checkArgument(fields.length > 0, "Batch needs at least one field");
+		this.size = size;
+		this.fields = EnumSet.copyOf(Arrays.asList(fields));
+		for (PersonField field : this.fields) {
+			columns[field.ordinal()] = newColumn(field, size);
+		}
+	}
+
+	private static Object newColumn(PersonField field, int size) {
+		switch (field) {
+			case SEX:
+				return new Person.Sex[size];
+			case COMPANY:
+				return new Company[size];
+			case AGE:
+				return new int[size];
+			case DATE_OF_BIRTH:
+				return new long[size];
+			case ADDRESS:
+				return new Address[size];
+			case NATIONALITY:
+				return new Country[size];
+			default:
+				return new String[size];
+		}
+	}
+
+	/**
+	 * Copies generated fields of the batch into the columns
+	 *
+	 * @param index    index of the person in the batch
+	 * @param provider provider with generated fields
+	 */
+	void set(int index, DefaultPersonProvider provider) {
+		for (PersonField field : fields) {
+			Object column = columns[field.ordinal()];
+			if (field == PersonField.AGE) {
+				((int[]) column)[index] = provider.age;
+			} else if (field == PersonField.DATE_OF_BIRTH) {
+				((long[]) column)[index] = provider.dateOfBirth.toEpochDay();
+			} else {
+				((Object[]) column)[index] = field.get(provider);
+			}
+		}
+	}
+
+	/**
+	 * @return number of persons in the batch
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return fields of the batch
+	 */
+	public Set<PersonField> getFields() {
+		return EnumSet.copyOf(fields);
+	}
+
+	public boolean contains(PersonField field) {
+		return fields.contains(field);
+	}
+
+	/**
+	 * @param field one of the text fields, like {@link PersonField#FIRST_NAME} or {@link PersonField#EMAIL}
+	 * @return column of the field
+	 */
+	public String[] getStrings(PersonField field) {
+		Object column = column(field);
+		checkArgument(column instanceof String[], "%s is not a text field", field);
+		return (String[]) column;
+	}
+
+	public Person.Sex[] getSexes() {
+		return (Person.Sex[]) column(PersonField.SEX);
+	}
+
+	public Company[] getCompanies() {
+		return (Company[]) column(PersonField.COMPANY);
+	}
+
+	public int[] getAges() {
+		return (int[]) column(PersonField.AGE);
+	}
+
+	/**
+	 * @return dates of birth as {@link LocalDate#toEpochDay() epoch days}
+	 */
+	public long[] getDatesOfBirthEpochDay() {
+		return (long[]) column(PersonField.DATE_OF_BIRTH);
+	}
+
+	public Address[] getAddresses() {
+		return (Address[]) column(PersonField.ADDRESS);
+	}
+
+	public Country[] getNationalities() {
+		return (Country[]) column(PersonField.NATIONALITY);
+	}
+
+	private Object column(PersonField field) {
+		checkArgument(fields.contains(field), "Batch has no %s field, only %s", field, fields);
+		return columns[field.ordinal()];
+	}
+}
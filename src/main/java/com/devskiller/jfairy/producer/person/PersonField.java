@@ -0,0 +1,105 @@
+package com.devskiller.jfairy.producer.person;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.devskiller.jfairy.producer.company.Company;
+
+/**
+ * Fields of a {@link Person} generated by {@link DefaultPersonProvider}, with fields needed to generate them.
+ * Dependencies are always declared before the dependent fields, and fields are declared in order of generation.
+ *
+ * @see PersonProperties#fields(PersonField...)
+ */
+public enum PersonField {
+
+	SEX(DefaultPersonProvider::generateSex, p -> p.sex, (p, v) -> p.sex = (Person.Sex) v),
+	COMPANY(DefaultPersonProvider::generateCompany, p -> p.company, (p, v) -> p.company = (Company) v),
+	FIRST_NAME(DefaultPersonProvider::generateFirstName, p -> p.firstName, (p, v) -> p.firstName = (String) v, SEX),
+	MIDDLE_NAME(DefaultPersonProvider::generateMiddleName, p -> p.middleName, (p, v) -> p.middleName = (String) v,
+			SEX),
+	LAST_NAME(DefaultPersonProvider::generateLastName, p -> p.lastName, (p, v) -> p.lastName = (String) v, SEX),
+	EMAIL(DefaultPersonProvider::generateEmail, p -> p.email, (p, v) -> p.email = (String) v,
+			FIRST_NAME, LAST_NAME),
+	USERNAME(DefaultPersonProvider::generateUsername, p -> p.username, (p, v) -> p.username = (String) v,
+			FIRST_NAME, LAST_NAME),
+	TELEPHONE_NUMBER(DefaultPersonProvider::generateTelephoneNumber, p -> p.telephoneNumber,
+			(p, v) -> p.telephoneNumber = (String) v),
+	AGE(DefaultPersonProvider::generateAge, p -> p.age, (p, v) -> p.age = (Integer) v),
+	DATE_OF_BIRTH(DefaultPersonProvider::generateDateOfBirth, p -> p.dateOfBirth,
+			(p, v) -> p.dateOfBirth = (LocalDate) v, AGE),
+	COMPANY_EMAIL(DefaultPersonProvider::generateCompanyEmail, p -> p.companyEmail,
+			(p, v) -> p.companyEmail = (String) v, FIRST_NAME, LAST_NAME, COMPANY),
+	PASSWORD(DefaultPersonProvider::generatePassword, p -> p.password, (p, v) -> p.password = (String) v),
+	NATIONAL_IDENTITY_CARD_NUMBER(DefaultPersonProvider::generateNationalIdentityCardNumber,
+			p -> p.nationalIdentityCardNumber, (p, v) -> p.nationalIdentityCardNumber = (String) v),
+	NATIONAL_IDENTIFICATION_NUMBER(DefaultPersonProvider::generateNationalIdentificationNumber,
+			p -> p.nationalIdentificationNumber, (p, v) -> p.nationalIdentificationNumber = (String) v,
+			SEX, DATE_OF_BIRTH),
+	PASSPORT_NUMBER(DefaultPersonProvider::generatePassportNumber, p -> p.passportNumber,
+			(p, v) -> p.passportNumber = (String) v),
+	ADDRESS(DefaultPersonProvider::generateAddress, p -> p.address, (p, v) -> p.address = (Address) v),
+	NATIONALITY(DefaultPersonProvider::generateNationality, p -> p.nationality,
+			(p, v) -> p.nationality = (Country) v);
+
+	private final Consumer<DefaultPersonProvider> generator;
+	private final Function<DefaultPersonProvider, Object> getter;
+	private final BiConsumer<DefaultPersonProvider, Object> setter;
+	private final PersonField[] dependencies;
+
+	PersonField(Consumer<DefaultPersonProvider> generator, Function<DefaultPersonProvider, Object> getter,
+				BiConsumer<DefaultPersonProvider, Object> setter, PersonField... dependencies) {
+		this.generator = generator;
+		this.getter = getter;
+		this.setter = setter;
+		this.dependencies = dependencies;
+	}
+
+	PersonField[] getDependencies() {
+		return dependencies;
+	}
+
+	/**
+	 * @return the fields with all fields needed to generate them
+	 */
+	static Set<PersonField> withDependencies(PersonField... fields) {
+		Set<PersonField> result = EnumSet.noneOf(PersonField.class);
+		for (PersonField field : fields) {
+			addWithDependencies(field, result);
+		}
+		return result;
+	}
+
+	private static void addWithDependencies(PersonField field, Set<PersonField> result) {
+		if (result.add(field)) {
+			for (PersonField dependency : field.dependencies) {
+				addWithDependencies(dependency, result);
+			}
+		}
+	}
+
+	/**
+	 * Generates the field, if not set yet
+	 *
+	 * @return value of the field
+	 */
+	Object generate(DefaultPersonProvider provider) {
+		generator.accept(provider);
+		return getter.apply(provider);
+	}
+
+	/**
+	 * @return value of the field, null if not generated
+	 */
+	Object get(DefaultPersonProvider provider) {
+		return getter.apply(provider);
+	}
+
+	void set(DefaultPersonProvider provider, Object value) {
+		setter.accept(provider, value);
+	}
+}
@@ -0,0 +1,142 @@
+package com.devskiller.jfairy.producer.person;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.devskiller.jfairy.producer.BaseProducer;
+import com.devskiller.jfairy.producer.RandomGenerator;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Generates many persons with the same properties. Unlike {@link com.devskiller.jfairy.Fairy#person}, which creates
+ * a new provider with all its dependencies for every person, the generator creates its provider once and only
+ * resets it before every person. Persons are the same as generated by {@code Fairy.person} for the same random
+ * seed.
+ * <p>
+ * Generator keeps state of the person being generated, so it should not be shared between threads.
+ * </p>
+ * <p>
+ * A lazy generator (see {@link com.devskiller.jfairy.Fairy#lazyPersonGenerator}) returns persons generating every
+ * field on first access, from a random stream derived from the person seed and the field. Such persons are the same
+ * whatever fields are read and in what order, but different than persons of an eager generator. Lazy persons
+ * can be read from many threads.
+ * </p>
+ */
+public final class PersonGenerator implements Supplier<Person> {
+
+	private final PersonFactory personFactory;
+	private final BaseProducer baseProducer;
+	private final PersonProperties.PersonProperty[] personProperties;
+	private PersonProvider personProvider;
+	// only for lazy generator
+	private final RandomGenerator randomGenerator;
+	private final long seed;
+	private long index;
+
+	/**
+	 * Use {@link com.devskiller.jfairy.Fairy#personGenerator} to create the generator
+	 */
+	public PersonGenerator(PersonFactory personFactory, BaseProducer baseProducer,
+						   PersonProperties.PersonProperty... personProperties) {
+		this(personFactory, baseProducer, null, 0, personProperties);
+	}
+
+	private PersonGenerator(PersonFactory personFactory, BaseProducer baseProducer, RandomGenerator randomGenerator,
+							long seed, PersonProperties.PersonProperty... personProperties) {
+		this.personFactory = personFactory;
+		this.baseProducer = baseProducer;
+		this.randomGenerator = randomGenerator;
+		this.seed = seed;
+		this.personProperties = personProperties.clone();
+	}
+
+	/**
+	 * Use {@link com.devskiller.jfairy.Fairy#lazyPersonGenerator} to create the generator
+	 *
+	 * @param randomGenerator generator used by the factory and base producer, reseeded for every generated field,
+	 *                        so it should not be used by anything else
+	 * @param seed            seed of all generated persons
+	 */
+	public static PersonGenerator lazy(PersonFactory personFactory, BaseProducer baseProducer,
+									   RandomGenerator randomGenerator, long seed,
+									   PersonProperties.PersonProperty... personProperties) {
+		return new PersonGenerator(personFactory, baseProducer, randomGenerator, seed, personProperties);
+	}
+
+	public boolean isLazy() {
+		return randomGenerator != null;
+	}
+
+	@Override
+	public Person get() {
+		if (isLazy()) {
+			synchronized (this) {
+				return new LazyPerson(this, RandomGenerator.split(seed, index++));
+			}
+		}
+		if (personProvider instanceof DefaultPersonProvider) {
+			((DefaultPersonProvider) personProvider).reset();
+		} else {
+			// properties are applied like when the provider is created
+			personProvider = personFactory.producePersonProvider();
+		}
+		applyProperties();
+		return personProvider.get();
+	}
+
+	/**
+	 * Generates persons straight into columns of the desired fields, with fields needed to generate them and without
+	 * any other fields, like {@link PersonProperties#fields(PersonField...)}. Columns have the same values as
+	 * persons generated by this generator with such a property.
+	 *
+	 * @param size   number of persons
+	 * @param fields fields of the batch
+	 * @return batch of persons
+	 */
+	public PersonBatch batch(int size, PersonField... fields) {
+		checkState(!isLazy(), "Lazy generator cannot generate batches");
+		PersonBatch batch = new PersonBatch(size, fields);
+		Set<PersonField> generatedFields = PersonField.withDependencies(fields);
+		for (int i = 0; i < size; i++) {
+			DefaultPersonProvider provider = prepareProvider();
+			applyProperties();
+			provider.setFields(generatedFields);
+			provider.generate();
+			batch.set(i, provider);
+		}
+		return batch;
+	}
+
+	private DefaultPersonProvider prepareProvider() {
+		if (personProvider == null) {
+			personProvider = personFactory.producePersonProvider();
+			checkState(personProvider instanceof DefaultPersonProvider,
+					"Lazy persons and batches require %s, found %s", DefaultPersonProvider.class.getSimpleName(), personProvider.getClass().getName());
+		}
+		DefaultPersonProvider provider = (DefaultPersonProvider) personProvider;
+		provider.reset();
+		return provider;
+	}
+
+	/**
+	 * @return reset provider with properties applied using random stream of the person
+	 */
+	DefaultPersonProvider prepareLazyProvider(long personSeed) {
+		DefaultPersonProvider provider = prepareProvider();
+		// properties like ageBetween draw random values
+		randomGenerator.setSeed(RandomGenerator.split(personSeed, 0));
+		applyProperties();
+		return provider;
+	}
+
+	RandomGenerator getRandomGenerator() {
+		return randomGenerator;
+	}
+
+	private void applyProperties() {
+		for (PersonProperties.PersonProperty personProperty : personProperties) {
+			personProperty.apply(personProvider, baseProducer);
+		}
+	}
+}
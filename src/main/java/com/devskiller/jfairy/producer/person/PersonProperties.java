@@ -1,8 +1,7 @@
 package com.devskiller.jfairy.producer.person;
 
 import java.time.LocalDate;
-
-import com.google.common.base.Optional;
+import java.util.Set;
 
 import com.devskiller.jfairy.producer.BaseProducer;
 import com.devskiller.jfairy.producer.company.Company;
@@ -13,9 +12,6 @@ import com.devskiller.jfairy.producer.company.Company;
  */
 public final class PersonProperties {
 
-	private static Optional<Integer> minimumAge = Optional.absent();
-	private static Optional<Integer> maximumAge = Optional.absent();
-
 	private PersonProperties() {
 	}
 
@@ -48,20 +44,42 @@ public final class PersonProperties {
 			@Override
 			public void apply(PersonProvider person, BaseProducer baseProducer) {
 				person.setAge(baseProducer.randomBetween(minAge, maxAge));
-				minimumAge = Optional.of(minAge);
-				maximumAge = Optional.of(maxAge);
 			}
 		};
 	}
 
+	/**
+	 * Sets minimum age of {@link DefaultPersonProvider}, so it can be combined with {@link #maxAge(int)}. Other
+	 * providers get an age drawn between the minimum and {@link PersonProvider#MAX_AGE}.
+	 */
 	public static PersonProperty minAge(final int minAge) {
-		minimumAge = Optional.of(minAge);
-		return ageBetween(minAge, maximumAge.or(PersonProvider.MAX_AGE));
+		return new PersonProperty() {
+			@Override
+			public void apply(PersonProvider person, BaseProducer baseProducer) {
+				if (person instanceof DefaultPersonProvider) {
+					((DefaultPersonProvider) person).setMinimumAge(minAge);
+				} else {
+					person.setAge(baseProducer.randomBetween(minAge, PersonProvider.MAX_AGE));
+				}
+			}
+		};
 	}
 
+	/**
+	 * Sets maximum age of {@link DefaultPersonProvider}, so it can be combined with {@link #minAge(int)}. Other
+	 * providers get an age drawn between {@link PersonProvider#MIN_AGE} and the maximum.
+	 */
 	public static PersonProperty maxAge(final int maxAge) {
-		maximumAge = Optional.of(maxAge);
-		return ageBetween(minimumAge.or(PersonProvider.MIN_AGE), maxAge);
+		return new PersonProperty() {
+			@Override
+			public void apply(PersonProvider person, BaseProducer baseProducer) {
+				if (person instanceof DefaultPersonProvider) {
+					((DefaultPersonProvider) person).setMaximumAge(maxAge);
+				} else {
+					person.setAge(baseProducer.randomBetween(PersonProvider.MIN_AGE, maxAge));
+				}
+			}
+		};
 	}
 
 	public static PersonProperty telephoneFormat(final String telephoneFormat) {
@@ -208,4 +226,38 @@ public final class PersonProperties {
 		};
 	}
 
+	/**
+	 * Generates only the desired fields and fields needed to generate them, e.g. first and last name with sex
+	 * for email. Other fields are null (age is 0). Skipped fields do not draw random numbers, so persons
+	 * are different than persons with all fields for the same random seed.
+	 *
+	 * @param fields desired person fields
+	 * @return person property
+	 */
+	public static PersonProperty fields(PersonField... fields) {
+		final Set<PersonField> fieldsWithDependencies = PersonField.withDependencies(fields);
+		return new PersonProperty() {
+			@Override
+			public void apply(PersonProvider personProvider, BaseProducer baseProducer) {
+				personProvider.setFields(fieldsWithDependencies);
+			}
+		};
+	}
+
+	/**
+	 * Gives generated persons emails and usernames different from all persons generated with the same unique
+	 * names, adding numbers to repeated ones. Unique names can be shared by many generators or a parallel stream.
+	 *
+	 * @param uniqueNames emails and usernames given before
+	 * @return person property
+	 */
+	public static PersonProperty unique(final UniqueNames uniqueNames) {
+		return new PersonProperty() {
+			@Override
+			public void apply(PersonProvider personProvider, BaseProducer baseProducer) {
+				personProvider.setUniqueNames(uniqueNames);
+			}
+		};
+	}
+
 }
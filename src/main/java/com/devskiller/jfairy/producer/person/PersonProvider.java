@@ -1,6 +1,7 @@
 package com.devskiller.jfairy.producer.person;
 
 import java.time.LocalDate;
+import java.util.Set;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Provider;
@@ -88,6 +89,22 @@ public interface PersonProvider extends Provider<Person> {
 	void setNationalIdentificationNumber(String nationalIdentificationNumber);
 
 	void setPassportNumber(String passportNumber);
+
+	/**
+	 * Providers which don't support it generate all fields, including the requested ones.
+	 *
+	 * @param fields the only fields to generate, with their dependencies
+	 */
+	default void setFields(Set<PersonField> fields) {
+	}
+
+	/**
+	 * @param uniqueNames emails and usernames given before, to generate different ones
+	 * @throws UnsupportedOperationException if the provider does not support unique names
+	 */
+	default void setUniqueNames(UniqueNames uniqueNames) {
+		throw new UnsupportedOperationException(getClass().getName() + " does not support unique names");
+	}
 }
 
 
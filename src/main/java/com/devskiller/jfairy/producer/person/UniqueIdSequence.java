@@ -0,0 +1,72 @@
+package com.devskiller.jfairy.producer.person;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import com.devskiller.jfairy.producer.util.FeistelPermutation;
+
+/**
+ * Sequence of unique identifiers, like national identification numbers. The n-th identifier is a position in
+ * the space of all valid identifiers, chosen by a keyed {@link FeistelPermutation} of n and formatted as the
+ * identifier. Identifiers look random, are never repeated until the space is exhausted, and are the same
+ * for the same key - without storing generated identifiers.
+ * <p>
+ * Sequences are created by providers of the identifiers, e.g.
+ * {@link com.devskiller.jfairy.producer.person.locale.pl.PlNationalIdentificationNumberProvider#uniqueNumbers}.
+ * {@link #next()} can be called by many threads.
+ * </p>
+ */
+public final class UniqueIdSequence implements Iterator<String> {
+
+	private final String name;
+	private final FeistelPermutation permutation;
+	private final LongFunction<String> format;
+	private final AtomicLong nextIndex = new AtomicLong();
+
+	/**
+	 * @param name   name of the identifiers, for the exhaustion message
+	 * @param size   number of valid identifiers
+	 * @param key    key of the permutation
+	 * @param format formats the identifier at a position from 0 to size - 1
+	 */
+	public UniqueIdSequence(String name, long size, long key, LongFunction<String> format) {
+		this.name = name;
+		this.permutation = new FeistelPermutation(size, key);
+		this.format = format;
+	}
+
+	/**
+	 * @return number of identifiers in the sequence
+	 */
+	public long size() {
+		return permutation.size();
+	}
+
+	/**
+	 * @param index index in the sequence, from 0 to size - 1
+	 * @return identifier at the index
+	 */
+	public String get(long index) {
+		return format.apply(permutation.apply(index));
+	}
+
+	@Override
+	public boolean hasNext() {
+		return nextIndex.get() < size();
+	}
+
+	/**
+	 * @return next identifier
+	 * @throws NoSuchElementException if all identifiers were generated
+	 */
+	@Override
+	public String next() {
+		long index = nextIndex.getAndIncrement();
+		if (index >= size()) {
+			throw new NoSuchElementException(String.format("All %s unique %s were generated", size(), name));
+		}
+		return get(index);
+	}
+}
@@ -7,7 +7,9 @@ import com.google.inject.Inject;
 
 import com.devskiller.jfairy.producer.BaseProducer;
 import com.devskiller.jfairy.producer.person.NationalIdentityCardNumberProvider;
+import com.devskiller.jfairy.producer.person.UniqueIdSequence;
 
+import static com.devskiller.jfairy.producer.util.TextUtils.writeDigits;
 import static java.lang.String.valueOf;
 import static java.lang.System.arraycopy;
 import static org.apache.commons.lang3.StringUtils.leftPad;
@@ -27,6 +29,10 @@ public class EnNationalIdentityCardNumberProvider implements NationalIdentityCar
 	private static final List<Integer> HYPHEN_INDEXES = Lists.newArrayList(3, 6);
 	private static final int SERIAL_NUMBER_LENGTH = 4;
 	private static final int SERIAL_NUMBER_INDEX = 7;
+	private static final int AREA_NUMBERS = 898;
+	private static final int INVALID_AREA_NUMBER = 666;
+	private static final int GROUP_NUMBERS = 99;
+	private static final int SERIAL_NUMBERS = 9999;
 
 	private final BaseProducer baseProducer;
 
@@ -50,6 +56,33 @@ public class EnNationalIdentityCardNumberProvider implements NationalIdentityCar
 		return valueOf(ssn);
 	}
 
+	/**
+	 * Sequence of unique social security numbers, permuting all area numbers (except 666), group numbers and
+	 * serial numbers, like the generated ones - 889 million numbers.
+	 *
+	 * @param key key of the sequence, the same key gives the same sequence
+	 * @return sequence of unique numbers
+	 */
+	public static UniqueIdSequence uniqueNumbers(long key) {
+		return new UniqueIdSequence("social security numbers", (long) AREA_NUMBERS * GROUP_NUMBERS * SERIAL_NUMBERS,
+				key, position -> {
+					int serialNumber = (int) (position % SERIAL_NUMBERS) + 1;
+					long rest = position / SERIAL_NUMBERS;
+					int groupNumber = (int) (rest % GROUP_NUMBERS) + 1;
+					int areaNumber = (int) (rest / GROUP_NUMBERS) + 1;
+					if (areaNumber >= INVALID_AREA_NUMBER) {
+						areaNumber++;
+					}
+					char[] ssn = new char[SSN_LENGTH];
+					writeDigits(ssn, 0, areaNumber, AREA_NUMBER_LENGTH);
+					ssn[AREA_NUMBER_LENGTH] = '-';
+					writeDigits(ssn, GROUP_NUMBER_INDEX, groupNumber, GROUP_NUMBER_LENGTH);
+					ssn[GROUP_NUMBER_INDEX + GROUP_NUMBER_LENGTH] = '-';
+					writeDigits(ssn, SERIAL_NUMBER_INDEX, serialNumber, SERIAL_NUMBER_LENGTH);
+					return valueOf(ssn);
+				});
+	}
+
 	private void fillHyphens(char[] ssn) {
 		for (Integer index : HYPHEN_INDEXES) {
 			ssn[index] = '-';
@@ -4,6 +4,7 @@ import javax.inject.Inject;
 import java.util.function.Supplier;
 
 import com.devskiller.jfairy.producer.BaseProducer;
+import com.devskiller.jfairy.producer.Template;
 import com.devskiller.jfairy.producer.person.NationalIdentityCardNumberProvider;
 
 public class KaNationalIdentityCardNumberProvider implements NationalIdentityCardNumberProvider {
@@ -27,15 +28,15 @@ public class KaNationalIdentityCardNumberProvider implements NationalIdentityCar
 	private static class NewCardNumberProvider implements NationalIdentityCardNumberProvider {
 		private final static String NEW_CARD_MASK = "##??#####";
 
-		private final BaseProducer baseProducer;
+		private final Template mask;
 
 		public NewCardNumberProvider(BaseProducer baseProducer) {
-			this.baseProducer = baseProducer;
+			this.mask = baseProducer.compile(NEW_CARD_MASK);
 		}
 
 		@Override
 		public String get() {
-			return baseProducer.bothify(NEW_CARD_MASK).toUpperCase();
+			return mask.generate().toUpperCase();
 		}
 	}
 
@@ -1,8 +1,8 @@
 package com.devskiller.jfairy.producer.person.locale.pl;
 
 import javax.inject.Inject;
+import java.nio.CharBuffer;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 import com.google.inject.assistedinject.Assisted;
 
@@ -12,9 +12,11 @@ import com.devskiller.jfairy.producer.person.NationalIdentificationNumber;
 import com.devskiller.jfairy.producer.person.NationalIdentificationNumberProperties;
 import com.devskiller.jfairy.producer.person.NationalIdentificationNumberProvider;
 import com.devskiller.jfairy.producer.person.Person;
+import com.devskiller.jfairy.producer.person.UniqueIdSequence;
 
+import static com.devskiller.jfairy.producer.util.TextUtils.writeDigits;
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.Integer.valueOf;
-import static java.lang.String.format;
 
 /**
  * Spanish National Identification Number (known as PESEL or Polish Powszechny Elektroniczny System Ewidencji Ludności)
@@ -30,6 +32,8 @@ public class PlNationalIdentificationNumberProvider implements NationalIdentific
 	private static final int[] PERIOD_WEIGHTS = {80, 0, 20, 40, 60};
 	private static final int PERIOD_FACTOR = 100;
 	private static final int BEGIN_YEAR = 1800;
+	private static final LocalDate MIN_DATE = LocalDate.of(BEGIN_YEAR, 1, 1);
+	private static final LocalDate MAX_DATE = LocalDate.of(BEGIN_YEAR + PERIOD_WEIGHTS.length * PERIOD_FACTOR - 1, 12, 31);
 
 	private static final int[] WEIGHTS = {1, 3, 7, 9, 1, 3, 7, 9, 1, 3};
 	private static final int MAX_SERIAL_NUMBER = 999;
@@ -73,15 +77,47 @@ public class PlNationalIdentificationNumberProvider implements NationalIdentific
 	}
 
 	private String generate() {
-		int month = calculateMonth(issueDate.getMonthValue(), issueDate.getYear());
-		int day = issueDate.getDayOfMonth();
 		int serialNumber = baseProducer.randomInt(MAX_SERIAL_NUMBER);
 		int sexCode = calculateSexCode(sex);
+		return format(issueDate, serialNumber, sexCode);
+	}
 
-		String nationalIdentificationNumber = format("%s%02d%02d%03d%d",
-			DateTimeFormatter.ofPattern("uu").format(issueDate), month, day, serialNumber, sexCode);
+	private static String format(LocalDate date, int serialNumber, int sexCode) {
+		char[] number = new char[NATIONAL_IDENTIFICATION_NUMBER_LENGTH];
+		writeDigits(number, 0, date.getYear() % 100, 2);
+		writeDigits(number, 2, calculateMonth(date.getMonthValue(), date.getYear()), 2);
+		writeDigits(number, 4, date.getDayOfMonth(), 2);
+		writeDigits(number, 6, serialNumber, 3);
+		writeDigits(number, 9, sexCode, 1);
+		writeDigits(number, 10, calculateChecksum(CharBuffer.wrap(number)), 1);
+		return new String(number);
+	}
 
-		return nationalIdentificationNumber + calculateChecksum(nationalIdentificationNumber);
+	/**
+	 * Sequence of unique PESEL numbers of persons born between the dates, permuting all dates, serial numbers
+	 * and sex codes, e.g. 183 million numbers of one sex born in the 20th century. Numbers are different for male
+	 * and female persons, so sequences of both sexes with the same key and dates never repeat a number.
+	 *
+	 * @param key  key of the sequence, the same key gives the same sequence
+	 * @param from first date of birth, not before 1800
+	 * @param to   last date of birth, not after 2299
+	 * @param sex  sex of the persons, or null for both
+	 * @return sequence of unique numbers
+	 */
+	public static UniqueIdSequence uniqueNumbers(long key, LocalDate from, LocalDate to, Person.Sex sex) {
+		checkArgument(!from.isBefore(MIN_DATE) && !to.isAfter(MAX_DATE) && !to.isBefore(from),
+			"Dates of birth should be between %s and %s, found %s - %s", MIN_DATE, MAX_DATE, from, to);
+		long days = to.toEpochDay() - from.toEpochDay() + 1;
+		int serialNumbers = MAX_SERIAL_NUMBER + 1;
+		int sexCodes = sex != null ? SEX_FIELDS.length : TEN;
+		return new UniqueIdSequence("PESEL numbers", days * serialNumbers * sexCodes, key, position -> {
+			int sexCode = (int) (position % sexCodes);
+			long rest = position / sexCodes;
+			int serialNumber = (int) (rest % serialNumbers);
+			LocalDate date = from.plusDays(rest / serialNumbers);
+			return format(date, serialNumber,
+				sex != null ? SEX_FIELDS[sexCode] + (sex == Person.Sex.MALE ? 1 : 0) : sexCode);
+		});
 	}
 
 	public void setIssueDate(LocalDate issueDate) {
@@ -109,7 +145,7 @@ public class PlNationalIdentificationNumberProvider implements NationalIdentific
 
 	}
 
-	private int calculateMonth(int month, int year) {
+	private static int calculateMonth(int month, int year) {
 		return month + PERIOD_WEIGHTS[(year - BEGIN_YEAR) / PERIOD_FACTOR];
 	}
 
@@ -118,7 +154,7 @@ public class PlNationalIdentificationNumberProvider implements NationalIdentific
 		return SEX_FIELDS[baseProducer.randomInt(SEX_FIELDS.length - 1)] + (sex == Person.Sex.MALE ? 1 : 0);
 	}
 
-	private static int calculateChecksum(String nationalIdentificationNumber) {
+	private static int calculateChecksum(CharSequence nationalIdentificationNumber) {
 		int sum = 0;
 		int i = 0;
 		for (int weight : WEIGHTS) {
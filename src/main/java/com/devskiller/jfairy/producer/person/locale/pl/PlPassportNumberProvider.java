@@ -1,6 +1,5 @@
 package com.devskiller.jfairy.producer.person.locale.pl;
 
-import java.util.List;
 import java.util.Map;
 
 import com.google.common.collect.Maps;
@@ -25,19 +24,12 @@ public class PlPassportNumberProvider implements PassportNumberProvider {
 
 	private static final int[] WEIGHTS = new int[]{7, 3, 9, 1, 7, 3, 1, 7, 3};
 
-	private List<String> alphabet;
+	private static final Map<String, Integer> LETTER_DIGITS = generateLetterDigits();
 
-	private static Map<String, Integer> letterDigits = null;
-
-	public PlPassportNumberProvider() {
-		alphabet = AlphaNumberSystem.generateAlphabetList();
-		letterDigits = generateLetterDigits();
-	}
-
-	private Map<String, Integer> generateLetterDigits() {
+	private static Map<String, Integer> generateLetterDigits() {
 		Integer baseNum = 10;
 		Map<String, Integer> letterDigits = Maps.newHashMap();
-		for (String letter : alphabet) {
+		for (String letter : AlphaNumberSystem.generateAlphabetList()) {
 			letterDigits.put(letter, baseNum++);
 		}
 		return letterDigits;
@@ -61,7 +53,7 @@ public class PlPassportNumberProvider implements PassportNumberProvider {
 		Integer checkSum = 0;
 
 		for (int i = 0; i < 2; i++) {
-			Integer checkSumValue = letterDigits.get(valueOf(passport[i]));
+			Integer checkSumValue = LETTER_DIGITS.get(valueOf(passport[i]));
 			checkSum += checkSumValue * WEIGHTS[i];
 		}
 
@@ -89,7 +81,7 @@ public class PlPassportNumberProvider implements PassportNumberProvider {
 		int checkSum = 0;
 
 		for (int i = 0; i < 2; i++) {
-			Integer checkSumValue = letterDigits.get(valueOf(passport[i]));
+			Integer checkSumValue = LETTER_DIGITS.get(valueOf(passport[i]));
 			checkSum += checkSumValue * WEIGHTS[i];
 		}
 
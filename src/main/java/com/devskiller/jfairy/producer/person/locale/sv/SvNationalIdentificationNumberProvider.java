@@ -1,7 +1,6 @@
 package com.devskiller.jfairy.producer.person.locale.sv;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
@@ -12,8 +11,10 @@ import com.devskiller.jfairy.producer.person.NationalIdentificationNumber;
 import com.devskiller.jfairy.producer.person.NationalIdentificationNumberProperties;
 import com.devskiller.jfairy.producer.person.NationalIdentificationNumberProvider;
 import com.devskiller.jfairy.producer.person.Person;
+import com.devskiller.jfairy.producer.person.UniqueIdSequence;
 
-import static java.lang.String.format;
+import static com.devskiller.jfairy.producer.util.TextUtils.writeDigits;
+import static com.google.common.base.Preconditions.checkArgument;
 
 /**
  * Swedish National Identification Number (known as Personal Identity Number or Personnummer in sweden)
@@ -35,6 +36,8 @@ public class SvNationalIdentificationNumberProvider implements NationalIdentific
 	private static final int[] WEIGHTS = {2, 1, 2, 1, 2, 1, 2, 1, 2};
 	private static final int MAX_SERIAL_NUMBER = 99;
 	private static final int TEN = 10;
+	// years are written with two digits
+	private static final int MAX_YEARS = 100;
 
 	private static final int[] SEX_FIELDS = {0, 2, 4, 6, 8};
 
@@ -74,13 +77,46 @@ public class SvNationalIdentificationNumberProvider implements NationalIdentific
 	private String generate() {
 		int serialNumber = baseProducer.randomInt(MAX_SERIAL_NUMBER);
 		int sexCode = calculateSexCode(sex);
+		return format(issueDate, serialNumber, sexCode);
+	}
 
-		String nationalIdentificationNumber = format("%s%s%s-%02d%d",
-			DateTimeFormatter.ofPattern("uu").format(issueDate),
-			DateTimeFormatter.ofPattern("MM").format(issueDate),
-			DateTimeFormatter.ofPattern("dd").format(issueDate), serialNumber, sexCode);
+	private static String format(LocalDate date, int serialNumber, int sexCode) {
+		char[] number = new char[NATIONAL_IDENTIFICATION_NUMBER_LENGTH];
+		writeDigits(number, 0, date.getYear() % 100, 2);
+		writeDigits(number, 2, date.getMonthValue(), 2);
+		writeDigits(number, 4, date.getDayOfMonth(), 2);
+		number[6] = '-';
+		writeDigits(number, 7, serialNumber, 2);
+		writeDigits(number, 9, sexCode, 1);
+		writeDigits(number, 10, calculateChecksum(number), 1);
+		return new String(number);
+	}
 
-		return nationalIdentificationNumber + calculateChecksum(nationalIdentificationNumber);
+	/**
+	 * Sequence of unique personal identity numbers of persons born between the dates, permuting all dates, serial
+	 * numbers and sex codes, e.g. 18 million numbers of one sex born in the 20th century. Numbers are different
+	 * for male and female persons, so sequences of both sexes with the same key and dates never repeat a number.
+	 *
+	 * @param key  key of the sequence, the same key gives the same sequence
+	 * @param from first date of birth
+	 * @param to   last date of birth, less than 100 years after the first one (years have two digits)
+	 * @param sex  sex of the persons, or null for both
+	 * @return sequence of unique numbers
+	 */
+	public static UniqueIdSequence uniqueNumbers(long key, LocalDate from, LocalDate to, Person.Sex sex) {
+		checkArgument(!to.isBefore(from) && to.isBefore(from.plusYears(MAX_YEARS)),
+			"Dates of birth should be less than %s years apart, found %s - %s", MAX_YEARS, from, to);
+		long days = to.toEpochDay() - from.toEpochDay() + 1;
+		int serialNumbers = MAX_SERIAL_NUMBER + 1;
+		int sexCodes = sex != null ? SEX_FIELDS.length : TEN;
+		return new UniqueIdSequence("personal identity numbers", days * serialNumbers * sexCodes, key, position -> {
+			int sexCode = (int) (position % sexCodes);
+			long rest = position / sexCodes;
+			int serialNumber = (int) (rest % serialNumbers);
+			LocalDate date = from.plusDays(rest / serialNumbers);
+			return format(date, serialNumber,
+				sex != null ? SEX_FIELDS[sexCode] + (sex == Person.Sex.MALE ? 1 : 0) : sexCode);
+		});
 	}
 
 	public void setIssueDate(LocalDate issueDate) {
@@ -113,11 +149,17 @@ public class SvNationalIdentificationNumberProvider implements NationalIdentific
 	}
 
 	public static int calculateChecksum(String nationalIdentificationNumber) {
-		String nationalIdentificationNumberWithoutHyphen = nationalIdentificationNumber.replace("-", "");
+		return calculateChecksum(nationalIdentificationNumber.toCharArray());
+	}
+
+	private static int calculateChecksum(char[] nationalIdentificationNumber) {
 		int sum = 0;
 		int i = 0;
 		for (int weight : WEIGHTS) {
-			int digit = Character.digit(nationalIdentificationNumberWithoutHyphen.charAt(i++), 10);
+			while (nationalIdentificationNumber[i] == '-') {
+				i++;
+			}
+			int digit = Character.digit(nationalIdentificationNumber[i++], 10);
 			int product = digit * weight;
 			sum += (product / 10) + (product % 10);
 		}
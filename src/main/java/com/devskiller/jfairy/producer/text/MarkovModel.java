@@ -0,0 +1,163 @@
+package com.devskiller.jfairy.producer.text;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.devskiller.jfairy.producer.BaseProducer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apache.commons.lang3.StringUtils.split;
+
+/**
+ * Order-k Markov model of a corpus: the next word depends on the previous k words (the state). The corpus is treated
+ * as cyclic, so every state has a next word.
+ * <p>
+ * Transitions of all states are stored in flat arrays: transitions of state {@code s} are entries from
+ * {@code offsets[s]} to {@code offsets[s + 1]}, with the next word and the next state. There is an entry for every
+ * occurrence of the state in the corpus, so picking an entry uniformly picks next words with their corpus frequency.
+ * </p>
+ */
+final class MarkovModel {
+
+	private final int order;
+	private final String[] words;
+	// word indexes of the corpus
+	private final int[] corpus;
+	// corpus positions starting a sentence
+	private final int[] starts;
+	private final int[] stateAt;
+	private final int[] offsets;
+	private final int[] nextWords;
+	private final int[] nextStates;
+
+	MarkovModel(String corpus, int order) {
+		checkArgument(order > 0, "Order should be positive, found %s", order);
+		String[] tokens = split(corpus);
+		checkArgument(tokens.length > 0, "Corpus has no words");
+		this.order = order;
+		this.corpus = new int[tokens.length];
+		Map<String, Integer> indexes = new HashMap<>();
+		for (int i = 0; i < tokens.length; i++) {
+			Integer index = indexes.putIfAbsent(tokens[i], indexes.size());
+			this.corpus[i] = index != null ? index : indexes.size() - 1;
+		}
+		this.words = new String[indexes.size()];
+		for (Map.Entry<String, Integer> entry : indexes.entrySet()) {
+			words[entry.getValue()] = entry.getKey();
+		}
+
+		int length = tokens.length;
+		int[] sentenceStarts = new int[length];
+		int startCount = 0;
+		for (int i = 0; i < length; i++) {
+			if (i == 0 || tokens[i - 1].endsWith(".")) {
+				sentenceStarts[startCount++] = i;
+			}
+		}
+		this.starts = Arrays.copyOf(sentenceStarts, startCount);
+
+		this.stateAt = new int[length];
+		int stateCount = indexStates();
+
+		// counting sort of corpus positions by state
+		this.offsets = new int[stateCount + 1];
+		for (int state : stateAt) {
+			offsets[state + 1]++;
+		}
+		for (int i = 0; i < stateCount; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		int[] filled = Arrays.copyOf(offsets, stateCount);
+		this.nextWords = new int[length];
+		this.nextStates = new int[length];
+		for (int position = 0; position < length; position++) {
+			int entry = filled[stateAt[position]]++;
+			nextWords[entry] = word(position + order);
+			nextStates[entry] = stateAt[(position + 1) % length];
+		}
+	}
+
+	/**
+	 * Finds state (distinct k words) at every corpus position, using open addressing table of positions
+	 *
+	 * @return number of states
+	 */
+	private int indexStates() {
+		int length = corpus.length;
+		int capacity = Integer.highestOneBit(Math.max(length, 1) * 2 - 1) << 1;
+		int mask = capacity - 1;
+		// first position of the state plus one, 0 marks an empty slot
+		int[] positions = new int[capacity];
+		int[] states = new int[capacity];
+		int stateCount = 0;
+		for (int position = 0; position < length; position++) {
+			int slot = hash(position) & mask;
+			while (positions[slot] != 0 && !sameState(positions[slot] - 1, position)) {
+				slot = (slot + 1) & mask;
+			}
+			if (positions[slot] == 0) {
+				positions[slot] = position + 1;
+				states[slot] = stateCount++;
+			}
+			stateAt[position] = states[slot];
+		}
+		return stateCount;
+	}
+
+	private int hash(int position) {
+		int hash = 0;
+		for (int i = 0; i < order; i++) {
+			hash = hash * 31 + word(position + i);
+		}
+		hash *= 0x9E3779B9;
+		return hash ^ hash >>> 16;
+	}
+
+	private boolean sameState(int position, int other) {
+		for (int i = 0; i < order; i++) {
+			if (word(position + i) != word(other + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private int word(int position) {
+		return corpus[position % corpus.length];
+	}
+
+	Walker walker(BaseProducer baseProducer) {
+		return new Walker(baseProducer);
+	}
+
+	/**
+	 * Walks the model from a random sentence start, appending a word on every call. Walking does not allocate.
+	 */
+	final class Walker {
+
+		private final BaseProducer baseProducer;
+		private int position;
+		// words of the start state not appended yet
+		private int startWords;
+		private int state;
+
+		Walker(BaseProducer baseProducer) {
+			this.baseProducer = baseProducer;
+			this.position = starts[baseProducer.randomInt(starts.length - 1)];
+			this.startWords = order;
+			this.state = stateAt[position];
+		}
+
+		void appendWord(StringBuilder out) {
+			if (startWords > 0) {
+				out.append(words[word(position + order - startWords)]);
+				startWords--;
+				return;
+			}
+			int entry = offsets[state] + baseProducer.randomInt(offsets[state + 1] - offsets[state] - 1);
+			out.append(words[nextWords[entry]]);
+			state = nextStates[entry];
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.devskiller.jfairy.producer.text;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+
+import com.devskiller.jfairy.producer.BaseProducer;
+
+/**
+ * Generates text with word statistics of a corpus, using order-k Markov model: every word is picked with its
+ * frequency after the previous k words in the corpus. Texts start at a random sentence start of the corpus.
+ * Higher order gives more realistic, but less random text - for small corpora order 1 or 2 is recommended.
+ * <p>
+ * The model is built once, when the producer is created, so create the producer once and reuse it. Generating
+ * words does not allocate, besides the generated text and the random generator.
+ * </p>
+ */
+public final class MarkovTextProducer {
+
+	public static final int DEFAULT_ORDER = 2;
+
+	private final BaseProducer baseProducer;
+	private final MarkovModel model;
+
+	/**
+	 * @param baseProducer source of random numbers
+	 * @param corpus       text to learn from, words separated by whitespace
+	 * @param order        number of previous words determining the next word
+	 */
+	public MarkovTextProducer(BaseProducer baseProducer, String corpus, int order) {
+		this.baseProducer = baseProducer;
+		this.model = new MarkovModel(corpus, order);
+	}
+
+	/**
+	 * @param count number of words
+	 * @return words separated by spaces
+	 */
+	public String words(int count) {
+		StringBuilder text = new StringBuilder();
+		try {
+			writeWords(text, count);
+		} catch (IOException e) {
+			// not thrown by StringBuilder
+			throw new UncheckedIOException(e);
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Writes the desired number of words separated by spaces, in chunks, without building the whole text in memory
+	 *
+	 * @param out   destination of the text
+	 * @param count number of words
+	 * @return number of written chars
+	 * @throws IOException if writing to the destination fails
+	 */
+	public long writeWords(Appendable out, long count) throws IOException {
+		return TextChunks.writeUnits(out, count, ' ', model.walker(baseProducer)::appendWord);
+	}
+
+	/**
+	 * Writes words separated by spaces, until the desired number of chars is written. The last word may be cut.
+	 *
+	 * @param out      destination of the text
+	 * @param maxChars number of chars to write
+	 * @return number of written chars
+	 * @throws IOException if writing to the destination fails
+	 */
+	public long write(Appendable out, long maxChars) throws IOException {
+		return TextChunks.write(out, maxChars, ' ', model.walker(baseProducer)::appendWord);
+	}
+
+	/**
+	 * Writes encoded words separated by spaces, until the desired number of bytes is written or the next char does not
+	 * fit in the remaining bytes
+	 *
+	 * @param out      destination of the text
+	 * @param charset  encoding of the text
+	 * @param maxBytes number of bytes to write
+	 * @return number of written bytes
+	 * @throws IOException if writing to the stream fails
+	 */
+	public long write(OutputStream out, Charset charset, long maxBytes) throws IOException {
+		return TextChunks.write(out, charset, maxBytes, ' ', model.walker(baseProducer)::appendWord);
+	}
+}
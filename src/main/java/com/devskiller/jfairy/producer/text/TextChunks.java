@@ -0,0 +1,204 @@
+package com.devskiller.jfairy.producer.text;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Writes generated text units (words, sentences, paragraphs) separated by a separator. Units are generated into
+ * a reused chunk of about {@link #CHUNK_SIZE} chars, which is flushed to the destination, so memory use does not
+ * depend on the text length.
+ */
+final class TextChunks {
+
+	static final int CHUNK_SIZE = 8192;
+
+	private TextChunks() {
+	}
+
+	/**
+	 * Writes units until the desired number of chars is written. The last unit may be cut.
+	 *
+	 * @return number of written chars
+	 */
+	static long write(Appendable out, long maxChars, char separator, Consumer<StringBuilder> unit)
+			throws IOException {
+		checkArgument(maxChars >= 0, "Number of chars should not be negative, found %s", maxChars);
+		StringBuilder chunk = newChunk();
+		char[] chars = new char[chunk.capacity()];
+		long written = 0;
+		while (written < maxChars) {
+			fill(chunk, written == 0, separator, unit, Long.MAX_VALUE, maxChars - written);
+			int length = (int) Math.min(chunk.length(), maxChars - written);
+			chars = flush(out, chunk, length, chars);
+			written += length;
+		}
+		return written;
+	}
+
+	/**
+	 * Writes the desired number of units
+	 *
+	 * @return number of written chars
+	 */
+	static long writeUnits(Appendable out, long count, char separator, Consumer<StringBuilder> unit)
+			throws IOException {
+		checkArgument(count >= 0, "Number of units should not be negative, found %s", count);
+		StringBuilder chunk = newChunk();
+		char[] chars = new char[chunk.capacity()];
+		long remaining = count;
+		long written = 0;
+		while (remaining > 0) {
+			remaining -= fill(chunk, remaining == count, separator, unit, remaining, CHUNK_SIZE);
+			chars = flush(out, chunk, chunk.length(), chars);
+			written += chunk.length();
+		}
+		return written;
+	}
+
+	/**
+	 * Writes encoded units until the desired number of bytes is written or the next char does not fit
+	 * in the remaining bytes. The encoding is ended within the desired number of bytes, so text in a stateful
+	 * charset (e.g. ISO-2022-JP) ends in the initial shift state.
+	 * <p>
+	 * The last bytes are encoded char by char, each char ended like a whole text, so they can be cut at any char.
+	 * In stateful charsets these chars take more bytes than in the rest of the text.
+	 * </p>
+	 *
+	 * @return number of written bytes
+	 */
+	static long write(OutputStream out, Charset charset, long maxBytes, char separator, Consumer<StringBuilder> unit)
+			throws IOException {
+		checkArgument(maxBytes >= 0, "Number of bytes should not be negative, found %s", maxBytes);
+		CharsetEncoder encoder = charset.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		// room for a char which does not fit before the tail and for ending the encoding
+		long tailStart = maxBytes - 2 * (long) Math.ceil(encoder.maxBytesPerChar());
+		StringBuilder chunk = newChunk();
+		CharBuffer chars = CharBuffer.wrap(chunk);
+		ByteBuffer bytes = ByteBuffer.allocate(CHUNK_SIZE);
+		long written = 0;
+		boolean first = true;
+		while (written < tailStart) {
+			if (!chars.hasRemaining()) {
+				chars = nextChars(chunk, first, separator, unit, maxBytes - written);
+				first = false;
+			}
+			bytes.clear();
+			bytes.limit((int) Math.min(bytes.capacity(), tailStart - written));
+			CoderResult result = encoder.encode(chars, bytes, false);
+			written += write(out, result, bytes);
+			if (result.isOverflow() && bytes.limit() < bytes.capacity()) {
+				// the next char does not fit before the tail
+				break;
+			}
+		}
+
+		bytes.clear();
+		bytes.limit((int) Math.min(bytes.capacity(), maxBytes - written));
+		CoderResult ending = encoder.encode(CharBuffer.allocate(0), bytes, true);
+		if (ending.isUnderflow()) {
+			ending = encoder.flush(bytes);
+		}
+		checkState(ending.isUnderflow(), "Encoding cannot be ended in %s bytes", bytes.limit());
+		written += write(out, ending, bytes);
+
+		while (written < maxBytes) {
+			if (!chars.hasRemaining()) {
+				chars = nextChars(chunk, first, separator, unit, maxBytes - written);
+				first = false;
+			}
+			int start = chars.position();
+			int end = Character.isHighSurrogate(chars.get(start)) && chars.remaining() > 1 ? start + 2 : start + 1;
+			CharBuffer next = (CharBuffer) chars.duplicate().limit(end);
+			encoder.reset();
+			bytes.clear();
+			bytes.limit((int) Math.min(bytes.capacity(), maxBytes - written));
+			if (encoder.encode(next, bytes, true).isOverflow() || encoder.flush(bytes).isOverflow()) {
+				// the next char does not fit in the remaining bytes
+				break;
+			}
+			out.write(bytes.array(), 0, bytes.position());
+			written += bytes.position();
+			chars.position(end);
+		}
+		return written;
+	}
+
+	/**
+	 * Writes bytes encoded with the result
+	 *
+	 * @return number of written bytes
+	 */
+	private static int write(OutputStream out, CoderResult result, ByteBuffer bytes) throws IOException {
+		if (result.isError()) {
+			result.throwException();
+		}
+		out.write(bytes.array(), 0, bytes.position());
+		return bytes.position();
+	}
+
+	private static CharBuffer nextChars(StringBuilder chunk, boolean first, char separator,
+										Consumer<StringBuilder> unit, long maxChars) {
+		fill(chunk, first, separator, unit, Long.MAX_VALUE, maxChars);
+		return CharBuffer.wrap(chunk);
+	}
+
+	/**
+	 * Appends start of the chunk. Writers and buffers copy a char sequence to a new String when appending it,
+	 * so the chunk is passed to them through a reused array.
+	 *
+	 * @return the array, grown if the chunk did not fit
+	 */
+	private static char[] flush(Appendable out, StringBuilder chunk, int length, char[] chars) throws IOException {
+		if (!(out instanceof Writer || out instanceof CharBuffer)) {
+			out.append(chunk, 0, length);
+			return chars;
+		}
+		char[] array = chars.length >= length ? chars : new char[length];
+		chunk.getChars(0, length, array, 0);
+		if (out instanceof Writer) {
+			((Writer) out).write(array, 0, length);
+		} else {
+			((CharBuffer) out).put(array, 0, length);
+		}
+		return array;
+	}
+
+	private static StringBuilder newChunk() {
+		// room for the unit exceeding the chunk size
+		return new StringBuilder(CHUNK_SIZE + CHUNK_SIZE / 4);
+	}
+
+	/**
+	 * Generates units until the chunk has {@link #CHUNK_SIZE} chars or the desired number of chars, whichever
+	 * is smaller, so a short text does not generate a whole chunk
+	 *
+	 * @return number of generated units
+	 */
+	private static long fill(StringBuilder chunk, boolean first, char separator, Consumer<StringBuilder> unit,
+							 long maxUnits, long maxChars) {
+		chunk.setLength(0);
+		long length = Math.min(CHUNK_SIZE, maxChars);
+		long units = 0;
+		while (chunk.length() < length && units < maxUnits) {
+			if (!first || units > 0) {
+				chunk.append(separator);
+			}
+			unit.accept(chunk);
+			units++;
+		}
+		return units;
+	}
+}
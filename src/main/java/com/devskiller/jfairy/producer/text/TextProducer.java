@@ -4,6 +4,11 @@
 package com.devskiller.jfairy.producer.text;
 
 import javax.inject.Inject;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,19 +33,41 @@ public class TextProducer {
 
 	private final BaseProducer baseProducer;
 
-	private int limit = 0;
+	private int limit;
 
 	@Inject
 	public TextProducer(TextProducerInternal textProducerInternal, BaseProducer baseProducer) {
+		this(textProducerInternal, baseProducer, 0);
+	}
+
+	private TextProducer(TextProducerInternal textProducerInternal, BaseProducer baseProducer, int limit) {
 		this.textProducerInternal = textProducerInternal;
 		this.baseProducer = baseProducer;
+		this.limit = limit;
 	}
 
+	/**
+	 * Limits texts generated by this producer to desired length. The producer is changed, so don't call it
+	 * on a producer shared between threads - use {@link #withLimit(int)} instead.
+	 *
+	 * @param limit maximal text length, 0 for no limit
+	 * @return this producer
+	 */
 	public TextProducer limitedTo(int limit) {
 		this.limit = limit;
 		return this;
 	}
 
+	/**
+	 * Returns producer limiting generated texts to desired length. This producer is not changed.
+	 *
+	 * @param limit maximal text length, 0 for no limit
+	 * @return limited copy of this producer
+	 */
+	public TextProducer withLimit(int limit) {
+		return new TextProducer(textProducerInternal, baseProducer, limit);
+	}
+
 	public String result(String result) {
 		if (limit > 0) {
 			return left(result, limit);
@@ -107,6 +134,94 @@ public class TextProducer {
 				baseProducer.randomBetween(SENTENCE_COUNT_PRECISION_MIN, SENTENCE_COUNT_PRECISION_MAX))));
 	}
 
+	/**
+	 * Writes words separated by spaces, until the desired number of chars is written. The last word may be cut.
+	 * Texts are written in chunks, without building the whole text in memory. The producer limit is not used.
+	 *
+	 * @param out      destination of the text
+	 * @param maxChars number of chars to write
+	 * @return number of written chars
+	 * @throws IOException if writing to the destination fails
+	 */
+	public long writeWords(Appendable out, long maxChars) throws IOException {
+		return TextChunks.write(out, maxChars, ' ', this::appendWord);
+	}
+
+	/**
+	 * Writes sentences separated by spaces, until the desired number of chars is written. The last sentence may be
+	 * cut. Texts are written in chunks, without building the whole text in memory. The producer limit is not used.
+	 *
+	 * @param out      destination of the text
+	 * @param maxChars number of chars to write
+	 * @return number of written chars
+	 * @throws IOException if writing to the destination fails
+	 */
+	public long writeSentences(Appendable out, long maxChars) throws IOException {
+		return TextChunks.write(out, maxChars, ' ', this::appendSentence);
+	}
+
+	/**
+	 * Writes paragraphs (like {@link #paragraph()}) separated by new lines, until the desired number of chars is
+	 * written. The last paragraph may be cut. Texts are written in chunks, without building the whole text in memory.
+	 * The producer limit is not used.
+	 *
+	 * @param out      destination of the text, e.g. a {@link java.io.Writer}
+	 * @param maxChars number of chars to write
+	 * @return number of written chars
+	 * @throws IOException if writing to the destination fails
+	 */
+	public long writeParagraphs(Appendable out, long maxChars) throws IOException {
+		return TextChunks.write(out, maxChars, '\n', this::appendParagraph);
+	}
+
+	/**
+	 * Fills remaining space of the buffer with paragraphs, like {@link #writeParagraphs(Appendable, long)}
+	 *
+	 * @param out destination of the text
+	 * @return number of written chars
+	 */
+	public int writeParagraphs(CharBuffer out) {
+		try {
+			return (int) writeParagraphs(out, out.remaining());
+		} catch (IOException e) {
+			// not thrown by CharBuffer
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Writes encoded paragraphs, like {@link #writeParagraphs(Appendable, long)}, until the desired number of bytes
+	 * is written or the next char does not fit in the remaining bytes.
+	 *
+	 * @param out      destination of the text
+	 * @param charset  encoding of the text
+	 * @param maxBytes number of bytes to write
+	 * @return number of written bytes
+	 * @throws IOException if writing to the stream fails
+	 */
+	public long writeParagraphs(OutputStream out, Charset charset, long maxBytes) throws IOException {
+		return TextChunks.write(out, charset, maxBytes, '\n', this::appendParagraph);
+	}
+
+	private void appendWord(StringBuilder out) {
+		out.append(textProducerInternal.cleanWord());
+	}
+
+	private void appendSentence(StringBuilder out) {
+		textProducerInternal.appendSentence(out, DEFAULT_WORD_COUNT_IN_SENTENCE);
+	}
+
+	private void appendParagraph(StringBuilder out) {
+		int sentenceCount = DEFAULT_SENTENCE_COUNT +
+				baseProducer.randomBetween(SENTENCE_COUNT_PRECISION_MIN, SENTENCE_COUNT_PRECISION_MAX);
+		for (int i = 0; i < sentenceCount; i++) {
+			if (i > 0) {
+				out.append(' ');
+			}
+			appendSentence(out);
+		}
+	}
+
 	/**
 	 * Generates random string with desired length
 	 *
@@ -4,20 +4,15 @@
 package com.devskiller.jfairy.producer.text;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-import com.google.common.base.Joiner;
-import com.google.common.base.Splitter;
-
 import com.devskiller.jfairy.data.DataMaster;
 import com.devskiller.jfairy.producer.BaseProducer;
 import com.devskiller.jfairy.producer.util.TextUtils;
 
-import static com.google.common.collect.Lists.newArrayList;
-import static java.util.Arrays.asList;
 import static org.apache.commons.lang3.StringUtils.capitalize;
-import static org.apache.commons.lang3.StringUtils.endsWith;
-import static org.apache.commons.lang3.StringUtils.removeEnd;
 import static org.apache.commons.lang3.StringUtils.replaceChars;
 import static org.apache.commons.lang3.StringUtils.split;
 import static org.apache.commons.lang3.StringUtils.uncapitalize;
@@ -38,31 +33,40 @@ class TextProducerInternal {
 
 	private final String text;
 
-	private final List<String> words;
+	private final List<Token> words;
 
 	private final String alphabet;
 
 	private final int maxAlphabetIndex;
 
-	private final List<String> latinWords;
+	private final List<Token> latinWords;
 
 	@Inject
 	public TextProducerInternal(DataMaster dataMaster, BaseProducer baseProducer) {
 		this.baseProducer = baseProducer;
 		loremIpsum = dataMaster.getString(LOREM_IPSUM);
 		text = dataMaster.getString(TEXT);
-		words = asList(split(text, ' '));
-		latinWords = asList(split(loremIpsum, ' '));
+		words = tokens(text);
+		latinWords = tokens(loremIpsum);
 		alphabet = dataMaster.getString(ALPHABET);
 		maxAlphabetIndex = alphabet.length() - 1;
 	}
 
+	private static List<Token> tokens(String text) {
+		List<Token> tokens = new ArrayList<>();
+		for (String word : split(text, ' ')) {
+			tokens.add(new Token(word));
+		}
+		// legacy sampling shuffles the list in place
+		return Arrays.asList(tokens.toArray(new Token[0]));
+	}
+
 	public String loremIpsum() {
 		return loremIpsum;
 	}
 
 	public String rawWords(List<String> words, int count, int precision) {
-		List<String> result = readRawWords(words, count, precision);
+		List<String> result = baseProducer.randomElements(words, baseProducer.randomBetween(count, count + precision));
 		return TextUtils.joinWithSpace(result);
 	}
 
@@ -74,12 +78,21 @@ class TextProducerInternal {
 		return cleanWords(words, count);
 	}
 
-	private String cleanWords(List<String> words, int count) {
-		List<String> result = newArrayList();
-		for (String part : readRawWords(words, count, 0)) {
-			result.add(uncapitalize(replaceChars(part, "., ", "")));
+	public String cleanWord() {
+		return baseProducer.randomElement(words).clean;
+	}
+
+	private String cleanWords(List<Token> words, int count) {
+		StringBuilder result = new StringBuilder();
+		boolean first = true;
+		for (Token token : readRawWords(words, count, 0)) {
+			if (!first) {
+				result.append(' ');
+			}
+			result.append(token.clean);
+			first = false;
 		}
-		return TextUtils.joinWithSpace(result);
+		return result.toString();
 	}
 
 	public String randomString(int charsCount) {
@@ -90,7 +103,7 @@ class TextProducerInternal {
 		return sb.toString();
 	}
 
-	private List<String> readRawWords(List<String> words, int count, int precision) {
+	private List<Token> readRawWords(List<Token> words, int count, int precision) {
 		return baseProducer.randomElements(words, baseProducer.randomBetween(count, count + precision));
 	}
 
@@ -106,17 +119,58 @@ class TextProducerInternal {
 		return sentence(latinWords, wordCount);
 	}
 
-	private String sentence(List<String> words, int wordCount) {
-		String randomWords = rawWords(words, wordCount, WORD_COUNT_PRECISION_IN_SENTENCE);
-		List<String> sentences = newArrayList();
-		for (String sentence : Splitter.on(". ").split(randomWords)) {
-			sentences.add(capitalize(sentence));
+	/**
+	 * Appends sentence like {@link #sentence(int)}
+	 */
+	public void appendSentence(StringBuilder out, int wordCount) {
+		appendSentence(out, words, wordCount);
+	}
+
+	private String sentence(List<Token> words, int wordCount) {
+		StringBuilder sentence = new StringBuilder();
+		appendSentence(sentence, words, wordCount);
+		return sentence.toString();
+	}
+
+	/**
+	 * Appends random words separated by spaces, capitalizing the first word and words after words ending with a dot.
+	 * The sentence ends with a dot instead of a trailing comma.
+	 */
+	private void appendSentence(StringBuilder out, List<Token> words, int wordCount) {
+		int start = out.length();
+		boolean capitalize = true;
+		for (Token token : readRawWords(words, wordCount, WORD_COUNT_PRECISION_IN_SENTENCE)) {
+			if (out.length() > start) {
+				out.append(' ');
+			}
+			out.append(capitalize ? token.capitalized : token.word);
+			capitalize = token.endsSentence;
+		}
+		int end = out.length();
+		if (end > start && out.charAt(end - 1) == ',') {
+			out.setLength(--end);
 		}
-		String sentence = capitalize(Joiner.on(". ").join(sentences));
-		sentence = removeEnd(sentence, ",");
-		if (!endsWith(sentence, ".")) {
-			sentence += ".";
+		if (end == start || out.charAt(end - 1) != '.') {
+			out.append('.');
+		}
+	}
+
+	/**
+	 * Word of the text with its forms used in generated texts, computed once
+	 */
+	private static final class Token {
+
+		private final String word;
+		private final String capitalized;
+		private final String clean;
+		// the next word starts a new sentence
+		private final boolean endsSentence;
+
+		private Token(String word) {
+			this.word = word;
+			this.capitalized = capitalize(word);
+			this.clean = uncapitalize(replaceChars(word, "., ", ""));
+			this.endsSentence = word.endsWith(".");
 		}
-		return sentence;
 	}
 }
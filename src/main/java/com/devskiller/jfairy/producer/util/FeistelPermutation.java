@@ -0,0 +1,76 @@
+package com.devskiller.jfairy.producer.util;
+
+import com.devskiller.jfairy.producer.RandomGenerator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Keyed pseudorandom permutation of the numbers from 0 to size - 1, e.g. to map consecutive indexes to unique
+ * random looking identifiers without storing them. A balanced Feistel network permutes the smallest domain
+ * of 2<sup>2k</sup> numbers containing the range, and numbers outside of the range are permuted again (cycle
+ * walking) until they fall into it, which takes less than 4 rounds of the network on average.
+ */
+public final class FeistelPermutation {
+
+	private static final int ROUNDS = 6;
+	private static final int MAX_HALF_BITS = 31;
+
+	private final long size;
+	private final int halfBits;
+	private final long halfMask;
+	private final long[] roundKeys = new long[ROUNDS];
+
+	/**
+	 * @param size number of permuted numbers
+	 * @param key  key of the permutation, the same key gives the same permutation
+	 */
+	public FeistelPermutation(long size, long key) {
+		checkArgument(size > 0, "Size should be positive, found %s", size);
+		int bits = 64 - Long.numberOfLeadingZeros(size - 1);
+		this.size = size;
+		this.halfBits = Math.max(1, (bits + 1) / 2);
+		checkArgument(halfBits <= MAX_HALF_BITS, "Size should be at most 2^%s, found %s", 2 * MAX_HALF_BITS, size);
+		this.halfMask = (1L << halfBits) - 1;
+		for (int i = 0; i < ROUNDS; i++) {
+			roundKeys[i] = RandomGenerator.split(key, i);
+		}
+	}
+
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * @param index number from 0 to size - 1
+	 * @return number from 0 to size - 1, different for every index
+	 */
+	public long apply(long index) {
+		checkArgument(index >= 0 && index < size, "Index should be between 0 and %s, found %s", size - 1, index);
+		long value = index;
+		do {
+			value = encrypt(value);
+		} while (value >= size);
+		return value;
+	}
+
+	private long encrypt(long value) {
+		long left = value >>> halfBits;
+		long right = value & halfMask;
+		for (long roundKey : roundKeys) {
+			long next = left ^ (round(right, roundKey) & halfMask);
+			left = right;
+			right = next;
+		}
+		return (left << halfBits) | right;
+	}
+
+	/**
+	 * Finalizer of SplitMix64 applied to the half and the round key
+	 */
+	private static long round(long half, long roundKey) {
+		long z = half ^ roundKey;
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
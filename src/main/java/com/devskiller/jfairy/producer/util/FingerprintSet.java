@@ -0,0 +1,168 @@
+package com.devskiller.jfairy.producer.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Compact set of strings, keeping only 64-bit fingerprints of the strings in an open addressing table of longs.
+ * A value takes between 11 and 22 bytes (10.7 - 21.3 MB per million values, depending on how full the table is
+ * since it last grew), instead of over 100 bytes of a {@code HashSet<String>} entry with its string.
+ * <p>
+ * Different strings may have the same fingerprint, so a string may be reported as added before (with probability
+ * about n / 2<sup>64</sup> for n added strings), but an added string is never reported as new. Unique values
+ * created by {@link #addUnique(String, int)} are therefore never repeated.
+ * </p>
+ * Methods are synchronized, so the set can be shared by parallel streams.
+ */
+public final class FingerprintSet {
+
+	private static final int MIN_CAPACITY = 16;
+	private static final int MAX_CAPACITY = 1 << 30;
+	private static final long EMPTY = 0;
+	private static final int MAX_SUFFIX_DIGITS = 18;
+	private static final long MIN_SUFFIX_BOUND = 100;
+	private static final long MAX_SUFFIX_BOUND = 1_000_000_000_000_000_000L;
+	private static final int ATTEMPTS_PER_SUFFIX_DIGIT = 4;
+
+	private long[] table;
+	private int size;
+	// values added before, starting another sequence of numbers for every repeat
+	private long repeats;
+
+	public FingerprintSet() {
+		this(MIN_CAPACITY);
+	}
+
+	/**
+	 * @param expectedSize number of values which can be added before the table grows
+	 */
+	public FingerprintSet(int expectedSize) {
+		checkArgument(expectedSize >= 0, "Expected size should not be negative, found %s", expectedSize);
+		int capacity = MIN_CAPACITY;
+		while (capacity < MAX_CAPACITY && maxSize(capacity) < expectedSize) {
+			capacity <<= 1;
+		}
+		table = new long[capacity];
+	}
+
+	/**
+	 * @return true if the value was not added before (or a value with the same fingerprint)
+	 */
+	public synchronized boolean add(CharSequence value) {
+		return add(fingerprint(value));
+	}
+
+	public synchronized boolean contains(CharSequence value) {
+		long fingerprint = fingerprint(value);
+		int mask = table.length - 1;
+		for (int slot = (int) fingerprint & mask; table[slot] != EMPTY; slot = (slot + 1) & mask) {
+			if (table[slot] == fingerprint) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Adds the value, or the value with a number inserted at the position if the value was added before. Numbers
+	 * are derived from the value and the number of repeated values so far, so the same values added in the same
+	 * order get the same numbers. Numbers are drawn from a range ten times larger than the number of repeated
+	 * values (at least 1 - 99), so that a number is usually new even for the most repeated values, and the range
+	 * grows after a few attempts.
+	 *
+	 * @param value    added value
+	 * @param suffixAt position of the number in the value, e.g. before {@code '@'} of an email
+	 * @return the value or the value with a number, not added before
+	 */
+	public synchronized String addUnique(String value, int suffixAt) {
+		long valueFingerprint = fingerprint(value);
+		if (add(valueFingerprint)) {
+			return value;
+		}
+		checkArgument(suffixAt >= 0 && suffixAt <= value.length(), "Invalid suffix position %s of %s",
+				suffixAt, value);
+		// every repeat draws other numbers, so the nth repeat of a value does not retry numbers of the previous ones
+		long numbers = mix(valueFingerprint ^ repeats++);
+		long bound = Math.max(MIN_SUFFIX_BOUND, Math.min(repeats * 10, MAX_SUFFIX_BOUND));
+		StringBuilder candidate = new StringBuilder(value.length() + MAX_SUFFIX_DIGITS);
+		for (int attempt = 1; ; attempt++) {
+			long number = 1 + Long.remainderUnsigned(mix(numbers + attempt), bound - 1);
+			if (attempt % ATTEMPTS_PER_SUFFIX_DIGIT == 0 && bound < MAX_SUFFIX_BOUND) {
+				bound *= 10;
+			}
+			candidate.setLength(0);
+			candidate.append(value, 0, suffixAt).append(number).append(value, suffixAt, value.length());
+			if (add(fingerprint(candidate))) {
+				return candidate.toString();
+			}
+		}
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * @return size of the fingerprint table in bytes
+	 */
+	public synchronized long getMemoryBytes() {
+		return (long) table.length * Long.BYTES;
+	}
+
+	private boolean add(long fingerprint) {
+		int mask = table.length - 1;
+		int slot = (int) fingerprint & mask;
+		while (table[slot] != EMPTY) {
+			if (table[slot] == fingerprint) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = fingerprint;
+		if (++size > maxSize(table.length)) {
+			grow();
+		}
+		return true;
+	}
+
+	private void grow() {
+		checkState(table.length < MAX_CAPACITY, "Fingerprint set is full with %s values", size);
+		long[] oldTable = table;
+		table = new long[oldTable.length << 1];
+		int mask = table.length - 1;
+		for (long fingerprint : oldTable) {
+			if (fingerprint != EMPTY) {
+				int slot = (int) fingerprint & mask;
+				while (table[slot] != EMPTY) {
+					slot = (slot + 1) & mask;
+				}
+				table[slot] = fingerprint;
+			}
+		}
+	}
+
+	private static int maxSize(int capacity) {
+		return capacity / 4 * 3;
+	}
+
+	/**
+	 * @return FNV-1a hash of the chars, mixed so that low bits can index the table, and never {@link #EMPTY}
+	 */
+	static long fingerprint(CharSequence value) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < value.length(); i++) {
+			hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+		}
+		hash = mix(hash);
+		return hash != EMPTY ? hash : 1;
+	}
+
+	/**
+	 * Finalizer of MurmurHash3
+	 */
+	private static long mix(long hash) {
+		hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+		hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return hash ^ (hash >>> 33);
+	}
+}
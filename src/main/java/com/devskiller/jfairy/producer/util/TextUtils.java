@@ -17,8 +17,31 @@ public final class TextUtils {
 	}
 
 	public static String stripAccents(String s) {
+		// most generated values have no accents, and normalizing them allocates a lot
+		if (s == null || isAscii(s)) {
+			return s;
+		}
 		// Replace polish character ł since bug https://issues.apache.org/jira/browse/LANG-1120
-		return org.apache.commons.lang3.StringUtils.stripAccents(s).replaceAll("ł", "l").replaceAll("Ł", "L");
+		return org.apache.commons.lang3.StringUtils.stripAccents(s).replace('ł', 'l').replace('Ł', 'L');
+	}
+
+	/**
+	 * Writes the value as decimal digits, padded with leading zeros to the length
+	 */
+	public static void writeDigits(char[] chars, int offset, int value, int length) {
+		for (int i = offset + length - 1; i >= offset; i--) {
+			chars[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+	}
+
+	public static boolean isAscii(CharSequence s) {
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) >= 0x80) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 }
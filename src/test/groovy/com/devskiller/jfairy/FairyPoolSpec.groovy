@@ -0,0 +1,37 @@
+package com.devskiller.jfairy
+
+import spock.lang.Specification
+
+import com.devskiller.jfairy.producer.person.Person
+
+class FairyPoolSpec extends Specification {
+
+	FairyPool pool = new FairyPool()
+
+	def "should create the same data as Bootstrap for the same random seed"() {
+		given:
+			Fairy bootstrapFairy = Fairy.builder().withLocale(Locale.forLanguageTag("pl")).withRandomSeed(10).build()
+			Fairy pooledFairy = pool.create(Locale.forLanguageTag("pl"), 10)
+
+		expect:
+			bootstrapFairy.person().fullName == pooledFairy.person().fullName
+			bootstrapFairy.company().name == pooledFairy.company().name
+	}
+
+	def "should create independent instances sharing data"() {
+		given:
+			Fairy firstFairy = pool.create(Locale.ENGLISH, 10)
+			Person firstPerson = firstFairy.person()
+			Fairy secondFairy = pool.create(Locale.ENGLISH, 10)
+
+		expect:
+			secondFairy.person().fullName == firstPerson.fullName
+			!firstFairy.is(secondFairy)
+	}
+
+	def "should read data per locale"() {
+		expect:
+			pool.create(Locale.forLanguageTag("de")).person().nationality.code == 'DE'
+			pool.create(Locale.forLanguageTag("sv")).person().nationality.code == 'SE'
+	}
+}
@@ -1,11 +1,22 @@
 package com.devskiller.jfairy
 
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+
 import com.google.inject.Provider
 import spock.lang.Specification
+import spock.lang.Unroll
 
+import com.devskiller.jfairy.data.DataKey
 import com.devskiller.jfairy.data.DataMaster
+import com.devskiller.jfairy.data.Picker
+import com.devskiller.jfairy.producer.RandomBackend
 import com.devskiller.jfairy.producer.person.Person
 
+import static com.devskiller.jfairy.producer.person.PersonProperties.minAge
+
 class FairySpec extends Specification {
 
 	private static final String CUSTOM_STRING = 'Custom Data Master'
@@ -15,6 +26,12 @@ class FairySpec extends Specification {
 		getStringList(_ as String) >> Arrays.asList(CUSTOM_STRING)
 		getValuesOfType(_ as String, _ as String, String.class) >> CUSTOM_STRING
 		getRandomValue(_ as String) >> CUSTOM_STRING
+		getString(_ as DataKey) >> CUSTOM_STRING
+		getStringList(_ as DataKey) >> Arrays.asList(CUSTOM_STRING)
+		getValuesOfType(_ as DataKey, _ as String) >> CUSTOM_STRING
+		getRandomValue(_ as DataKey) >> CUSTOM_STRING
+		picker(_ as DataKey) >> ({ CUSTOM_STRING } as Picker)
+		picker(_ as DataKey, _ as String) >> ({ CUSTOM_STRING } as Picker)
 	}
 
 	Provider<DataMaster> customDataMasterProvider = Stub(Provider) {
@@ -61,6 +78,63 @@ class FairySpec extends Specification {
 			!firstPerson.fullName.equals(thirdPerson.fullName)
 	}
 
+	def "Second person should be the same with the same random seed and backend"() {
+
+		given:
+			Fairy firstFairy = Fairy.builder().withRandomBackend(RandomBackend.PCG32).withRandomSeed(10).build()
+			Fairy secondFairy = Fairy.builder().withRandomSeed(10).withRandomBackend(RandomBackend.PCG32).build()
+
+		expect:
+			firstFairy.person().fullName == secondFairy.person().fullName
+			firstFairy.person().fullName == secondFairy.person().fullName
+	}
+
+	@Unroll
+	def "should generate the same data by every Fairy built by one builder with #data data"() {
+
+		given:
+			Bootstrap.Builder builder = Fairy.builder().withRandomSeed(10)
+			if (data == 'binary') {
+				builder.withBinaryData()
+			}
+			Fairy firstFairy = builder.build()
+			Fairy secondFairy = builder.build()
+
+		expect:
+			(1..5).every {
+				Person firstPerson = firstFairy.person()
+				Person secondPerson = secondFairy.person()
+				firstPerson.fullName == secondPerson.fullName &&
+						firstPerson.address.toString() == secondPerson.address.toString() &&
+						firstPerson.company.name == secondPerson.company.name
+			}
+			firstFairy.textProducer().sentence() == secondFairy.textProducer().sentence()
+
+		where:
+			data << ['YAML', 'binary']
+	}
+
+	def "should generate persons from many threads in thread safe mode"() {
+
+		given:
+			Fairy fairy = Fairy.builder().withThreadSafeMode().withRandomBackend(RandomBackend.XOROSHIRO128PP).build()
+			ExecutorService executor = Executors.newFixedThreadPool(8)
+
+		when:
+			List<Future<List<String>>> results = (1..8).collect {
+				executor.submit({ (1..200).collect { fairy.person(minAge(18)).fullName } } as Callable)
+			}
+			List<String> names = results.collectMany { it.get() }
+
+		then:
+			names.size() == 1600
+			names.every { it }
+			names.toSet().size() > 100
+
+		cleanup:
+			executor.shutdown()
+	}
+
 	def "Second person should be different with different random seeds"() {
 
 		given:
@@ -0,0 +1,203 @@
+package com.devskiller.jfairy
+
+import java.util.stream.Collectors
+import java.util.stream.Stream
+
+import com.google.inject.Provider
+import spock.lang.Specification
+
+import com.devskiller.jfairy.data.DataMaster
+import com.devskiller.jfairy.producer.person.Person
+import com.devskiller.jfairy.producer.util.LanguageCode
+
+import static com.devskiller.jfairy.producer.payment.IBANProperties.country
+import static com.devskiller.jfairy.producer.person.PersonProperties.male
+import static com.devskiller.jfairy.producer.person.PersonProperties.minAge
+
+class FairyStreamSpec extends Specification {
+
+	def "should generate the same persons in sequential and parallel stream"() {
+		given:
+			int count = FairySpliterator.CHUNK_SIZE * 3 + 10
+			List<String> sequential = names(Fairy.builder().withRandomSeed(10).build().personStream().limit(count))
+			List<String> parallel = names(Fairy.builder().withRandomSeed(10).build().personStream().limit(count).parallel())
+
+		expect:
+			sequential.size() == count
+			parallel == sequential
+	}
+
+	def "should generate the same persons in sequential and parallel stream with record seeding"() {
+		given:
+			int count = FairySpliterator.CHUNK_SIZE + 10
+			Fairy sequentialFairy = Fairy.builder().withRandomSeed(10).withRecordSeeding().build()
+			Fairy parallelFairy = Fairy.builder().withRandomSeed(10).withRecordSeeding().build()
+
+		when:
+			List<String> sequential = names(sequentialFairy.persons(count).stream())
+			List<String> parallel = names(parallelFairy.personStream().parallel().limit(count))
+
+		then:
+			parallel == sequential
+	}
+
+	def "should generate ranges of the same stream"() {
+		given:
+			int chunk = Fairy.STREAM_CHUNK_SIZE
+			Fairy fairy = Fairy.create()
+			List<String> whole = names(fairy.streamRange(5, 0, chunk * 3, { it.personGenerator() }))
+
+		when:
+			List<String> tail = names(Fairy.create().streamRange(5, chunk, chunk * 3, { it.personGenerator() }))
+			List<String> middle = names(fairy.streamRange(5, chunk * 2, chunk * 2 + 10, { it.personGenerator() }))
+
+		then:
+			tail == whole.subList(chunk, chunk * 3)
+			middle == whole.subList(chunk * 2, chunk * 2 + 10)
+	}
+
+	def "should require range starting at a chunk"() {
+		when:
+			Fairy.create().streamRange(5, 10, 20, { it.personGenerator() })
+
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "should generate the same persons for the same seed"() {
+		expect:
+			names(Fairy.builder().withRandomSeed(7).build().persons(20).stream()) ==
+					names(Fairy.builder().withRandomSeed(7).build().persons(20).stream())
+	}
+
+	def "should generate different persons in consecutive streams"() {
+		given:
+			Fairy fairy = Fairy.builder().withRandomSeed(7).build()
+
+		expect:
+			names(fairy.persons(20).stream()) != names(fairy.persons(20).stream())
+	}
+
+	def "should apply person properties to all streamed persons"() {
+		when:
+			List<Person> persons = Fairy.create().persons(50, male(), minAge(30))
+
+		then:
+			persons.size() == 50
+			persons.every { it.male && it.age >= 30 }
+	}
+
+	def "should generate companies, IBANs and credit cards in bulk"() {
+		given:
+			Fairy fairy = Fairy.create()
+
+		expect:
+			fairy.companies(10).size() == 10
+			fairy.ibans(10, country("PL")).every { it.ibanNumber.startsWith("PL") }
+			fairy.creditCardStream().limit(10).count() == 10
+			fairy.creditCards(10).every { it.cardNumber }
+	}
+
+	def "should not take forks reused by streams for lazy persons"() {
+		given:
+			Fairy fairy = Fairy.create()
+			fairy.persons(10)
+
+		when:
+			fairy.lazyPersonGenerator().get().fullName
+
+		then:
+			fairy.forkPool().idleCount() == 1
+	}
+
+	def "should reuse fork of an exhausted stream"() {
+		given:
+			Fairy fairy = Fairy.create()
+
+		when:
+			fairy.persons(10)
+			fairy.persons(10)
+
+		then:
+			fairy.forkPool().idleCount() == 1
+	}
+
+	def "should return fork of a closed stream"() {
+		given:
+			Fairy fairy = Fairy.create()
+			Stream<Person> stream = fairy.personStream()
+			Iterator<Person> persons = stream.iterator()
+			persons.next()
+
+		when:
+			stream.close()
+
+		then:
+			fairy.forkPool().idleCount() == 1
+
+		when:
+			persons.next()
+
+		then:
+			IllegalStateException e = thrown()
+			e.message == "Stream has been closed"
+	}
+
+	def "should return fork of an abandoned limited stream"() {
+		given:
+			Fairy fairy = Fairy.create()
+
+		when:
+			fairy.personStream().limit(5).count()
+
+		then:
+			fairy.forkPool().idleCount() == 0
+
+		when:
+			boolean returned = (1..50).any {
+				System.gc()
+				sleep(20)
+				fairy.forkPool().idleCount() == 1
+			}
+
+		then:
+			returned
+	}
+
+	def "should generate the same persons with forks of abandoned streams"() {
+		given:
+			Fairy fairy = Fairy.builder().withRandomSeed(7).build()
+			Fairy reference = Fairy.builder().withRandomSeed(7).build()
+
+		when:
+			fairy.personStream().limit(5).count()
+			reference.personStream().limit(5).count()
+			(1..50).any {
+				System.gc()
+				sleep(20)
+				fairy.forkPool().idleCount() == 1
+			}
+
+		then:
+			names(fairy.persons(20).stream()) == names(reference.persons(20).stream())
+	}
+
+	def "should reject streams of a custom data master"() {
+		given:
+			DataMaster dataMaster = Stub(DataMaster) {
+				getLanguage() >> LanguageCode.EN
+			}
+			Fairy fairy = Fairy.create({ dataMaster } as Provider<DataMaster>, Locale.ENGLISH)
+
+		when:
+			fairy.persons(1)
+
+		then:
+			IllegalStateException e = thrown()
+			e.message.startsWith("Streams and lazy persons require data master extending AbstractDataMaster")
+	}
+
+	private static List<String> names(Stream<Person> persons) {
+		persons.map { it.fullName }.collect(Collectors.toList())
+	}
+}
@@ -0,0 +1,115 @@
+package com.devskiller.jfairy.data
+
+import java.nio.ByteBuffer
+import java.nio.file.Files
+import java.nio.file.Path
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import com.devskiller.jfairy.Fairy
+import com.devskiller.jfairy.producer.BaseProducer
+import com.devskiller.jfairy.producer.RandomGenerator
+import com.devskiller.jfairy.producer.person.Person
+
+class BinaryDataMasterSpec extends Specification {
+
+	@Unroll
+	def "should generate the same data as YAML files for #language"() {
+		given:
+			Fairy yamlFairy = Fairy.builder().withLocale(Locale.forLanguageTag(language)).withRandomSeed(7).build()
+			Fairy binaryFairy = Fairy.builder().withLocale(Locale.forLanguageTag(language)).withRandomSeed(7).withBinaryData().build()
+
+		expect:
+			(1..20).every {
+				Person yamlPerson = yamlFairy.person()
+				Person binaryPerson = binaryFairy.person()
+				yamlPerson.fullName == binaryPerson.fullName &&
+						yamlPerson.email == binaryPerson.email &&
+						yamlPerson.telephoneNumber == binaryPerson.telephoneNumber &&
+						yamlPerson.address.toString() == binaryPerson.address.toString() &&
+						yamlPerson.company.name == binaryPerson.company.name &&
+						yamlPerson.companyEmail == binaryPerson.companyEmail
+			}
+			yamlFairy.creditCard().cardNumber == binaryFairy.creditCard().cardNumber
+			yamlFairy.textProducer().paragraph() == binaryFairy.textProducer().paragraph()
+
+		where:
+			language << ['en', 'pl', 'de', 'sv', 'zh', 'ka', 'es', 'fr']
+	}
+
+	def "should read written data set"() {
+		given:
+			ByteArrayOutputStream output = new ByteArrayOutputStream()
+			BinaryDataSetConverter.write([language: 'en', city: ['Paris', 'Zürich'],
+			                              firstnames: [male: ['Mark'], female: ['Ana', 'Ivon']], prefixes: [visa: [4, 51]]], output)
+
+		when:
+			BinaryDataMaster dataMaster = new BinaryDataMaster(new BaseProducer(new RandomGenerator()),
+					BinaryDataSet.read(ByteBuffer.wrap(output.toByteArray())))
+
+		then:
+			dataMaster.getString("language") == 'en'
+			dataMaster.getStringList("City") == ['Paris', 'Zürich']
+			dataMaster.getValuesOfType("firstNames", "MALE", String) == 'Mark'
+			dataMaster.getValuesOfType("prefixes", "Visa", Integer) in [4, 51]
+	}
+
+	def "should pick values according to their weights"() {
+		given:
+			ByteArrayOutputStream output = new ByteArrayOutputStream()
+			BinaryDataSetConverter.write([city: ['Paris', 'Lyon'], cityweights: [0, 5]], output)
+			BinaryDataMaster dataMaster = new BinaryDataMaster(new BaseProducer(new RandomGenerator()),
+					BinaryDataSet.read(ByteBuffer.wrap(output.toByteArray())))
+
+		expect:
+			(1..100).every { dataMaster.getRandomValue(DataKey.stringList("city")) == 'Lyon' }
+	}
+
+	def "should fail for missing key"() {
+		given:
+			BinaryDataMaster dataMaster = new BinaryDataMaster(new BaseProducer(new RandomGenerator()),
+					BinaryDataSet.load(getClass().getClassLoader(), "jfairy_en.bin"))
+
+		when:
+			dataMaster.getString("missing")
+
+		then:
+			IllegalArgumentException e = thrown()
+			e.message == "No such key: missing"
+	}
+
+	def "should read bundled data set once per class loader"() {
+		expect:
+			BinaryDataSet.forDataFiles(getClass().getClassLoader(), "jfairy", "en").get()
+					.is(BinaryDataSet.forDataFiles(getClass().getClassLoader(), "jfairy", "en").get())
+	}
+
+	def "should not read data set without binary file"() {
+		expect:
+			!BinaryDataSet.forDataFiles(getClass().getClassLoader(), "jfairy_weighted", "en").isPresent()
+	}
+
+	def "should not read data set of overlaid YAML files"() {
+		given:
+			Path directory = Files.createTempDirectory("jfairy")
+			Files.write(directory.resolve("jfairy_en.yml"), "data:\n  city: [Springfield]\n".bytes)
+			URLClassLoader classLoader = new URLClassLoader([directory.toUri().toURL()] as URL[], getClass().getClassLoader())
+
+		expect:
+			!BinaryDataSet.forDataFiles(classLoader, "jfairy", "en").isPresent()
+			BinaryDataSet.forDataFiles(classLoader, "jfairy", "de").isPresent()
+
+		cleanup:
+			classLoader?.close()
+			directory?.toFile()?.deleteDir()
+	}
+
+	def "should reject data which is not a binary data set"() {
+		when:
+			BinaryDataSet.read(ByteBuffer.wrap(new byte[8]))
+
+		then:
+			thrown(IllegalArgumentException)
+	}
+}
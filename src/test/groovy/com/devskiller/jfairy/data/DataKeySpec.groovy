@@ -0,0 +1,29 @@
+package com.devskiller.jfairy.data
+
+import spock.lang.Specification
+
+class DataKeySpec extends Specification {
+
+	def "should return the same key for the same name"() {
+		expect:
+			DataKey.stringList("dataKeySpecList").is(DataKey.stringList("DataKeySpecList"))
+	}
+
+	def "should give every name its own index"() {
+		expect:
+			DataKey.string("dataKeySpecFirst").index != DataKey.string("dataKeySpecSecond").index
+	}
+
+	def "should not allow the same name for other type of elements"() {
+		given:
+			DataKey.stringList("dataKeySpecTyped")
+
+		when:
+			DataKey.typedValues("dataKeySpecTyped", String.class)
+
+		then:
+			IllegalArgumentException e = thrown()
+			e.message == "Key dataKeySpecTyped is already used for other type of elements"
+	}
+
+}
@@ -52,4 +52,246 @@ class MapBasedDataMasterSpec extends Specification {
 			female == "Ana" || "Ivon"
 	}
 
+	def "should share parsed data between data masters"() {
+		given:
+			MapBasedDataMaster first = new MapBasedDataMaster(baseProducer)
+			MapBasedDataMaster second = new MapBasedDataMaster(baseProducer)
+
+		when:
+			first.readResources("jfairy_en.yml")
+			second.readResources("jfairy_en.yml")
+
+		then:
+			first.getStringList("city").is(second.getStringList("city"))
+	}
+
+	def "should not allow modification of shared data"() {
+		given:
+			data.readResources("jfairy_en.yml")
+
+		when:
+			data.getStringList("city").clear()
+
+		then:
+			thrown(UnsupportedOperationException)
+	}
+
+	def "should fail for missing data file"() {
+		when:
+			data.readResources("missing.yml")
+
+		then:
+			IllegalArgumentException e = thrown()
+			e.message == "File missing.yml was not found on classpath"
+	}
+
+	def "should parse data again after cache has been cleared"() {
+		given:
+			MapBasedDataMaster first = new MapBasedDataMaster(baseProducer)
+			first.readResources("jfairy_en.yml")
+			ParsedDataCache.clear()
+
+		when:
+			data.readResources("jfairy_en.yml")
+
+		then:
+			!first.getStringList("city").is(data.getStringList("city"))
+			first.getStringList("city") == data.getStringList("city")
+	}
+
+	def "should return men by data key"() {
+		setup:
+			data.getData(PersonProvider.FIRST_NAME, Map.class) >> [female: ['Ana', 'Ivon'], male: ['Mark']]
+
+		when:
+			String male = data.getValuesOfType(DataKey.typedValues(PersonProvider.FIRST_NAME, String.class), "MALE")
+
+		then:
+			male == "Mark"
+	}
+
+	def "should find data key element only once"() {
+		given:
+			data.readResources("jfairy_en.yml")
+			DataKey<List<String>> city = DataKey.stringList("city")
+
+		when:
+			List<String> first = data.getStringList(city)
+			List<String> second = data.getStringList(city)
+
+		then:
+			1 * data.getData("city", List.class)
+			first.is(second)
+			data.getRandomValue(city) in first
+	}
+
+	def "should find data key elements again after reading resources"() {
+		given:
+			data.readResources("jfairy_en.yml")
+			DataKey<String> language = DataKey.string(MapBasedDataMaster.LANGUAGE_TAG)
+			data.getString(language)
+
+		when:
+			data.readResources("jfairy_de.yml")
+
+		then:
+			data.getString(language) == "DE"
+	}
+
+	def "should not change data of data masters sharing it when reading resources"() {
+		given:
+			data.readResources("jfairy_en.yml")
+			MapBasedDataMaster fork = data.withBaseProducer(baseProducer)
+			MapBasedDataMaster otherFork = data.withBaseProducer(baseProducer)
+			DataKey<String> language = DataKey.string(MapBasedDataMaster.LANGUAGE_TAG)
+			otherFork.getString(language)
+
+		when:
+			fork.readResources("jfairy_de.yml")
+
+		then:
+			fork.getString(language) == "DE"
+			data.getString(language) == "EN"
+			otherFork.getString(language) == "EN"
+			otherFork.getString(MapBasedDataMaster.LANGUAGE_TAG) == "EN"
+
+		when:
+			data.readResources("jfairy_de.yml")
+
+		then:
+			data.getString(language) == "DE"
+			otherFork.getString(MapBasedDataMaster.LANGUAGE_TAG) == "EN"
+	}
+
+	def "should pick the same values as random element of the list"() {
+		given:
+			data.readResources("jfairy_en.yml")
+			MapBasedDataMaster other = new MapBasedDataMaster(new BaseProducer(new RandomGenerator(7)))
+			other.readResources("jfairy_en.yml")
+			MapBasedDataMaster reference = new MapBasedDataMaster(new BaseProducer(new RandomGenerator(7)))
+			reference.readResources("jfairy_en.yml")
+			Picker<String> picker = other.picker(DataKey.typedValues(PersonProvider.FIRST_NAME, String.class), "FEMALE")
+
+		expect:
+			(1..20).collect { picker.pick() } ==
+					(1..20).collect { reference.getValuesOfType(PersonProvider.FIRST_NAME, "female", String.class) }
+	}
+
+	def "should reuse picker of a data key"() {
+		given:
+			data.readResources("jfairy_en.yml")
+			DataKey<List<String>> city = DataKey.stringList("city")
+
+		expect:
+			data.picker(city).is(data.picker(city))
+			data.picker(city).pick() in data.getStringList(city)
+	}
+
+	def "should pick values according to their weights"() {
+		given:
+			MapBasedDataMaster weighted = new MapBasedDataMaster(new BaseProducer(new RandomGenerator(7)))
+			weighted.readResources("jfairy_weighted.yml")
+
+		when:
+			Map<String, Integer> counts = (1..4000).collect { weighted.getRandomValue(DataKey.stringList("city")) }.countBy { it }
+
+		then:
+			!counts.containsKey('Shelbyville')
+			counts['Ogdenville'] in 2800..3200
+			counts['Springfield'] in 800..1200
+	}
+
+	def "should pick values of types without weights uniformly"() {
+		given:
+			MapBasedDataMaster weighted = new MapBasedDataMaster(new BaseProducer(new RandomGenerator(7)))
+			weighted.readResources("jfairy_weighted.yml")
+			DataKey<Map<String, List<String>>> lastNames = DataKey.typedValues(PersonProvider.LAST_NAME, String.class)
+
+		when:
+			Map<String, Integer> male = (1..2000).collect { weighted.getValuesOfType(lastNames, "MALE") }.countBy { it }
+			Map<String, Integer> female = (1..2000).collect { weighted.getValuesOfType(lastNames, "FEMALE") }.countBy { it }
+
+		then:
+			male['Smith'] in 1700..1900
+			female['Smith'] in 850..1150
+	}
+
+	def "should pick values according to their weights by name"() {
+		given:
+			MapBasedDataMaster weighted = new MapBasedDataMaster(new BaseProducer(new RandomGenerator(7)))
+			weighted.readResources("jfairy_weighted.yml")
+
+		when:
+			Map<String, Integer> cities = (1..4000).collect { weighted.getRandomValue("City") }.countBy { it }
+			Map<String, Integer> male = (1..2000).collect {
+				weighted.getValuesOfType(PersonProvider.LAST_NAME, "male", String.class)
+			}.countBy { it }
+
+		then:
+			!cities.containsKey('Shelbyville')
+			cities['Ogdenville'] in 2800..3200
+			male['Smith'] in 1700..1900
+	}
+
+	def "should pick values by name of a key created for other type of values"() {
+		given:
+			data.readResources("jfairy.yml")
+			DataKey.typedValues("creditCardPrefixes", Integer.class)
+
+		expect:
+			data.getValuesOfType("creditCardPrefixes", "Visa", Object.class) instanceof Integer
+	}
+
+	def "should not create keys for looked up names"() {
+		given:
+			data.readResources("jfairy.yml")
+			int keys = DataKey.count()
+
+		when:
+			data.getRandomValue("misspelledCitys")
+
+		then:
+			IllegalArgumentException e = thrown()
+			e.message == "No such key: misspelledCitys"
+			DataKey.count() == keys
+	}
+
+	def "should report incorrect type of element looked up by name"() {
+		given:
+			data.readResources("jfairy.yml")
+
+		when:
+			data.getRandomValue("creditCardPrefixes")
+
+		then:
+			IllegalArgumentException e = thrown()
+			e.message == "Element under desired key has incorrect type - should be List"
+	}
+
+	def "should fail for weights not matching values"() {
+		given:
+			MapBasedDataMaster weighted = new MapBasedDataMaster(baseProducer)
+			weighted.dataSource.put("streetWeights", [1, 2])
+			weighted.dataSource.put("street", ['Main Street'])
+
+		when:
+			weighted.picker(DataKey.stringList("street"))
+
+		then:
+			IllegalArgumentException e = thrown()
+			e.message == "Expected 1 weights, found 2"
+	}
+
+	def "should fail for missing type of values"() {
+		given:
+			data.readResources("jfairy_en.yml")
+
+		when:
+			data.picker(DataKey.typedValues(PersonProvider.FIRST_NAME, String.class), "OTHER")
+
+		then:
+			IllegalArgumentException e = thrown()
+			e.message == "No values of type OTHER under key firstNames"
+	}
+
 }
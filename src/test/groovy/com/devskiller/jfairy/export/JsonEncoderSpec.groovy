@@ -0,0 +1,122 @@
+package com.devskiller.jfairy.export
+
+import java.nio.BufferOverflowException
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+import com.devskiller.jfairy.Fairy
+import com.devskiller.jfairy.producer.company.Company
+import com.devskiller.jfairy.producer.payment.IBAN
+import com.devskiller.jfairy.producer.person.Person
+
+import static com.devskiller.jfairy.producer.person.PersonField.EMAIL
+import static com.devskiller.jfairy.producer.person.PersonProperties.fields
+
+class JsonEncoderSpec extends Specification {
+
+	private JsonEncoder encoder = new JsonEncoder()
+
+	def "should encode person with nested company and address"() {
+		given:
+			Person person = Fairy.create(new Locale("pl")).person()
+		when:
+			Map json = parse { encoder.encode(person, it) }
+		then:
+			json.firstName == person.firstName
+			json.lastName == person.lastName
+			json.email == person.email
+			json.sex == person.sex.name()
+			json.dateOfBirth == person.dateOfBirth.toString()
+			json.age == person.age
+			json.nationalIdentificationNumber == person.nationalIdentificationNumber
+			json.company.name == person.company.name
+			json.company.url == person.company.url
+			json.companyEmail == person.companyEmail
+			json.address.street == person.address.street
+			json.address.postalCode == person.address.postalCode
+			json.address.city == person.address.city
+			json.nationality == person.nationality.code
+			json.size() == 17
+	}
+
+	def "should encode missing fields as nulls"() {
+		given:
+			Person person = Fairy.create().person(fields(EMAIL))
+		when:
+			Map json = parse { encoder.encode(person, it) }
+		then:
+			json.email == person.email
+			json.containsKey("company") && json.company == null
+			json.containsKey("address") && json.address == null
+			json.dateOfBirth == null
+			json.containsKey("age") && json.age == null
+	}
+
+	def "should encode company and IBAN"() {
+		given:
+			Fairy fairy = Fairy.create(new Locale("pl"))
+			Company company = fairy.company()
+			IBAN iban = fairy.iban()
+		when:
+			Map companyJson = parse { encoder.encode(company, it) }
+			Map ibanJson = parse { encoder.encode(iban, it) }
+		then:
+			companyJson == [name                   : company.name, domain: company.domain, email: company.email,
+							url                    : company.url,
+							vatIdentificationNumber: company.vatIdentificationNumber]
+			ibanJson.ibanNumber == iban.ibanNumber
+			ibanJson.bban == iban.bban
+			ibanJson.size() == 11
+	}
+
+	def "should escape strings"() {
+		given:
+			Company company = new Company('Kowalski "&" Syn\\\n', "żółć.pl", "biuro", "\u0000😀")
+		when:
+			ByteArrayOutputStream out = new ByteArrayOutputStream()
+			int length = encoder.encode(company, out)
+		then:
+			new String(out.toByteArray(), StandardCharsets.UTF_8) == '{"name":"Kowalski \\"&\\" Syn\\\\\\n",' +
+					'"domain":"żółć.pl","email":"biuro@żółć.pl","url":"http://www.żółć.pl","vatIdentificationNumber":"\\u0000😀"}'
+			length == out.size()
+	}
+
+	def "should encode null as null"() {
+		when:
+			ByteArrayOutputStream out = new ByteArrayOutputStream()
+			encoder.encode((IBAN) null, out)
+		then:
+			out.toString("UTF-8") == "null"
+	}
+
+	def "should write JSON into byte buffer"() {
+		given:
+			IBAN iban = Fairy.create(new Locale("pl")).iban()
+			ByteBuffer buffer = ByteBuffer.allocateDirect(1024)
+			buffer.put((byte) 'x')
+		when:
+			int length = encoder.encode(iban, buffer)
+		then:
+			buffer.position() == length + 1
+	}
+
+	def "should write nothing when JSON does not fit"() {
+		given:
+			ByteBuffer buffer = ByteBuffer.allocate(100)
+			buffer.put((byte) 'x')
+		when:
+			encoder.encode(Fairy.create().person(), buffer)
+		then:
+			thrown(BufferOverflowException)
+			buffer.position() == 1
+	}
+
+	private static Map parse(Closure encode) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream()
+		encode(out)
+		new JsonSlurper().parse(out.toByteArray(), "UTF-8") as Map
+	}
+}
@@ -0,0 +1,315 @@
+package com.devskiller.jfairy.export
+
+import java.nio.channels.Channels
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.LocalDate
+import java.util.function.Supplier
+import java.util.stream.Collectors
+
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import com.devskiller.jfairy.Fairy
+import com.devskiller.jfairy.producer.company.Company
+import com.devskiller.jfairy.producer.person.Person
+import com.devskiller.jfairy.producer.person.PersonField
+
+import static com.devskiller.jfairy.producer.person.PersonProperties.fields
+
+class RecordExporterSpec extends Specification {
+
+	private static final ExportSchema<List> VALUES = ExportSchema.<List> builder("item")
+			.column("text", { it[0] })
+			.column("number", { it[1] })
+			.column("date", { it[2] })
+			.build()
+
+	// passwords and passport numbers are not generated from the seed
+	private static final ExportSchema<Person> PERSONS = ExportSchema.<Person> builder("person")
+			.column("full_name", { it.fullName })
+			.column("email", { it.email })
+			.column("date_of_birth", { it.dateOfBirth })
+			.column("company", { it.company.name })
+			.column("city", { it.address.city })
+			.build()
+
+	def "should export persons to CSV file"() {
+		given:
+			Path file = tempFile()
+			Fairy fairy = Fairy.create()
+		when:
+			ExportSummary summary = RecordExporter.builder(ExportSchema.PERSON, fairy.personGenerator())
+					.withRowCount(3000)
+					.build()
+					.export(file)
+		then:
+			List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8)
+			lines.size() == 3001
+			lines[0].split(",") as List == ExportSchema.PERSON.columnNames
+			summary.rows == 3000
+			summary.bytes == Files.size(file)
+	}
+
+	def "should export the same records as generated in a loop"() {
+		given:
+			Fairy exportFairy = Fairy.builder().withRandomSeed(7).build()
+			Fairy loopFairy = Fairy.builder().withRandomSeed(7).build()
+		when:
+			String json = export(RecordExporter.builder(ExportSchema.COMPANY, { exportFairy.company() } as Supplier)
+					.withFormat(ExportFormat.JSON_LINES)
+					.withRowCount(1000))
+			List<Company> companies = (1..1000).collect { loopFairy.company() }
+		then:
+			List<Map> records = json.readLines().collect { new JsonSlurper().parseText(it) as Map }
+			records*.name == companies*.name
+			records*.email == companies*.email
+			records*.url == companies*.url
+	}
+
+	def "should split SQL rows into statements"() {
+		when:
+			String sql = export(RecordExporter.builder(VALUES, { ["O'Brien", 1, null] } as Supplier)
+					.withFormat(ExportFormat.SQL)
+					.withRowsPerStatement(3)
+					.withRowCount(7))
+		then:
+			sql.count("INSERT INTO item (text, number, date) VALUES\n") == 3
+			sql.endsWith("('O''Brien', 1, NULL);\n")
+			sql.count("),\n(") == 4
+			sql.count(";\n") == 3
+	}
+
+	@Unroll
+	def "should encode values as #format"() {
+		given:
+			List values = ['a,b "quoted"\nżółć 😀', -42L, LocalDate.of(987, 6, 5)]
+		when:
+			String result = export(RecordExporter.builder(VALUES, { values } as Supplier)
+					.withFormat(format)
+					.withRowCount(1))
+		then:
+			result == expected
+		where:
+			format                  | expected
+			ExportFormat.CSV        | 'text,number,date\n"a,b ""quoted""\nżółć 😀",-42,0987-06-05\n'
+			ExportFormat.JSON_LINES | '{"text":"a,b \\"quoted\\"\\nżółć 😀","number":-42,"date":"0987-06-05"}\n'
+			ExportFormat.SQL        | 'INSERT INTO item (text, number, date) VALUES\n(\'a,b "quoted"\nżółć 😀\', -42, \'0987-06-05\');\n'
+	}
+
+	def "should encode nulls and control chars"() {
+		when:
+			String result = export(RecordExporter.builder(VALUES, { ["\t\u0001", null, null] } as Supplier)
+					.withFormat(ExportFormat.JSON_LINES)
+					.withRowCount(1))
+		then:
+			result == '{"text":"\\t\\u0001","number":null,"date":null}\n'
+	}
+
+	@Unroll
+	def "should export whole #format records up to file size"() {
+		given:
+			Path file = tempFile()
+			Fairy fairy = Fairy.create()
+		when:
+			ExportSummary summary = RecordExporter.builder(ExportSchema.PERSON, fairy.personGenerator())
+					.withFormat(format)
+					.withMaxBytes(100_000)
+					.build()
+					.export(file)
+		then:
+			Files.size(file) == summary.bytes
+			summary.bytes <= 100_000
+			summary.bytes > 90_000
+			summary.rows > 100
+			new String(Files.readAllBytes(file), StandardCharsets.UTF_8).endsWith(ending)
+		where:
+			format                  | ending
+			ExportFormat.CSV        | "\n"
+			ExportFormat.JSON_LINES | "}\n"
+			ExportFormat.SQL        | ");\n"
+	}
+
+	def "should stop generating records when file size is reached"() {
+		given:
+			int count = 0
+			Supplier<List> records = { count++; ["a", 1, null] }
+		when:
+			ExportSummary summary = RecordExporter.builder(VALUES, records)
+					.withMaxBytes(100)
+					.build()
+					.export(Channels.newChannel(new ByteArrayOutputStream()))
+		then:
+			summary.rows > 0
+			count <= summary.rows + RecordPipeline.QUEUED_BATCHES * RecordPipeline.BATCH_SIZE
+	}
+
+	def "should export nothing when header does not fit"() {
+		when:
+			ExportSummary summary = RecordExporter.builder(ExportSchema.IBAN, Fairy.create().&iban)
+					.withMaxBytes(10)
+					.build()
+					.export(Channels.newChannel(new ByteArrayOutputStream()))
+		then:
+			summary.rows == 0
+			summary.bytes == 0
+	}
+
+	def "should export persons generated only with some fields"() {
+		when:
+			String csv = export(RecordExporter.builder(ExportSchema.PERSON,
+					{ new Person("Anna", null, "Nowak", null, null, null, null, Person.Sex.FEMALE, null, null,
+							null, null, null, null, null, null, null) } as Supplier)
+					.withRowCount(1))
+		then:
+			csv.readLines()[1] == "Anna,,Nowak,,,,FEMALE,,,,,,,,,,,,,,,"
+	}
+
+	def "should export null age of persons generated without it"() {
+		given:
+			Fairy fairy = Fairy.create()
+		when:
+			String sql = export(RecordExporter.builder(ExportSchema.PERSON,
+					fairy.personGenerator(fields(PersonField.FIRST_NAME)))
+					.withFormat(ExportFormat.SQL)
+					.withRowCount(1))
+		then:
+			sql.contains("'MALE', NULL, NULL, NULL,") || sql.contains("'FEMALE', NULL, NULL, NULL,")
+	}
+
+	def "should rethrow failure of the generator"() {
+		given:
+			int count = 0
+			Supplier<List> records = {
+				if (++count == 1000) {
+					throw new IllegalStateException("broken")
+				}
+				["a", 1, null]
+			}
+		when:
+			export(RecordExporter.builder(VALUES, records).withRowCount(2000))
+		then:
+			IllegalStateException e = thrown()
+			e.message == "broken"
+	}
+
+	@Unroll
+	def "should export the same #format file by any number of threads"() {
+		given:
+			Fairy fairy = Fairy.create()
+			Closure<String> export = { int parallelism ->
+				Path file = tempFile()
+				ExportSummary summary = RecordExporter.builder(PERSONS, fairy, { it.personGenerator() })
+						.withFormat(format)
+						.withRowsPerStatement(1000)
+						.withChunkSize(Fairy.STREAM_CHUNK_SIZE)
+						.withParallelism(parallelism)
+						.withRandomSeed(3)
+						.withRowCount(5000)
+						.build()
+						.export(file)
+				assert summary.rows == 5000
+				assert summary.bytes == Files.size(file)
+				new String(Files.readAllBytes(file), StandardCharsets.UTF_8)
+			}
+		when:
+			String single = export(1)
+			String parallel = export(4)
+		then:
+			parallel == single
+			single.readLines().size() == lines
+			single.endsWith("\n")
+		where:
+			format                  | lines
+			ExportFormat.CSV        | 5001
+			ExportFormat.JSON_LINES | 5000
+			ExportFormat.SQL        | 5005
+	}
+
+	def "should export chunks of records the same as a stream"() {
+		given:
+			Fairy fairy = Fairy.create()
+		when:
+			String csv = export(RecordExporter.builder(ExportSchema.COMPANY, fairy, { f -> ({ f.company() } as Supplier) })
+					.withChunkSize(Fairy.STREAM_CHUNK_SIZE)
+					.withParallelism(2)
+					.withRandomSeed(11)
+					.withRowCount(2500))
+			List<Company> companies = fairy.streamRange(11, 0, 2500, { f -> ({ f.company() } as Supplier) }).collect(Collectors.toList())
+		then:
+			csv.readLines().drop(1)*.split(",")*.getAt(0) == companies*.name
+	}
+
+	def "should export header and trailer without records by threads"() {
+		when:
+			String sql = export(RecordExporter.builder(VALUES, Fairy.create(), { fairy -> ({ ["a", 1, null] } as Supplier) })
+					.withFormat(ExportFormat.SQL)
+					.withRowCount(0))
+		then:
+			sql == ""
+	}
+
+	def "should rethrow failure of a chunk"() {
+		when:
+			export(RecordExporter.builder(VALUES, Fairy.create(), { fairy -> ({ throw new IllegalStateException("broken") } as Supplier) })
+					.withRowCount(10))
+		then:
+			IllegalStateException e = thrown()
+			e.message == "broken"
+	}
+
+	def "should delete chunk files of a failed export"() {
+		given:
+			Path directory = Files.createTempDirectory("export")
+			Path file = directory.resolve("values.csv")
+		when:
+			RecordExporter.builder(VALUES, Fairy.create(), { fairy -> ({ throw new IllegalStateException("broken") } as Supplier) })
+					.withRowCount(10)
+					.build()
+					.export(file)
+		then:
+			thrown(IllegalStateException)
+			Files.list(directory).collect(Collectors.toList()) == [file]
+		cleanup:
+			Files.deleteIfExists(file)
+			Files.deleteIfExists(directory)
+	}
+
+	def "should require row count for export by threads"() {
+		when:
+			RecordExporter.builder(ExportSchema.COMPANY, Fairy.create(), { f -> ({ f.company() } as Supplier) })
+					.withRowCount(10)
+					.withMaxBytes(1000)
+					.build()
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "should require row count or file size"() {
+		when:
+			RecordExporter.builder(ExportSchema.CREDIT_CARD, Fairy.create().&creditCard).build()
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "should reject invalid column names"() {
+		when:
+			ExportSchema.builder("table").column("name; DROP TABLE", { it })
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	private static String export(RecordExporter.Builder builder) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream()
+		builder.build().export(Channels.newChannel(out))
+		new String(out.toByteArray(), StandardCharsets.UTF_8)
+	}
+
+	private static Path tempFile() {
+		Path file = Files.createTempFile("export", ".txt")
+		file.toFile().deleteOnExit()
+		file
+	}
+}
@@ -31,6 +31,29 @@ class BaseProducerSpec extends Specification {
 		  baseProducer.bothify("Test?#") == "Testx7"
 	}
 
+	def "should replace # and ? in compiled template"() {
+		given:
+		  Template template = baseProducer.compile("Test?#")
+		expect:
+		  template.generate() == "Testx7"
+		  template.generate() == "Testx7"
+	}
+
+	def "should generate the same values from template as bothify"() {
+		given:
+		  Template template = new BaseProducer(new RandomGenerator(17)).compile("?#-##?-#")
+		  BaseProducer bothifyProducer = new BaseProducer(new RandomGenerator(17))
+		expect:
+		  (1..10).every { template.generate() == bothifyProducer.bothify("?#-##?-#") }
+	}
+
+	def "should replace # with digits when numerify pattern is cached"() {
+		given:
+		  BaseProducer producer = new BaseProducer(new RandomGenerator(17))
+		expect:
+		  (1..3).every { producer.numerify("##-?") ==~ /\d\d-\?/ }
+	}
+
 	def "should replace ? with letter from desired range"() {
 		when:
 		  String result = baseProducer.letterify("Test??", 'A' as char, 'A' as char)
@@ -96,6 +119,44 @@ class BaseProducerSpec extends Specification {
 		  7     | _
 	}
 
+	def "should sample distinct elements without modifying the list"() {
+		given:
+		  List<Integer> numbers = (1..100).toList()
+		  BaseProducer producer = new BaseProducer(new RandomGenerator(5))
+		when:
+		  List<Integer> elements = producer.randomElements(numbers, 30)
+		then:
+		  elements.size() == 30
+		  elements.toSet().size() == 30
+		  numbers.containsAll(elements)
+		  numbers == (1..100).toList()
+	}
+
+	def "should repeat all elements when count is greater than list size"() {
+		given:
+		  BaseProducer producer = new BaseProducer(new RandomGenerator(5))
+		when:
+		  List<String> elements = producer.randomElements(['A', 'B', 'C'], 9)
+		then:
+		  elements.countBy { it } == [A: 3, B: 3, C: 3]
+	}
+
+	def "should sample elements by shuffling the list with legacy sampling"() {
+		given:
+		  List<Integer> numbers = (1..20).toList()
+		  List<Integer> shuffled = new RandomGenerator(5).shuffle((1..20).toList())
+		  BaseProducer producer = new BaseProducer(new RandomGenerator(5).withLegacySampling())
+		expect:
+		  producer.randomElements(numbers, 5) == shuffled.subList(0, 5)
+	}
+
+	def "should not sample elements from empty list"() {
+		when:
+		  baseProducer.randomElements([], 1)
+		then:
+		  thrown(IllegalArgumentException)
+	}
+
 	static enum TestEnum {
 
 		A, B, C
@@ -0,0 +1,97 @@
+package com.devskiller.jfairy.producer
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+
+import spock.lang.Specification
+
+import com.devskiller.jfairy.Fairy
+import com.devskiller.jfairy.producer.text.MarkovTextProducer
+
+class MarkovTextSpec extends Specification {
+
+	private static final String CORPUS = "The cat sat on the mat. The dog sat on the log. A cat and a dog met on the mat."
+
+	private BaseProducer baseProducer = new BaseProducer(new RandomGenerator(RandomBackend.XOROSHIRO128PP, 42))
+
+	def "should generate desired number of words"() {
+		when:
+			String text = Fairy.create().markovTextProducer().words(1000)
+		then:
+			text.split(' ').length == 1000
+	}
+
+	def "should only follow word sequences of the corpus"() {
+		given:
+			List<String> corpus = CORPUS.split(' ') as List
+			// the corpus is cyclic
+			List<String> cyclic = corpus + corpus.take(2)
+			Set<List<String>> trigrams = (0..<corpus.size()).collect { cyclic.subList(it, it + 3) } as Set
+		when:
+			List<String> words = new MarkovTextProducer(baseProducer, CORPUS, 2).words(500).split(' ') as List
+		then:
+			(0..<words.size() - 2).every { trigrams.contains(words.subList(it, it + 3)) }
+	}
+
+	def "should start at a sentence start"() {
+		expect:
+			new MarkovTextProducer(baseProducer, CORPUS, 1).words(1) in ['The', 'A']
+	}
+
+	def "should pick next words with corpus frequency"() {
+		given:
+			MarkovTextProducer producer = new MarkovTextProducer(baseProducer, "a b a b a b a c", 1)
+		when:
+			List<String> words = producer.words(100_000).split(' ') as List
+			Map<String, Integer> afterA = (0..<words.size() - 1).findAll { words[it] == 'a' }
+					.countBy { words[it + 1] }
+		then:
+			afterA.keySet() == ['b', 'c'] as Set
+			Math.abs(afterA['b'] / (afterA['b'] + afterA['c']) - 0.75) < 0.02
+	}
+
+	def "should generate the same text for the same seed"() {
+		expect:
+			Fairy.builder().withRandomSeed(5).build().markovTextProducer().words(100) ==
+					Fairy.builder().withRandomSeed(5).build().markovTextProducer().words(100)
+	}
+
+	def "should write text up to the char and byte budget"() {
+		given:
+			MarkovTextProducer producer = Fairy.create(Locale.forLanguageTag("de")).markovTextProducer(1)
+			StringWriter writer = new StringWriter()
+			ByteArrayOutputStream out = new ByteArrayOutputStream()
+		when:
+			long chars = producer.write(writer, 100_000)
+			long bytes = producer.write(out, StandardCharsets.UTF_8, 100_000)
+		then:
+			chars == 100_000
+			writer.toString().length() == 100_000
+			bytes == out.size()
+			bytes > 100_000 - 4 && bytes <= 100_000
+	}
+
+	def "should learn from corpus file"() {
+		given:
+			Path corpus = Files.createTempFile("corpus", ".txt")
+			corpus.toFile().deleteOnExit()
+			Files.write(corpus, "Zażółć gęślą\njaźń. Zażółć jaźń.".getBytes(StandardCharsets.UTF_8))
+		when:
+			String text = Fairy.create().markovTextProducer(corpus, 1).words(50)
+		then:
+			text.split(' ').every { it in ['Zażółć', 'gęślą', 'jaźń.'] }
+	}
+
+	def "should reject invalid model"() {
+		when:
+			new MarkovTextProducer(baseProducer, corpus, order)
+		then:
+			IllegalArgumentException e = thrown()
+			e.message == message
+		where:
+			corpus   | order || message
+			CORPUS   | 0     || "Order should be positive, found 0"
+			" \n "   | 1     || "Corpus has no words"
+	}
+}
@@ -0,0 +1,120 @@
+package com.devskiller.jfairy.producer
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class RandomGeneratorSpec extends Specification {
+
+	@Unroll
+	def "#backend should give the same numbers for the same seed"() {
+		given:
+			RandomGenerator first = new RandomGenerator(backend, 42)
+			RandomGenerator second = new RandomGenerator(backend, 42)
+
+		expect:
+			(1..100).collect { first.nextInt(0, 1000) } == (1..100).collect { second.nextInt(0, 1000) }
+
+		where:
+			backend << RandomBackend.values()
+	}
+
+	@Unroll
+	def "#backend should give different numbers for different seeds"() {
+		given:
+			RandomGenerator first = new RandomGenerator(backend, 42)
+			RandomGenerator second = new RandomGenerator(backend, 43)
+
+		expect:
+			(1..100).collect { first.nextInt(0, 1000) } != (1..100).collect { second.nextInt(0, 1000) }
+
+		where:
+			backend << RandomBackend.values()
+	}
+
+	@Unroll
+	def "#backend should generate numbers from given range #from - #to"() {
+		given:
+			RandomGenerator random = new RandomGenerator(backend)
+
+		expect:
+			(1..1000).every {
+				long value = random.nextDouble(from, to)
+				value >= from && value <= to
+			}
+			(1..1000).every {
+				int value = random.nextInt(from as int, to as int)
+				value >= from && value <= to
+			}
+
+		where:
+			[backend, from, to] << [RandomBackend.values(),
+									[[0L, 1L], [-5L, -2L], [Integer.MIN_VALUE as long, Integer.MAX_VALUE as long]]]
+					.combinations()*.flatten()
+	}
+
+	@Unroll
+	def "#backend should generate all values of small range"() {
+		given:
+			RandomGenerator random = new RandomGenerator(backend, 1)
+
+		expect:
+			(1..1000).collect { random.nextInt(1, 6) }.toSet() == [1, 2, 3, 4, 5, 6] as Set
+
+		where:
+			backend << RandomBackend.values()
+	}
+
+	def "should keep numbers of default generator for the same seed"() {
+		given:
+			RandomGenerator jdk = new RandomGenerator(RandomBackend.JDK, 186)
+			RandomGenerator old = new RandomGenerator(186)
+
+		expect:
+			(1..100).collect { jdk.nextInt(0, 1000) } == (1..100).collect { old.nextInt(0, 1000) }
+	}
+
+	def "should shuffle with the backend"() {
+		given:
+			RandomGenerator random = new RandomGenerator(RandomBackend.XOROSHIRO128PP, 5)
+
+		when:
+			List<Integer> shuffled = random.shuffle((1..20).toList())
+
+		then:
+			shuffled.toSet() == (1..20).toSet()
+			shuffled == new RandomGenerator(RandomBackend.XOROSHIRO128PP, 5).shuffle((1..20).toList())
+	}
+
+	def "should fail for min greater than max"() {
+		when:
+			new RandomGenerator(RandomBackend.PCG32).nextInt(5, 1)
+
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "should give every thread its own stream in thread safe mode"() {
+		given:
+			RandomGenerator shared = RandomGenerator.threadSafe(RandomBackend.SPLITTABLE_RANDOM, 42)
+			List<Integer> first = (1..100).collect { shared.nextInt(0, 1000) }
+			List<Integer> second = null
+
+		when:
+			Thread thread = Thread.start { second = (1..100).collect { shared.nextInt(0, 1000) } }
+			thread.join()
+
+		then:
+			shared.threadSafe
+			first != second
+	}
+
+	def "should split the same streams from the same seed in thread safe mode"() {
+		given:
+			RandomGenerator first = RandomGenerator.threadSafe(RandomBackend.PCG32, 42)
+			RandomGenerator second = RandomGenerator.threadSafe(RandomBackend.PCG32, 42)
+
+		expect:
+			(1..100).collect { first.nextInt(0, 1000) } == (1..100).collect { second.nextInt(0, 1000) }
+	}
+
+}
@@ -1,5 +1,8 @@
 package com.devskiller.jfairy.producer
 
+import java.nio.CharBuffer
+import java.nio.charset.StandardCharsets
+
 import spock.lang.Specification
 
 import com.devskiller.jfairy.Fairy
@@ -44,6 +47,17 @@ class TextSpec extends Specification {
 			text.paragraph(100).length() == 10
 	}
 
+	def "should limit generated text of a copy"() {
+		when:
+			TextProducer limited = text.withLimit(10)
+		then:
+			limited.loremIpsum().length() == 10
+			limited.word(100).length() == 10
+			limited.sentence(100).length() == 10
+			limited.paragraph(100).length() == 10
+			text.word(100).length() > 10
+	}
+
 	def "should generate Lorem Ipsum"() {
 		expect:
 			text.loremIpsum()
@@ -79,6 +93,55 @@ class TextSpec extends Specification {
 			text.paragraph()
 	}
 
+	def "should write paragraphs up to the char budget"() {
+		given:
+			StringWriter writer = new StringWriter()
+			TextProducer expected = Fairy.builder().withRandomSeed(7).build().textProducer()
+		when:
+			long written = Fairy.builder().withRandomSeed(7).build().textProducer().writeParagraphs(writer, 20_000)
+		then:
+			written == 20_000
+			writer.toString().length() == 20_000
+			writer.toString().split('\n').take(5) == (1..5).collect { expected.paragraph() }
+	}
+
+	def "should write words and sentences up to the char budget"() {
+		given:
+			StringBuilder words = new StringBuilder()
+			StringBuilder sentences = new StringBuilder()
+		when:
+			text.writeWords(words, 10_000)
+			text.writeSentences(sentences, 10_000)
+		then:
+			words.length() == 10_000
+			!words.toString().contains('.')
+			sentences.length() == 10_000
+			sentences.toString().startsWith(sentences.toString().substring(0, 1).toUpperCase())
+	}
+
+	def "should fill char buffer with paragraphs"() {
+		given:
+			CharBuffer buffer = CharBuffer.allocate(10_000)
+			buffer.position(100)
+		when:
+			int written = text.writeParagraphs(buffer)
+		then:
+			written == 9_900
+			!buffer.hasRemaining()
+	}
+
+	def "should write encoded paragraphs up to the byte budget"() {
+		given:
+			ByteArrayOutputStream out = new ByteArrayOutputStream()
+			TextProducer polish = Fairy.create(Locale.forLanguageTag("pl")).textProducer()
+		when:
+			long written = polish.writeParagraphs(out, StandardCharsets.UTF_8, 50_001)
+		then:
+			written == out.size()
+			written > 50_001 - 4 && written <= 50_001
+			new String(out.toByteArray(), StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8).length == written
+	}
+
 	def "should create random string"() {
 		when:
 			String randomString = text.randomString(10)
@@ -2,6 +2,7 @@ package com.devskiller.jfairy.producer.company.locale
 
 import spock.lang.Specification
 
+import com.devskiller.jfairy.data.DataKey
 import com.devskiller.jfairy.data.DataMaster
 import com.devskiller.jfairy.producer.BaseProducer
 import com.devskiller.jfairy.producer.VATIdentificationNumberProvider
@@ -21,9 +22,9 @@ class CompanyProviderSpec extends Specification {
 	def "should remove slashes in company email"() {
 		given:
 			baseProducer.trueOrFalse() >> false
-			dataMaster.getRandomValue(COMPANY_EMAIL) >> "info"
-			dataMaster.getRandomValue(COMPANY_NAME) >> "mercedes/bosch"
-			dataMaster.getRandomValue(DOMAIN) >> "com"
+			dataMaster.getRandomValue(DataKey.stringList(COMPANY_EMAIL)) >> "info"
+			dataMaster.getRandomValue(DataKey.stringList(COMPANY_NAME)) >> "mercedes/bosch"
+			dataMaster.getRandomValue(DataKey.stringList(DOMAIN)) >> "com"
 			CompanyProvider companyProvider = new DefaultCompanyProvider(baseProducer, dataMaster, vatIdentificationNumberProvider);
 
 		when:
@@ -37,9 +38,9 @@ class CompanyProviderSpec extends Specification {
 	def "should lowercase letters in company email"() {
 		given:
 			baseProducer.trueOrFalse() >> false
-			dataMaster.getRandomValue(COMPANY_EMAIL) >> "info"
-			dataMaster.getRandomValue(COMPANY_NAME) >> "GOOGLE"
-			dataMaster.getRandomValue(DOMAIN) >> "com"
+			dataMaster.getRandomValue(DataKey.stringList(COMPANY_EMAIL)) >> "info"
+			dataMaster.getRandomValue(DataKey.stringList(COMPANY_NAME)) >> "GOOGLE"
+			dataMaster.getRandomValue(DataKey.stringList(DOMAIN)) >> "com"
 			CompanyProvider companyProvider = new DefaultCompanyProvider(baseProducer, dataMaster, vatIdentificationNumberProvider);
 
 		when:
@@ -53,9 +54,9 @@ class CompanyProviderSpec extends Specification {
 	def "should strip dots and remove spaces in company email"() {
 		given:
 			baseProducer.trueOrFalse() >> false
-			dataMaster.getRandomValue(COMPANY_EMAIL) >> "info"
-			dataMaster.getRandomValue(COMPANY_NAME) >> "company inc."
-			dataMaster.getRandomValue(DOMAIN) >> "com"
+			dataMaster.getRandomValue(DataKey.stringList(COMPANY_EMAIL)) >> "info"
+			dataMaster.getRandomValue(DataKey.stringList(COMPANY_NAME)) >> "company inc."
+			dataMaster.getRandomValue(DataKey.stringList(DOMAIN)) >> "com"
 			CompanyProvider companyProvider = new DefaultCompanyProvider(baseProducer, dataMaster, vatIdentificationNumberProvider);
 
 		when:
@@ -68,9 +69,9 @@ class CompanyProviderSpec extends Specification {
 	def "should strip accents in company email"() {
 		given:
 			baseProducer.trueOrFalse() >> false
-			dataMaster.getRandomValue(COMPANY_EMAIL) >> "info"
-			dataMaster.getRandomValue(COMPANY_NAME) >> "åäöéáąćęłńśóźż"
-			dataMaster.getRandomValue(DOMAIN) >> "com"
+			dataMaster.getRandomValue(DataKey.stringList(COMPANY_EMAIL)) >> "info"
+			dataMaster.getRandomValue(DataKey.stringList(COMPANY_NAME)) >> "åäöéáąćęłńśóźż"
+			dataMaster.getRandomValue(DataKey.stringList(DOMAIN)) >> "com"
 			CompanyProvider companyProvider = new DefaultCompanyProvider(baseProducer, dataMaster, vatIdentificationNumberProvider);
 
 		when:
@@ -2,6 +2,7 @@ package com.devskiller.jfairy.producer.person
 
 import spock.lang.Specification
 
+import com.devskiller.jfairy.data.DataKey
 import com.devskiller.jfairy.data.DataMaster
 import com.devskiller.jfairy.producer.BaseProducer
 
@@ -13,7 +14,7 @@ class EmailProviderSpec extends Specification {
 	private BaseProducer baseProducer = Mock(BaseProducer)
 
 	def setup() {
-		dataMaster.getRandomValue(PERSONAL_EMAIL) >> "mail.com"
+		dataMaster.getRandomValue(DataKey.stringList(PERSONAL_EMAIL)) >> "mail.com"
 	}
 
 	def "should remove spaces from firstName and lastName in email"() {
@@ -4,21 +4,33 @@ import java.time.LocalDate
 import java.time.Period
 
 import org.apache.commons.validator.routines.EmailValidator
-import spock.lang.Ignore
 import spock.lang.Specification
 
 import com.devskiller.jfairy.Bootstrap
 import com.devskiller.jfairy.Fairy
+import com.devskiller.jfairy.data.MapBasedDataMaster
+import com.devskiller.jfairy.producer.BaseProducer
+import com.devskiller.jfairy.producer.RandomGenerator
 import com.devskiller.jfairy.producer.company.Company
+import com.devskiller.jfairy.producer.person.PersonProperties.PersonProperty
 import com.devskiller.jfairy.producer.person.locale.en.EnAddress
 import com.devskiller.jfairy.producer.util.LanguageCode
 
+import static com.devskiller.jfairy.producer.person.PersonField.AGE
+import static com.devskiller.jfairy.producer.person.PersonField.COMPANY_EMAIL
+import static com.devskiller.jfairy.producer.person.PersonField.DATE_OF_BIRTH
+import static com.devskiller.jfairy.producer.person.PersonField.EMAIL
+import static com.devskiller.jfairy.producer.person.PersonField.FIRST_NAME
+import static com.devskiller.jfairy.producer.person.PersonField.LAST_NAME
+import static com.devskiller.jfairy.producer.person.PersonField.SEX
 import static com.devskiller.jfairy.producer.person.PersonProperties.ageBetween
 import static com.devskiller.jfairy.producer.person.PersonProperties.female
+import static com.devskiller.jfairy.producer.person.PersonProperties.fields
 import static com.devskiller.jfairy.producer.person.PersonProperties.male
 import static com.devskiller.jfairy.producer.person.PersonProperties.maxAge
 import static com.devskiller.jfairy.producer.person.PersonProperties.minAge
 import static com.devskiller.jfairy.producer.person.PersonProperties.telephoneFormat
+import static com.devskiller.jfairy.producer.person.PersonProperties.unique
 import static com.devskiller.jfairy.producer.person.PersonProperties.withAddress
 import static com.devskiller.jfairy.producer.person.PersonProperties.withAge
 import static com.devskiller.jfairy.producer.person.PersonProperties.withCompany
@@ -106,7 +118,6 @@ class PersonSpec extends Specification {
 			Country.findCountryForLanguage(LanguageCode.EN)*.getCode().contains(person.nationality.code)
 	}
 
-	@Ignore("Properties are not cleaned")
 	def "should create person older than 98 years"() {
 		when:
 			Person person = Bootstrap.create().person(minAge(99))
@@ -114,7 +125,6 @@ class PersonSpec extends Specification {
 			person.age > 98
 	}
 
-	@Ignore("Properties are not cleaned")
 	def "should create person older than 10 years and younger than 10 years"() {
 		when:
 			Person person = Bootstrap.create().person(minAge(10), maxAge(10))
@@ -122,6 +132,53 @@ class PersonSpec extends Specification {
 			person.age == 10
 	}
 
+	def "should draw age once for minimum and maximum age"() {
+		given:
+			Fairy boundedFairy = Fairy.builder().withRandomSeed(5).build()
+			Fairy defaultFairy = Fairy.builder().withRandomSeed(5).build()
+
+		when:
+			Person bounded = boundedFairy.person(minAge(PersonProvider.MIN_AGE), maxAge(PersonProvider.MAX_AGE))
+			Person person = defaultFairy.person()
+
+		then:
+			bounded.age == person.age
+			bounded.fullName == person.fullName
+			boundedFairy.person().fullName == defaultFairy.person().fullName
+	}
+
+	def "should set age drawn between bounds of other person providers"() {
+		given:
+			PersonProvider provider = Mock(PersonProvider)
+			BaseProducer baseProducer = new BaseProducer(new RandomGenerator(3))
+
+		when:
+			minAge(90).apply(provider, baseProducer)
+			maxAge(5).apply(provider, baseProducer)
+
+		then:
+			1 * provider.setAge({ it >= 90 && it <= PersonProvider.MAX_AGE })
+			1 * provider.setAge({ it >= PersonProvider.MIN_AGE && it <= 5 })
+	}
+
+	def "should get name pickers once for every sex"() {
+		given:
+			RandomGenerator randomGenerator = new RandomGenerator(7)
+			MapBasedDataMaster dataMaster = Spy(MapBasedDataMaster, constructorArgs: [new BaseProducer(randomGenerator)])
+			dataMaster.readResources("jfairy.yml")
+			dataMaster.readResources("jfairy_en.yml")
+			PersonGenerator generator = Bootstrap.createFairy(dataMaster, Locale.ENGLISH, randomGenerator)
+					.personGenerator()
+
+		when:
+			List<Person> persons = (1..50).collect { generator.get() }
+
+		then:
+			persons*.sex.toSet().size() == 2
+			(1..2) * dataMaster.picker({ it.name == PersonProvider.FIRST_NAME }, _ as String)
+			(1..2) * dataMaster.picker({ it.name == PersonProvider.LAST_NAME }, _ as String)
+	}
+
 	def "birth date and age should be related"() {
 		when:
 			Person person = fairy.person(ageBetween(32, 32))
@@ -354,4 +411,179 @@ class PersonSpec extends Specification {
 			person.getAddress() == specificAddress
 	}
 
+	def "generator should generate the same persons as person method for the same seed"() {
+		given:
+			Fairy fairy = Fairy.builder().withLocale(Locale.forLanguageTag(language)).withRandomSeed(3).build()
+			Fairy generatorFairy = Fairy.builder().withLocale(Locale.forLanguageTag(language)).withRandomSeed(3).build()
+		when:
+			List<Person> persons = (1..50).collect { fairy.person(properties as PersonProperty[]) }
+			PersonGenerator generator = generatorFairy.personGenerator(properties as PersonProperty[])
+			List<Person> generated = (1..50).collect { generator.get() }
+		then:
+			generated.collect { describe(it) } == persons.collect { describe(it) }
+		where:
+			language | properties
+			"en"     | []
+			"pl"     | [male(), minAge(30)]
+			"de"     | [ageBetween(20, 30), telephoneFormat("###-###")]
+			"sv"     | [withFirstName("Anna"), withCompany(new Company("Name", "domain.com", "email", "VAT"))]
+	}
+
+	def "lazy persons should not depend on order of reading fields"() {
+		given:
+			List<Closure> fields = [{ it.fullName }, { it.email }, { it.username }, { it.telephoneNumber },
+									{ it.dateOfBirth }, { it.age }, { it.nationalIdentificationNumber }, { it.sex },
+									{ it.companyEmail }, { it.company.name }, { it.address.addressLine1 },
+									{ it.nationality }, { it.middleName }]
+			PersonGenerator forward = Fairy.builder().withLocale(new Locale("pl")).withRandomSeed(8).build()
+					.lazyPersonGenerator(minAge(20))
+			PersonGenerator backward = Fairy.builder().withLocale(new Locale("pl")).withRandomSeed(8).build()
+					.lazyPersonGenerator(minAge(20))
+		when:
+			List<List> forwardValues = (1..30).collect {
+				Person person = forward.get()
+				fields.collect { it(person) }
+			}
+			List<List> backwardValues = (1..30).collect {
+				Person person = backward.get()
+				fields.reverse().collect { it(person) }.reverse()
+			}
+		then:
+			forwardValues == backwardValues
+			forwardValues.toSet().size() == 30
+	}
+
+	def "lazy persons should have desired properties"() {
+		given:
+			PersonGenerator generator = fairy.lazyPersonGenerator(male(), ageBetween(20, 30), withFirstName("Anna"))
+		when:
+			List<Person> persons = (1..50).collect { generator.get() }
+		then:
+			generator.lazy
+			persons.every { it.male && it.firstName == "Anna" && it.age >= 20 && it.age <= 30 }
+			persons.every { Period.between(it.dateOfBirth, LocalDate.now()).years == it.age }
+			persons.every { it.email && it.companyEmail.endsWith(it.company.domain) }
+	}
+
+	def "should generate only desired fields and their dependencies"() {
+		when:
+			Person person = fairy.person(fields(FIRST_NAME, LAST_NAME, EMAIL))
+		then:
+			person.sex && person.firstName && person.lastName
+			emailValidator.isValid(person.email)
+			[person.middleName, person.username, person.telephoneNumber, person.dateOfBirth, person.password,
+			 person.nationalIdentityCardNumber, person.nationalIdentificationNumber, person.passportNumber,
+			 person.company, person.companyEmail, person.address, person.nationality].every { it == null }
+			person.age == 0
+			!person.generatedAge.present
+	}
+
+	def "should tell generated age of selected fields"() {
+		when:
+			Person person = fairy.person(fields(EMAIL, DATE_OF_BIRTH), withAge(0))
+		then:
+			person.age == 0
+			person.generatedAge == OptionalInt.of(0)
+	}
+
+	def "should generate company for company email"() {
+		given:
+			PersonGenerator generator = fairy.personGenerator(fields(COMPANY_EMAIL), male())
+		when:
+			List<Person> persons = (1..20).collect { generator.get() }
+		then:
+			persons.every { it.male && it.firstName && it.lastName && it.companyEmail.endsWith(it.company.domain) }
+			persons.every { it.email == null && it.address == null }
+	}
+
+	def "should generate all fields for next persons"() {
+		given:
+			PersonGenerator generator = fairy.personGenerator()
+		when:
+			fairy.person(fields(EMAIL))
+			Person person = fairy.person()
+		then:
+			person.company && person.address && person.telephoneNumber
+			generator.get().address
+	}
+
+	def "batch should have columns of persons generated with the same fields"() {
+		given:
+			Fairy batchFairy = Fairy.builder().withLocale(new Locale("pl")).withRandomSeed(5).build()
+			Fairy personFairy = Fairy.builder().withLocale(new Locale("pl")).withRandomSeed(5).build()
+		when:
+			PersonBatch batch = batchFairy.personGenerator(minAge(30)).batch(50, EMAIL, AGE, DATE_OF_BIRTH, SEX)
+			PersonGenerator generator = personFairy.personGenerator(minAge(30), fields(EMAIL, AGE, DATE_OF_BIRTH, SEX))
+			List<Person> persons = (1..50).collect { generator.get() }
+		then:
+			batch.size() == 50
+			batch.getStrings(EMAIL) as List == persons*.email
+			batch.ages as List == persons*.age
+			batch.datesOfBirthEpochDay as List == persons*.dateOfBirth*.toEpochDay()
+			batch.sexes as List == persons*.sex
+			batch.ages.every { it >= 30 }
+	}
+
+	def "batch should have only requested columns"() {
+		when:
+			PersonBatch batch = fairy.personBatch(3, EMAIL)
+		then:
+			batch.fields == [EMAIL] as Set
+			batch.contains(EMAIL)
+			!batch.contains(FIRST_NAME)
+		when:
+			batch.getStrings(FIRST_NAME)
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "batch should not return other columns as text"() {
+		when:
+			fairy.personBatch(3, AGE).getStrings(AGE)
+		then:
+			thrown(IllegalArgumentException)
+	}
+
+	def "should generate unique emails and usernames"() {
+		given:
+			UniqueNames uniqueNames = new UniqueNames()
+		when:
+			List<Person> persons = (1..2000).collect {
+				fairy.person(unique(uniqueNames), withFirstName("John"), withLastName("Smith"))
+			}
+		then:
+			persons*.email.toSet().size() == 2000
+			persons*.username.toSet().size() == 2000
+			persons.every { EmailValidator.getInstance().isValid(it.email) }
+			persons.every { it.username ==~ /(jsmith|johns)\d*/ }
+			uniqueNames.emailCount == 2000
+	}
+
+	def "should add the same numbers to persons generated in the same order"() {
+		given:
+			Closure<List<String>> emails = {
+				UniqueNames uniqueNames = new UniqueNames()
+				PersonGenerator generator = Fairy.builder().withRandomSeed(3).build()
+						.personGenerator(unique(uniqueNames), fields(EMAIL, PersonField.USERNAME))
+				(1..5000).collect { Person person = generator.get(); person.email + "|" + person.username }
+			}
+		expect:
+			emails() == emails()
+	}
+
+	def "should not change emails set by property"() {
+		given:
+			UniqueNames uniqueNames = new UniqueNames()
+		when:
+			List<Person> persons = (1..2).collect { fairy.person(unique(uniqueNames), withEmail("a@b.pl")) }
+		then:
+			persons*.email == ["a@b.pl", "a@b.pl"]
+	}
+
+	private static String describe(Person person) {
+		// passwords, passport, identity card and VAT numbers of some locales are not drawn from the seeded generator
+		[person.fullName, person.sex, person.email, person.username, person.telephoneNumber, person.dateOfBirth,
+		 person.age, person.nationalIdentificationNumber, person.company.name, person.company.domain,
+		 person.companyEmail, person.address.addressLine1, person.address.addressLine2, person.nationality].join('|')
+	}
 }
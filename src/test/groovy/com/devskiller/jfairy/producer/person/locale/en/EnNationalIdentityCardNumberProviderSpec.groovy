@@ -3,6 +3,7 @@ package com.devskiller.jfairy.producer.person.locale.en
 import spock.lang.Specification
 
 import com.devskiller.jfairy.Fairy
+import com.devskiller.jfairy.producer.person.UniqueIdSequence
 
 /**
  * @author Olga Maciaszek-Sharma
@@ -79,4 +80,18 @@ class EnNationalIdentityCardNumberProviderSpec extends Specification {
 			serialNumber >= minSerialNumber && serialNumber <= maxSerialNumber
 	}
 
+	def "should generate unique valid numbers"() {
+		given:
+			UniqueIdSequence numbers = EnNationalIdentityCardNumberProvider.uniqueNumbers(11)
+		when:
+			List<String> generated = (1..100_000).collect { numbers.next() }
+		then:
+			numbers.size() == 898L * 99 * 9999
+			generated.toSet().size() == 100_000
+			generated.every { it ==~ /\d{3}-\d{2}-\d{4}/ && !it.startsWith("000") && !it.startsWith("666") }
+			generated.every { Integer.parseInt(it.substring(0, 3)) <= 899 && it.substring(4, 6) != "00" && it.substring(7) != "0000" }
+			numbers.get(numbers.size() - 1) ==~ /\d{3}-\d{2}-\d{4}/
+			generated.take(10) == (0..<10).collect { EnNationalIdentityCardNumberProvider.uniqueNumbers(11).get(it) }
+	}
+
 }
@@ -9,8 +9,10 @@ import com.devskiller.jfairy.producer.BaseProducer
 import com.devskiller.jfairy.producer.DateProducer
 import com.devskiller.jfairy.producer.person.NationalIdentificationNumber
 import com.devskiller.jfairy.producer.person.Person
+import com.devskiller.jfairy.producer.person.UniqueIdSequence
 
 import static PlNationalIdentificationNumberProvider.isValid
+import static PlNationalIdentificationNumberProvider.uniqueNumbers
 import static com.devskiller.jfairy.producer.person.NationalIdentificationNumberProperties.dateOfBirth
 import static com.devskiller.jfairy.producer.person.NationalIdentificationNumberProperties.sex
 
@@ -56,4 +58,51 @@ class PlNationalIdentificationNumberSpec extends Specification {
 			"2100-11-01" | "005101"
 			"2199-01-11" | "994111"
 	}
+
+	def "should generate all unique numbers of the dates and sex"() {
+		given:
+			UniqueIdSequence numbers = uniqueNumbers(7, LocalDate.of(2001, 2, 3), LocalDate.of(2001, 2, 4), Person.Sex.FEMALE)
+		when:
+			List<String> all = (1..numbers.size()).collect { numbers.next() }
+		then:
+			numbers.size() == 2 * 1000 * 5
+			all.toSet().size() == 10_000
+			all.every { isValid(it) && it ==~ /01220[34]\d{3}[02468]\d/ }
+			!numbers.hasNext()
+		when:
+			numbers.next()
+		then:
+			NoSuchElementException e = thrown()
+			e.message == "All 10000 unique PESEL numbers were generated"
+	}
+
+	def "should generate different numbers for both sexes"() {
+		given:
+			LocalDate date = LocalDate.of(1985, 6, 7)
+			UniqueIdSequence males = uniqueNumbers(1, date, date, Person.Sex.MALE)
+			UniqueIdSequence females = uniqueNumbers(1, date, date, Person.Sex.FEMALE)
+			UniqueIdSequence all = uniqueNumbers(1, date, date, null)
+		expect:
+			(0..<5000).collect { males.get(it) }.every { Character.digit(it.charAt(9), 10) % 2 == 1 }
+			((0..<5000).collect { males.get(it) } + (0..<5000).collect { females.get(it) }).toSet() ==
+					(0..<10_000).collect { all.get(it) }.toSet()
+	}
+
+	def "should generate the same numbers for the same key"() {
+		given:
+			LocalDate from = LocalDate.of(1900, 1, 1)
+			LocalDate to = LocalDate.of(2099, 12, 31)
+		expect:
+			(0..<100).collect { uniqueNumbers(3, from, to, null).get(it) } ==
+					(0..<100).collect { uniqueNumbers(3, from, to, null).get(it) }
+			(0..<100).collect { uniqueNumbers(3, from, to, null).get(it) } !=
+					(0..<100).collect { uniqueNumbers(4, from, to, null).get(it) }
+	}
+
+	def "should reject dates without PESEL numbers"() {
+		when:
+			uniqueNumbers(1, LocalDate.of(1799, 12, 31), LocalDate.of(1900, 1, 1), null)
+		then:
+			thrown(IllegalArgumentException)
+	}
 }
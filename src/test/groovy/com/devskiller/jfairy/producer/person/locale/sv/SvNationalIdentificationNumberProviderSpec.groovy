@@ -9,8 +9,10 @@ import com.devskiller.jfairy.producer.BaseProducer
 import com.devskiller.jfairy.producer.DateProducer
 import com.devskiller.jfairy.producer.person.NationalIdentificationNumber
 import com.devskiller.jfairy.producer.person.Person
+import com.devskiller.jfairy.producer.person.UniqueIdSequence
 
 import static SvNationalIdentificationNumberProvider.isValid
+import static SvNationalIdentificationNumberProvider.uniqueNumbers
 import static com.devskiller.jfairy.producer.person.NationalIdentificationNumberProperties.dateOfBirth
 import static com.devskiller.jfairy.producer.person.NationalIdentificationNumberProperties.sex
 
@@ -56,4 +58,35 @@ class SvNationalIdentificationNumberProviderSpec extends Specification {
 			"2100-11-01" | "001101"
 			"2199-01-22" | "990122"
 	}
+
+	def "should generate all unique numbers of the dates"() {
+		given:
+			UniqueIdSequence numbers = uniqueNumbers(5, LocalDate.of(1987, 5, 8), LocalDate.of(1987, 5, 9), null)
+		when:
+			List<String> all = (1..numbers.size()).collect { numbers.next() }
+		then:
+			numbers.size() == 2 * 100 * 10
+			all.toSet().size() == 2000
+			all.every { isValid(it) && it ==~ /87050[89]-\d{4}/ }
+		when:
+			numbers.next()
+		then:
+			NoSuchElementException e = thrown()
+			e.message == "All 2000 unique personal identity numbers were generated"
+	}
+
+	def "should generate numbers of the sex"() {
+		given:
+			UniqueIdSequence numbers = uniqueNumbers(5, LocalDate.of(1950, 1, 1), LocalDate.of(2049, 12, 31),
+					Person.Sex.MALE)
+		expect:
+			(0..<1000).collect { numbers.get(it) }.every { isValid(it) && Character.digit(it.charAt(9), 10) % 2 == 1 }
+	}
+
+	def "should reject dates with the same two digit year"() {
+		when:
+			uniqueNumbers(1, LocalDate.of(1950, 1, 1), LocalDate.of(2050, 1, 1), null)
+		then:
+			thrown(IllegalArgumentException)
+	}
 }
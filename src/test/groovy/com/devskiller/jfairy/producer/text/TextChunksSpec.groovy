@@ -0,0 +1,59 @@
+package com.devskiller.jfairy.producer.text
+
+import java.nio.charset.Charset
+import java.nio.charset.StandardCharsets
+import java.util.function.Consumer
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class TextChunksSpec extends Specification {
+
+	private static final Charset ISO_2022_JP = Charset.forName("ISO-2022-JP")
+	private static final byte ESCAPE = 0x1B
+
+	@Unroll
+	def "should end text in the initial shift state of stateful charset within #maxBytes bytes"() {
+		given:
+			ByteArrayOutputStream out = new ByteArrayOutputStream()
+			Consumer<StringBuilder> unit = { StringBuilder chunk -> chunk.append('日本 ab') }
+		when:
+			long written = TextChunks.write(out, ISO_2022_JP, maxBytes, ' ' as char, unit)
+		then:
+			byte[] bytes = out.toByteArray()
+			written == bytes.length
+			written <= maxBytes
+			written > maxBytes - 16
+			endsInInitialState(bytes)
+			(['日本 ab'] * (maxBytes + 1)).join(' ').startsWith(new String(bytes, ISO_2022_JP))
+		where:
+			maxBytes << [0, 1, 2, 3, 7, 8, 9, 16, 17, 100, 8191, 20_001]
+	}
+
+	def "should generate units only for the byte budget"() {
+		given:
+			int units = 0
+			Consumer<StringBuilder> unit = { StringBuilder chunk -> chunk.append('abc'); units++ }
+		when:
+			long written = TextChunks.write(new ByteArrayOutputStream(), StandardCharsets.UTF_8, 10, ' ' as char, unit)
+		then:
+			written == 10
+			units == 3
+	}
+
+	def "should generate units only for the char budget"() {
+		given:
+			int units = 0
+			Consumer<StringBuilder> unit = { StringBuilder chunk -> chunk.append('abc'); units++ }
+		when:
+			long written = TextChunks.write(new StringBuilder(), 10, ' ' as char, unit)
+		then:
+			written == 10
+			units == 3
+	}
+
+	private static boolean endsInInitialState(byte[] bytes) {
+		int escape = bytes.findLastIndexOf { it == ESCAPE }
+		return escape < 0 || (bytes[escape + 1] == ('(' as char) && bytes[escape + 2] == ('B' as char))
+	}
+}
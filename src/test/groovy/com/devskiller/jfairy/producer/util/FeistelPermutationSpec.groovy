@@ -0,0 +1,64 @@
+package com.devskiller.jfairy.producer.util
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class FeistelPermutationSpec extends Specification {
+
+	@Unroll
+	def "should permute #size numbers"() {
+		given:
+			FeistelPermutation permutation = new FeistelPermutation(size, 42)
+		expect:
+			isPermutation(permutation, size)
+		where:
+			size << [1L, 2L, 3L, 10L, 1000L, 4097L, 100_003L]
+	}
+
+	def "should give the same permutation for the same key"() {
+		expect:
+			(0..<1000).collect { new FeistelPermutation(1000, 7).apply(it) } ==
+					(0..<1000).collect { new FeistelPermutation(1000, 7).apply(it) }
+			(0..<1000).collect { new FeistelPermutation(1000, 7).apply(it) } !=
+					(0..<1000).collect { new FeistelPermutation(1000, 8).apply(it) }
+	}
+
+	def "should permute large ranges"() {
+		given:
+			FeistelPermutation permutation = new FeistelPermutation(1L << 62, 1)
+		expect:
+			permutation.apply((1L << 62) - 1) < 1L << 62
+	}
+
+	@Unroll
+	def "should reject index #index"() {
+		when:
+			new FeistelPermutation(10, 1).apply(index)
+		then:
+			thrown(IllegalArgumentException)
+		where:
+			index << [-1L, 10L]
+	}
+
+	@Unroll
+	def "should reject size #size"() {
+		when:
+			new FeistelPermutation(size, 1)
+		then:
+			thrown(IllegalArgumentException)
+		where:
+			size << [0L, Long.MAX_VALUE]
+	}
+
+	private static boolean isPermutation(FeistelPermutation permutation, long size) {
+		BitSet seen = new BitSet((int) size)
+		for (long index = 0; index < size; index++) {
+			long value = permutation.apply(index)
+			if (value < 0 || value >= size || seen.get((int) value)) {
+				return false
+			}
+			seen.set((int) value)
+		}
+		return true
+	}
+}
@@ -0,0 +1,65 @@
+package com.devskiller.jfairy.producer.util
+
+import spock.lang.Specification
+
+class FingerprintSetSpec extends Specification {
+
+	def "should add every value once"() {
+		given:
+			FingerprintSet set = new FingerprintSet()
+		when:
+			List<Boolean> added = (0..<100_000).collect { set.add("value" + it) }
+		then:
+			added.every()
+			(0..<100_000).every { set.contains("value" + it) }
+			!set.add("value7")
+			!set.contains("other")
+			set.size() == 100_000
+	}
+
+	def "should grow within bounded memory"() {
+		given:
+			FingerprintSet set = new FingerprintSet()
+		when:
+			(0..<1_000_000).each { set.add(Integer.toString(it)) }
+		then:
+			set.size() == 1_000_000
+			set.memoryBytes <= 22 * 1_000_000
+	}
+
+	def "should allocate table for expected size"() {
+		expect:
+			new FingerprintSet(1000).memoryBytes == 2048 * 8
+	}
+
+	def "should insert numbers into repeated values"() {
+		given:
+			FingerprintSet set = new FingerprintSet()
+		when:
+			List<String> values = (1..1000).collect { set.addUnique("anna@mail.com", 4) }
+		then:
+			values[0] == "anna@mail.com"
+			values.toSet().size() == 1000
+			values.drop(1).every { it ==~ /anna\d+@mail\.com/ }
+	}
+
+	def "should insert the same numbers in the same order"() {
+		given:
+			Closure<List<String>> values = {
+				FingerprintSet set = new FingerprintSet()
+				(1..500).collect { set.addUnique("anna", 4) }
+			}
+		expect:
+			values() == values()
+	}
+
+	def "should reject invalid number position"() {
+		given:
+			FingerprintSet set = new FingerprintSet()
+			set.add("anna")
+		when:
+			set.addUnique("anna", 5)
+		then:
+			thrown(IllegalArgumentException)
+	}
+}